@@ -0,0 +1,31 @@
+package com.analysiscore.application.parser;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NumberParsingBenchmark {
+    @Param({"12,000원", "1,500", "정가 32,000원 → 25,600원"})
+    private String priceText;
+
+    @Param({"1", "Top 100", "순위 37위"})
+    private String rankText;
+
+    @Benchmark
+    public Long parsePrice() {
+        return OliveYoungRankingParser.parsePrice(priceText);
+    }
+
+    @Benchmark
+    public Integer parseInt() {
+        return OliveYoungRankingParser.parseInt(rankText);
+    }
+}
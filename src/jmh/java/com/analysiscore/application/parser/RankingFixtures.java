@@ -0,0 +1,70 @@
+package com.analysiscore.application.parser;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Element;
+
+/**
+ * Scales {@code fixtures/oliveyoung-best.html} up to benchmark-sized HTML and JSON bodies.
+ */
+final class RankingFixtures {
+    private static final String FIXTURE = "fixtures/oliveyoung-best.html";
+
+    private RankingFixtures() {
+    }
+
+    static String html(int itemCount) {
+        List<Element> templates = Jsoup.parse(fixture()).select("li");
+        StringBuilder html = new StringBuilder(itemCount * 256).append("<ul>\n");
+        for (int i = 0; i < itemCount; i++) {
+            Element item = templates.get(i % templates.size()).clone();
+            item.selectFirst(".tx_name").text("Product " + (i + 1));
+            item.selectFirst(".tx_cur").text(String.format("%,d원", 1_000 + i * 10));
+            item.selectFirst("a[href]").attr("href", "/store/goods?goodsNo=A" + (100000 + i));
+            html.append(item.outerHtml()).append('\n');
+        }
+        return html.append("</ul>\n").toString();
+    }
+
+    static String json(int itemCount) {
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<Element> templates = Jsoup.parse(fixture()).select("li");
+        ArrayNode list = objectMapper.createArrayNode();
+        for (int i = 0; i < itemCount; i++) {
+            Element template = templates.get(i % templates.size());
+            ObjectNode node = list.addObject();
+            node.put("rank", i + 1);
+            node.put("brandNm", template.selectFirst(".tx_brand").text());
+            node.put("goodsNm", "Product " + (i + 1));
+            node.put("salePrc", 1_000 + i * 10);
+            node.put("goodsUrl", "/store/goods?goodsNo=A" + (100000 + i));
+            node.putNull("imgUrl");
+        }
+        ObjectNode root = objectMapper.createObjectNode();
+        root.put("status", "SUCCESS");
+        root.set("list", list);
+        try {
+            return objectMapper.writeValueAsString(root);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static String fixture() {
+        try (InputStream input = RankingFixtures.class.getClassLoader().getResourceAsStream(FIXTURE)) {
+            if (input == null) {
+                throw new IllegalStateException("missing " + FIXTURE);
+            }
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
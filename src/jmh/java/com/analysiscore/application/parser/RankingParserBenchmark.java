@@ -0,0 +1,53 @@
+package com.analysiscore.application.parser;
+
+import com.analysiscore.model.HtmlParserMode;
+import com.analysiscore.model.ParsedRankingItem;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RankingParserBenchmark {
+    @Param({"100", "1000", "10000"})
+    private int itemCount;
+
+    @Param({"JSOUP", "STREAMING"})
+    private HtmlParserMode htmlParser;
+
+    private final OliveYoungRankingParser parser = new OliveYoungRankingParser();
+    private String html;
+    private String json;
+    private byte[] jsonBytes;
+
+    @Setup
+    public void setUp() {
+        html = RankingFixtures.html(itemCount);
+        json = RankingFixtures.json(itemCount);
+        jsonBytes = json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public List<ParsedRankingItem> parseHtml() {
+        return parser.parse("text/html;charset=UTF-8", html, htmlParser);
+    }
+
+    @Benchmark
+    public List<ParsedRankingItem> parseJsonString() {
+        return parser.parse("application/json", json, htmlParser);
+    }
+
+    @Benchmark
+    public List<ParsedRankingItem> parseJsonBytes() {
+        return parser.parse("application/json", jsonBytes, htmlParser);
+    }
+}
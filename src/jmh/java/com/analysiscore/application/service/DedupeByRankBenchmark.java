@@ -0,0 +1,40 @@
+package com.analysiscore.application.service;
+
+import com.analysiscore.model.ParsedRankingItem;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DedupeByRankBenchmark {
+    @Param({"100", "1000", "10000"})
+    private int itemCount;
+
+    private List<ParsedRankingItem> items;
+
+    @Setup
+    public void setUp() {
+        // Every rank appears twice, as happens when nested candidates match the same product.
+        items = new ArrayList<>(itemCount * 2);
+        for (int i = 1; i <= itemCount; i++) {
+            ParsedRankingItem item = new ParsedRankingItem(i, "Brand " + i, "Product " + i, 1_000L + i, null, null);
+            items.add(item);
+            items.add(item);
+        }
+    }
+
+    @Benchmark
+    public List<ParsedRankingItem> dedupeByRank() {
+        return OliveYoungRankingService.dedupeByRank(items);
+    }
+}
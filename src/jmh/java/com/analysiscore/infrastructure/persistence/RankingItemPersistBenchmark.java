@@ -0,0 +1,128 @@
+package com.analysiscore.infrastructure.persistence;
+
+import com.analysiscore.config.OyRankProperties;
+import com.analysiscore.model.ParsedRankingItem;
+import com.analysiscore.model.ResolvedRankingItem;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Persist latency of one snapshot's items. {@code ROW_BY_ROW} issues one INSERT per item, which is what
+ * {@code saveAll} does without JDBC batching. Runs against in-memory H2 unless {@code -Dbench.jdbc.url} (plus
+ * {@code bench.jdbc.user}/{@code bench.jdbc.password}) points at Postgres; {@code COPY} only differs there.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RankingItemPersistBenchmark {
+    private static final long SNAPSHOT_ID = 1L;
+    private static final OffsetDateTime HOUR_BUCKET_AT = OffsetDateTime.parse("2026-01-19T10:00:00+09:00");
+
+    @Param({"100", "1000", "10000"})
+    private int itemCount;
+
+    @Param({"ROW_BY_ROW", "JDBC_BATCH", "COPY"})
+    private String writer;
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private RankingItemWriter itemWriter;
+    private List<ResolvedRankingItem> items;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        DataSource dataSource = dataSource();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        createSchema();
+
+        JdbcBatchRankingItemWriter batchWriter = new JdbcBatchRankingItemWriter(jdbcTemplate, new OyRankProperties());
+        itemWriter = switch (writer) {
+            case "ROW_BY_ROW" -> this::insertRowByRow;
+            case "JDBC_BATCH" -> batchWriter;
+            case "COPY" -> new CopyRankingItemWriter(jdbcTemplate, batchWriter);
+            default -> throw new IllegalArgumentException("unknown writer: " + writer);
+        };
+
+        items = new ArrayList<>(itemCount);
+        for (int i = 1; i <= itemCount; i++) {
+            ParsedRankingItem parsed = new ParsedRankingItem(
+                i,
+                "Brand " + (i % 50),
+                "Product name " + i + " 50ml",
+                10_000L + i,
+                "https://www.oliveyoung.co.kr/store/goods/getGoodsDetail.do?goodsNo=A" + (100000 + i),
+                "https://image.oliveyoung.co.kr/uploads/images/goods/" + i + ".jpg"
+            );
+            items.add(new ResolvedRankingItem(parsed, i));
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void clearItems() {
+        jdbcTemplate.update("DELETE FROM ranking_item");
+    }
+
+    @Benchmark
+    public void persist() {
+        transactionTemplate.executeWithoutResult(status -> itemWriter.write(SNAPSHOT_ID, HOUR_BUCKET_AT, items));
+    }
+
+    private void insertRowByRow(long snapshotId, OffsetDateTime hourBucketAt, List<ResolvedRankingItem> rows) {
+        for (ResolvedRankingItem item : rows) {
+            jdbcTemplate.update(
+                JdbcBatchRankingItemWriter.INSERT_SQL,
+                snapshotId,
+                item.rank(),
+                item.productId(),
+                item.price(),
+                hourBucketAt
+            );
+        }
+    }
+
+    private DataSource dataSource() {
+        String url = System.getProperty("bench.jdbc.url");
+        if (url != null) {
+            return new DriverManagerDataSource(
+                url,
+                System.getProperty("bench.jdbc.user", "analysis"),
+                System.getProperty("bench.jdbc.password", "analysis")
+            );
+        }
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:persist-bench;DB_CLOSE_DELAY=-1");
+        return h2;
+    }
+
+    private void createSchema() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS ranking_item");
+        jdbcTemplate.execute("DROP TABLE IF EXISTS ranking_snapshot");
+        jdbcTemplate.execute("CREATE TABLE ranking_snapshot (id BIGINT PRIMARY KEY)");
+        jdbcTemplate.execute("CREATE TABLE ranking_item ("
+            + "snapshot_id BIGINT NOT NULL REFERENCES ranking_snapshot (id), "
+            + "rank_value INT NOT NULL, "
+            + "product_id BIGINT NOT NULL, "
+            + "price BIGINT NOT NULL, "
+            + "hour_bucket_at TIMESTAMP WITH TIME ZONE NOT NULL, "
+            + "PRIMARY KEY (snapshot_id, rank_value))");
+        jdbcTemplate.update("INSERT INTO ranking_snapshot (id) VALUES (?)", SNAPSHOT_ID);
+    }
+}
@@ -0,0 +1,31 @@
+package com.analysiscore.model;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TimeBucketBenchmark {
+    private static final ZoneOffset OFFSET = ZoneOffset.ofHours(9);
+    private static final SourceType SOURCE = SourceType.register("OLIVEYOUNG_KR", 1);
+
+    private final OffsetDateTime capturedAt = OffsetDateTime.of(2026, 1, 19, 14, 37, 12, 0, ZoneOffset.UTC);
+
+    @Benchmark
+    public long of() {
+        return TimeBucket.of(capturedAt, OFFSET, SOURCE, BucketGranularity.HOUR).getKey();
+    }
+
+    @Benchmark
+    public long tenMinutes() {
+        return TimeBucket.of(capturedAt, OFFSET, SOURCE, BucketGranularity.TEN_MINUTES).getKey();
+    }
+}
@@ -0,0 +1,105 @@
+package com.analysiscore.application;
+
+import com.analysiscore.domain.entity.RankingSnapshot;
+import com.analysiscore.model.SnapshotStatus;
+import com.analysiscore.model.SourceType;
+import com.analysiscore.model.TimeBucket;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * One collection of a source's time bucket, shared by every trigger that arrived while it was running.
+ */
+public final class CollectionJob {
+    private final String id = UUID.randomUUID().toString();
+    private final SourceType source;
+    private final TimeBucket bucket;
+    private final OffsetDateTime requestedAt = OffsetDateTime.now(ZoneOffset.UTC);
+    private final CompletableFuture<Optional<RankingSnapshot>> result = new CompletableFuture<>();
+    private volatile Status status = Status.RUNNING;
+    private volatile OffsetDateTime finishedAt;
+    private volatile Long snapshotId;
+    private volatile SnapshotStatus snapshotStatus;
+    private volatile String error;
+
+    CollectionJob(SourceType source, TimeBucket bucket) {
+        this.source = source;
+        this.bucket = bucket;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public SourceType getSource() {
+        return source;
+    }
+
+    public TimeBucket getBucket() {
+        return bucket;
+    }
+
+    public OffsetDateTime getRequestedAt() {
+        return requestedAt;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public OffsetDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    /**
+     * The bucket's snapshot once the job is {@link Status#DONE}; it may itself be {@code FAILED}.
+     */
+    public Long getSnapshotId() {
+        return snapshotId;
+    }
+
+    public SnapshotStatus getSnapshotStatus() {
+        return snapshotStatus;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * Completes with the outcome of the collection; empty when another node held the bucket's lease
+     * or the source's circuit was open.
+     */
+    public CompletableFuture<Optional<RankingSnapshot>> result() {
+        return result.copy();
+    }
+
+    void finish(Optional<RankingSnapshot> snapshot, Throwable failure) {
+        if (failure != null) {
+            error = failure.getMessage() == null ? failure.getClass().getSimpleName() : failure.getMessage();
+            status = Status.FAILED;
+        } else if (snapshot.isPresent()) {
+            snapshotId = snapshot.get().getId();
+            snapshotStatus = snapshot.get().getStatus();
+            status = Status.DONE;
+        } else {
+            status = Status.SKIPPED;
+        }
+        finishedAt = OffsetDateTime.now(ZoneOffset.UTC);
+        if (failure != null) {
+            result.completeExceptionally(failure);
+        } else {
+            result.complete(snapshot);
+        }
+    }
+
+    public enum Status {
+        RUNNING,
+        DONE,
+        SKIPPED,
+        FAILED
+    }
+}
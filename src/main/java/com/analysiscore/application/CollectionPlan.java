@@ -0,0 +1,166 @@
+package com.analysiscore.application;
+
+import com.analysiscore.config.OyRankProperties;
+import com.analysiscore.model.BucketGranularity;
+import com.analysiscore.model.SnapshotStatus;
+import com.analysiscore.model.SourceType;
+import com.analysiscore.model.TimeBucket;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * When to collect one source next. Runs are aligned to bucket boundaries plus a jitter. Every bucket is collected
+ * while the content keeps changing; after {@code backoffAfterUnchanged} identical snapshots in a row the interval
+ * doubles, up to {@code maxBackoffBuckets}, except that a bucket in a hot hour of the day is never skipped. An hour
+ * is hot when the smoothed share of changed snapshots observed in it reaches {@code hotChangeRate}; hours without
+ * observations count as hot. A failed run is retried after {@code retryDelayMillis}.
+ */
+final class CollectionPlan {
+    private static final int HOURS = 24;
+    // Weight of the newest observation in the per-hour change rate.
+    private static final double SMOOTHING = 0.3;
+
+    private final SourceType source;
+    private final BucketGranularity granularity;
+    private final ZoneOffset offset;
+    private final OyRankProperties.ScheduleProperties properties;
+    // Maps jitterMillis to a delay in [0, jitterMillis].
+    private final LongUnaryOperator jitter;
+    private final double[] changeRates = new double[HOURS];
+    private int intervalBuckets = 1;
+    private int unchangedStreak;
+    private long lastSnapshotId = -1;
+    private boolean running;
+    private volatile Instant nextRunAt;
+
+    CollectionPlan(SourceType source,
+                   BucketGranularity granularity,
+                   ZoneOffset offset,
+                   OyRankProperties.ScheduleProperties properties,
+                   Instant firstRunAt) {
+        this(source, granularity, offset, properties, firstRunAt,
+            bound -> ThreadLocalRandom.current().nextLong(bound + 1));
+    }
+
+    CollectionPlan(SourceType source,
+                   BucketGranularity granularity,
+                   ZoneOffset offset,
+                   OyRankProperties.ScheduleProperties properties,
+                   Instant firstRunAt,
+                   LongUnaryOperator jitter) {
+        this.source = source;
+        this.granularity = granularity;
+        this.offset = offset;
+        this.properties = properties;
+        this.jitter = jitter;
+        this.nextRunAt = firstRunAt;
+        Arrays.fill(changeRates, Double.NaN);
+    }
+
+    SourceType getSource() {
+        return source;
+    }
+
+    Instant getNextRunAt() {
+        return nextRunAt;
+    }
+
+    synchronized int getIntervalBuckets() {
+        return intervalBuckets;
+    }
+
+    long intervalSeconds() {
+        return (long) getIntervalBuckets() * granularity.getMinutes() * 60;
+    }
+
+    /**
+     * Feeds a stored snapshot of the bucket starting at {@code bucketStartAt} into the change rate of its hour.
+     */
+    synchronized void observe(OffsetDateTime bucketStartAt, SnapshotStatus status) {
+        if (status != SnapshotStatus.SUCCESS && status != SnapshotStatus.UNCHANGED) {
+            return;
+        }
+        int hour = bucketStartAt.withOffsetSameInstant(offset).getHour();
+        double changed = status == SnapshotStatus.SUCCESS ? 1.0 : 0.0;
+        double rate = changeRates[hour];
+        changeRates[hour] = Double.isNaN(rate) ? changed : rate + SMOOTHING * (changed - rate);
+    }
+
+    /**
+     * Marks the plan running if it is due; a running plan is not due again until its result is in.
+     */
+    synchronized boolean tryStart(Instant now) {
+        if (running || now.isBefore(nextRunAt)) {
+            return false;
+        }
+        running = true;
+        return true;
+    }
+
+    /**
+     * Plans the next run after a collection that produced {@code snapshotId} with {@code status}.
+     */
+    synchronized void onCollected(long snapshotId, SnapshotStatus status, OffsetDateTime bucketStartAt, Instant now) {
+        running = false;
+        if (status == SnapshotStatus.FAILED) {
+            retry(now);
+            return;
+        }
+        if (snapshotId != lastSnapshotId) {
+            // The same id again means the bucket was already complete: nothing new was learned.
+            lastSnapshotId = snapshotId;
+            observe(bucketStartAt, status);
+            if (status == SnapshotStatus.UNCHANGED) {
+                unchangedStreak++;
+                if (unchangedStreak >= Math.max(1, properties.getBackoffAfterUnchanged())) {
+                    intervalBuckets = Math.min(intervalBuckets * 2, Math.max(1, properties.getMaxBackoffBuckets()));
+                }
+            } else {
+                unchangedStreak = 0;
+                intervalBuckets = 1;
+            }
+        }
+        nextRunAt = nextAligned(now);
+    }
+
+    /**
+     * Plans the next run after a skipped collection: another node held the lease or the source's circuit was open.
+     */
+    synchronized void onSkipped(Instant now) {
+        running = false;
+        nextRunAt = nextAligned(now);
+    }
+
+    synchronized void onFailed(Instant now) {
+        running = false;
+        retry(now);
+    }
+
+    private void retry(Instant now) {
+        nextRunAt = now.plusMillis(Math.max(0, properties.getRetryDelayMillis()) + jitter());
+    }
+
+    private Instant nextAligned(Instant now) {
+        OffsetDateTime current = TimeBucket.of(now.atOffset(offset), offset, source, granularity).getStartAt();
+        int buckets = 1;
+        while (buckets < intervalBuckets && !isHot(current.plusMinutes((long) buckets * granularity.getMinutes()))) {
+            buckets++;
+        }
+        OffsetDateTime start = current.plusMinutes((long) buckets * granularity.getMinutes());
+        return start.toInstant().plusMillis(Math.max(0, properties.getAlignDelayMillis()) + jitter());
+    }
+
+    private boolean isHot(OffsetDateTime bucketStartAt) {
+        double rate = changeRates[bucketStartAt.withOffsetSameInstant(offset).getHour()];
+        return Double.isNaN(rate) || rate >= properties.getHotChangeRate();
+    }
+
+    private long jitter() {
+        long jitterMillis = properties.getJitterMillis();
+        return jitterMillis <= 0 ? 0 : jitter.applyAsLong(jitterMillis);
+    }
+}
@@ -0,0 +1,216 @@
+package com.analysiscore.application;
+
+import com.analysiscore.application.service.OliveYoungRankingService;
+import com.analysiscore.application.service.SourceRegistry;
+import com.analysiscore.config.OyRankProperties;
+import com.analysiscore.domain.entity.RankingSnapshot;
+import com.analysiscore.model.SourceConfig;
+import com.analysiscore.model.SourceType;
+import com.analysiscore.model.TimeBucket;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.net.URI;
+import java.time.Clock;
+import java.time.OffsetDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Collects sources on virtual threads. At most {@code oyrank.collector.maxConcurrency} collections run at once,
+ * at most {@code perHostConcurrency} of them against the same host, and collections of one host start at least
+ * {@code perHostIntervalMillis} apart. Browser renders are bounded separately by the fetch chain.
+ * <p>
+ * Collections are single-flight: a trigger for a source whose current time bucket is already being collected, from
+ * the scheduler or the API, joins that {@link CollectionJob} instead of starting another fetch. Finished jobs stay
+ * queryable by id until {@value #RECENT_JOBS} newer ones have been started.
+ */
+@Component
+public class RankingCollector {
+    static final int RECENT_JOBS = 256;
+
+    private final OliveYoungRankingService rankingService;
+    private final SourceRegistry sourceRegistry;
+    private final OyRankProperties.CollectorProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+    private final ExecutorService executor =
+        Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("oy-collect-", 0).factory());
+    private final Semaphore slots;
+    private final Map<String, HostLimiter> hosts = new ConcurrentHashMap<>();
+    private final AtomicInteger active = new AtomicInteger();
+    private final Map<Long, CollectionJob> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, CollectionJob> recentJobs = Collections.synchronizedMap(
+        new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CollectionJob> eldest) {
+                return size() > RECENT_JOBS;
+            }
+        });
+
+    @Autowired
+    public RankingCollector(OliveYoungRankingService rankingService,
+                            SourceRegistry sourceRegistry,
+                            OyRankProperties properties,
+                            MeterRegistry meterRegistry) {
+        this(rankingService, sourceRegistry, properties, meterRegistry, Clock.systemUTC());
+    }
+
+    RankingCollector(OliveYoungRankingService rankingService,
+                     SourceRegistry sourceRegistry,
+                     OyRankProperties properties,
+                     MeterRegistry meterRegistry,
+                     Clock clock) {
+        this.rankingService = rankingService;
+        this.sourceRegistry = sourceRegistry;
+        this.properties = properties.getCollector();
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        this.slots = new Semaphore(Math.max(1, this.properties.getMaxConcurrency()), true);
+        Gauge.builder("oyrank.collect.active", active, AtomicInteger::get).register(meterRegistry);
+    }
+
+    /**
+     * Starts collecting the current time bucket of {@code source}, or returns the job already collecting it.
+     *
+     * @throws IllegalArgumentException if {@code source} is not enabled
+     */
+    public CollectionJob trigger(SourceType source) {
+        if (!sourceRegistry.enabledSources().contains(source)) {
+            throw new IllegalArgumentException("source is not enabled: " + source);
+        }
+        SourceConfig config = sourceRegistry.config(source);
+        OffsetDateTime capturedAt = OffsetDateTime.ofInstant(clock.instant(), config.getOffset());
+        TimeBucket bucket = TimeBucket.of(capturedAt, config.getOffset(), source, config.getBucketGranularity());
+        CollectionJob candidate = new CollectionJob(source, bucket);
+        CollectionJob job = inFlight.putIfAbsent(bucket.getKey(), candidate);
+        if (job != null) {
+            meterRegistry.counter("oyrank.collect.triggers", "source", source.getCode(), "outcome", "coalesced")
+                .increment();
+            return job;
+        }
+        recentJobs.put(candidate.getId(), candidate);
+        meterRegistry.counter("oyrank.collect.triggers", "source", source.getCode(), "outcome", "started")
+            .increment();
+        try {
+            CompletableFuture.supplyAsync(() -> collect(source, capturedAt), executor)
+                .whenComplete((snapshot, failure) -> finish(candidate, snapshot, failure));
+        } catch (RejectedExecutionException ex) {
+            finish(candidate, null, ex);
+        }
+        return candidate;
+    }
+
+    public Optional<CollectionJob> job(String id) {
+        return Optional.ofNullable(recentJobs.get(id));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void finish(CollectionJob job, Optional<RankingSnapshot> snapshot, Throwable failure) {
+        // Leave the in-flight map first, so a trigger racing with completion starts afresh instead of joining.
+        inFlight.remove(job.getBucket().getKey(), job);
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+            ? failure.getCause()
+            : failure;
+        job.finish(snapshot, cause);
+    }
+
+    private Optional<RankingSnapshot> collect(SourceType source, OffsetDateTime capturedAt) {
+        SourceConfig config = sourceRegistry.config(source);
+        HostLimiter host = hosts.computeIfAbsent(hostOf(config), key -> new HostLimiter(
+            Math.max(1, properties.getPerHostConcurrency())
+        ));
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            // Host first: a collection waiting out its host's spacing must not hold a slot another host could use.
+            host.acquire(TimeUnit.MILLISECONDS.toNanos(Math.max(0, properties.getPerHostIntervalMillis())));
+            try {
+                acquire(slots);
+                active.incrementAndGet();
+                try {
+                    Optional<RankingSnapshot> result = rankingService.collect(source, capturedAt);
+                    outcome = result.isPresent() ? "collected" : "skipped";
+                    return result;
+                } finally {
+                    active.decrementAndGet();
+                    slots.release();
+                }
+            } finally {
+                host.release();
+            }
+        } finally {
+            sample.stop(meterRegistry.timer("oyrank.collect.duration", "source", source.getCode(), "outcome", outcome));
+        }
+    }
+
+    private static void acquire(Semaphore semaphore) {
+        try {
+            semaphore.acquire();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while waiting for a collection slot", ex);
+        }
+    }
+
+    private static String hostOf(SourceConfig config) {
+        String host = URI.create(config.getBaseUrl()).getHost();
+        return host == null ? config.getBaseUrl() : host.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Concurrency and start spacing for one host. Each caller reserves the next start time, so callers queued on
+     * the same host start one interval apart regardless of how long each collection takes.
+     */
+    private static final class HostLimiter {
+        private final Semaphore permits;
+        private long nextStartNanos = System.nanoTime();
+
+        private HostLimiter(int concurrency) {
+            this.permits = new Semaphore(concurrency, true);
+        }
+
+        private void acquire(long intervalNanos) {
+            RankingCollector.acquire(permits);
+            long waitNanos;
+            synchronized (this) {
+                long now = System.nanoTime();
+                long start = Math.max(now, nextStartNanos);
+                nextStartNanos = start + intervalNanos;
+                waitNanos = start - now;
+            }
+            if (waitNanos > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(waitNanos);
+                } catch (InterruptedException ex) {
+                    permits.release();
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("interrupted while waiting for the host interval", ex);
+                }
+            }
+        }
+
+        private void release() {
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.analysiscore.application;
+
+import com.analysiscore.application.service.RankingRetentionService;
+import com.analysiscore.config.OyRankProperties;
+import com.analysiscore.infrastructure.persistence.JdbcJobLockManager;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs retention on its own thread, so a long rollup never holds up the shared scheduling thread and with it the
+ * collection ticks. Only the replica holding the retention lease in {@code job_lock} runs it; the others skip.
+ */
+@Component
+public class RankingRetentionJob {
+    private static final Logger log = LoggerFactory.getLogger(RankingRetentionJob.class);
+    // Source ids start at 1, so no bucket key has a zero low byte and key 0 is free for retention.
+    static final long LOCK_KEY = 0;
+    private static final String LOCK_LABEL = "RETENTION";
+
+    private final RankingRetentionService retentionService;
+    private final JdbcJobLockManager jobLockManager;
+    private final OyRankProperties.RetentionProperties properties;
+    private final ExecutorService executor =
+        Executors.newSingleThreadExecutor(Thread.ofVirtual().name("oy-retention").factory());
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public RankingRetentionJob(RankingRetentionService retentionService,
+                               JdbcJobLockManager jobLockManager,
+                               OyRankProperties properties) {
+        this.retentionService = retentionService;
+        this.jobLockManager = jobLockManager;
+        this.properties = properties.getRetention();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensurePartitions() {
+        try {
+            retentionService.ensurePartitions(OffsetDateTime.now(ZoneOffset.UTC));
+        } catch (DataAccessException ex) {
+            log.error("Failed to create upcoming partitions", ex);
+        }
+    }
+
+    @Scheduled(cron = "${oyrank.retention.cron:0 30 3 * * *}", zone = "UTC")
+    public void applyRetention() {
+        if (!running.compareAndSet(false, true)) {
+            log.warn("Retention still running, skipping this run");
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    applyUnderLease();
+                } finally {
+                    running.set(false);
+                }
+            });
+        } catch (RuntimeException ex) {
+            running.set(false);
+            throw ex;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void applyUnderLease() {
+        Duration leaseDuration = Duration.ofMillis(Math.max(1, properties.getLeaseMillis()));
+        Optional<JdbcJobLockManager.Lease> lease;
+        try {
+            lease = jobLockManager.tryAcquire(LOCK_KEY, LOCK_LABEL, leaseDuration);
+        } catch (DataAccessException ex) {
+            log.error("Failed to take the retention lease", ex);
+            return;
+        }
+        if (lease.isEmpty()) {
+            log.info("Skipping retention: lease held by another node");
+            return;
+        }
+        try {
+            retentionService.apply(OffsetDateTime.now(ZoneOffset.UTC));
+        } catch (RuntimeException ex) {
+            log.error("Retention failed", ex);
+        } finally {
+            jobLockManager.release(lease.get());
+        }
+    }
+}
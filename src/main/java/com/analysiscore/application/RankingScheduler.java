@@ -1,20 +1,144 @@
 package com.analysiscore.application;
 
-import com.analysiscore.application.service.OliveYoungRankingService;
+import com.analysiscore.application.service.SourceRegistry;
+import com.analysiscore.config.OyRankProperties;
+import com.analysiscore.domain.entity.RankingSnapshot;
+import com.analysiscore.domain.repository.RankingSnapshotRepository;
+import com.analysiscore.domain.repository.projection.SnapshotHeaderView;
+import com.analysiscore.model.SourceConfig;
 import com.analysiscore.model.SourceType;
+import com.analysiscore.model.TimeBucket;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+/**
+ * Collects every enabled source on its own {@link CollectionPlan}. At startup each plan learns the hours in which the
+ * source changes from the last {@code oyrank.schedule.historyDays} of snapshots, the buckets missed while the
+ * application was down are counted, and a catch-up run is due after {@code startupDelayMillis}. The scheduler then
+ * wakes every {@code tickMillis} and triggers the plans that are due.
+ */
 @Component
 public class RankingScheduler {
-    private final OliveYoungRankingService rankingService;
+    private static final Logger log = LoggerFactory.getLogger(RankingScheduler.class);
 
-    public RankingScheduler(OliveYoungRankingService rankingService) {
-        this.rankingService = rankingService;
+    private final RankingCollector collector;
+    private final SourceRegistry sourceRegistry;
+    private final RankingSnapshotRepository snapshotRepository;
+    private final OyRankProperties.ScheduleProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<SourceType, CollectionPlan> plans = new ConcurrentHashMap<>();
+
+    public RankingScheduler(RankingCollector collector,
+                            SourceRegistry sourceRegistry,
+                            RankingSnapshotRepository snapshotRepository,
+                            OyRankProperties properties,
+                            MeterRegistry meterRegistry) {
+        this.collector = collector;
+        this.sourceRegistry = sourceRegistry;
+        this.snapshotRepository = snapshotRepository;
+        this.properties = properties.getSchedule();
+        this.meterRegistry = meterRegistry;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void planSources() {
+        Instant firstRunAt = Instant.now().plusMillis(Math.max(0, properties.getStartupDelayMillis()));
+        for (SourceType source : sourceRegistry.enabledSources()) {
+            SourceConfig config = sourceRegistry.config(source);
+            CollectionPlan plan = new CollectionPlan(
+                source, config.getBucketGranularity(), config.getOffset(), properties, firstRunAt
+            );
+            learn(plan, config);
+            plans.put(source, plan);
+            String code = source.getCode();
+            Gauge.builder("oyrank.schedule.interval", plan, CollectionPlan::intervalSeconds)
+                .tag("source", code)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+            Gauge.builder("oyrank.schedule.next.run", plan, p -> p.getNextRunAt().getEpochSecond())
+                .tag("source", code)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${oyrank.schedule.tickMillis:5000}")
+    public void tick() {
+        Instant now = Instant.now();
+        for (CollectionPlan plan : plans.values()) {
+            if (plan.tryStart(now)) {
+                run(plan);
+            }
+        }
+    }
+
+    private void run(CollectionPlan plan) {
+        SourceType source = plan.getSource();
+        CollectionJob job;
+        try {
+            job = collector.trigger(source);
+        } catch (RuntimeException ex) {
+            log.error("Scheduled collection could not start source={}", source, ex);
+            plan.onFailed(Instant.now());
+            return;
+        }
+        meterRegistry.counter("oyrank.schedule.runs", "source", source.getCode()).increment();
+        OffsetDateTime bucketStartAt = job.getBucket().getStartAt();
+        job.result().whenComplete((snapshot, failure) -> {
+            Instant now = Instant.now();
+            if (failure != null) {
+                log.error("Scheduled collection failed source={}", source, failure);
+                plan.onFailed(now);
+            } else if (snapshot.isPresent()) {
+                RankingSnapshot collected = snapshot.get();
+                plan.onCollected(collected.getId(), collected.getStatus(), bucketStartAt, now);
+            } else {
+                plan.onSkipped(now);
+            }
+            log.debug("Next collection source={} at={} intervalBuckets={}",
+                source, plan.getNextRunAt(), plan.getIntervalBuckets());
+        });
     }
 
-    @Scheduled(fixedDelayString = "600000", initialDelayString = "10000")
-    public void collectOliveYoungKr() {
-        rankingService.collect(SourceType.OLIVEYOUNG_KR);
+    /**
+     * Seeds the plan's change rates from recent snapshots and records how many buckets passed without one.
+     */
+    private void learn(CollectionPlan plan, SourceConfig config) {
+        SourceType source = plan.getSource();
+        OffsetDateTime now = OffsetDateTime.now(config.getOffset());
+        List<SnapshotHeaderView> headers;
+        try {
+            headers = snapshotRepository.findHeadersInRange(
+                source, now.minusDays(Math.max(1, properties.getHistoryDays())), now
+            );
+        } catch (DataAccessException ex) {
+            log.error("Failed to read snapshot history source={}", source, ex);
+            return;
+        }
+        headers.forEach(header -> plan.observe(header.hourBucketAt(), header.status()));
+        if (headers.isEmpty()) {
+            return;
+        }
+        OffsetDateTime last = headers.get(headers.size() - 1).hourBucketAt();
+        TimeBucket current = TimeBucket.of(now, config.getOffset(), source, config.getBucketGranularity());
+        long bucketMinutes = config.getBucketGranularity().getMinutes();
+        long missed = Math.max(0, Duration.between(last, current.getStartAt()).toMinutes() / bucketMinutes - 1);
+        if (missed > 0) {
+            meterRegistry.counter("oyrank.schedule.missed.buckets", "source", source.getCode()).increment(missed);
+            log.warn("Buckets missed while down source={} missed={} lastBucket={}", source, missed, last);
+        }
     }
 }
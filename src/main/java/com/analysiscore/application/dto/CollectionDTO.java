@@ -0,0 +1,24 @@
+package com.analysiscore.application.dto;
+
+import java.time.OffsetDateTime;
+
+import com.analysiscore.application.CollectionJob;
+import com.analysiscore.model.SnapshotStatus;
+import com.analysiscore.model.SourceType;
+
+public class CollectionDTO {
+
+	public record JobResponse(
+		String id,
+		SourceType source,
+		String bucketKey,
+		OffsetDateTime bucketStartAt,
+		CollectionJob.Status status,
+		OffsetDateTime requestedAt,
+		OffsetDateTime finishedAt,
+		Long snapshotId,
+		SnapshotStatus snapshotStatus,
+		String error,
+		String statusUrl
+	){}
+}
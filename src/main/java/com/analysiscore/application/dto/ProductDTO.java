@@ -0,0 +1,31 @@
+package com.analysiscore.application.dto;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import com.analysiscore.model.SourceType;
+
+public class ProductDTO {
+
+	public record HistoryResponse(
+		Long productId,
+		String productKey,
+		String brandName,
+		String productName,
+		SourceType source,
+		List<HistoryPoint> points
+	){}
+
+	public record HistoryPoint(
+		OffsetDateTime hourBucketAt,
+		int rank,
+		long price
+	){}
+
+	public record RebuildResponse(
+		SourceType source,
+		OffsetDateTime from,
+		OffsetDateTime to,
+		int rows
+	){}
+}
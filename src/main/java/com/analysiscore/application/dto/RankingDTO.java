@@ -0,0 +1,74 @@
+package com.analysiscore.application.dto;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import com.analysiscore.model.RankChangeType;
+import com.analysiscore.model.SnapshotStatus;
+import com.analysiscore.model.SourceType;
+
+public class RankingDTO {
+
+	public record SnapshotResponse(
+		Long id,
+		SourceType source,
+		OffsetDateTime capturedAt,
+		OffsetDateTime hourBucketAt,
+		String hourBucketKey,
+		SnapshotStatus status,
+		int itemCount,
+		List<ItemResponse> items
+	){}
+
+	public record ItemResponse(
+		String category,
+		int rank,
+		Long productId,
+		String brandName,
+		String productName,
+		long price,
+		String productUrl,
+		String imageUrl
+	){}
+
+	public record SnapshotPageResponse(
+		List<SnapshotResponse> snapshots,
+		String nextCursor
+	){}
+
+	public record MoversResponse(
+		SourceType source,
+		String window,
+		OffsetDateTime from,
+		OffsetDateTime to,
+		List<MoverResponse> risers,
+		List<MoverResponse> fallers,
+		List<MoverResponse> newEntries,
+		List<MoverResponse> dropOuts
+	){}
+
+	public record MoverResponse(
+		Long productId,
+		String brandName,
+		String productName,
+		Integer previousRank,
+		Integer rank,
+		Integer rankDelta
+	){}
+
+	public record DiffResponse(
+		Long fromSnapshotId,
+		Long toSnapshotId,
+		List<ChangeResponse> changes
+	){}
+
+	public record ChangeResponse(
+		Long productId,
+		String brandName,
+		String productName,
+		RankChangeType changeType,
+		Integer previousRank,
+		Integer rank,
+		Integer rankDelta
+	){}
+}
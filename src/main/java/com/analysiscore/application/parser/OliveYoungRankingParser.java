@@ -1,14 +1,27 @@
 package com.analysiscore.application.parser;
 
-import com.analysiscore.domain.entity.RankingItem;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.analysiscore.model.HtmlParserMode;
+import com.analysiscore.model.ParsedRankingItem;
+import com.analysiscore.model.SourceResponse;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
+import org.jsoup.parser.Parser;
+import org.jsoup.parser.StreamParser;
 import org.jsoup.select.Elements;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -18,70 +31,190 @@ import org.springframework.stereotype.Component;
 public class OliveYoungRankingParser {
     private static final Logger log = LoggerFactory.getLogger(OliveYoungRankingParser.class);
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final Map<String, JsonAlias> JSON_ALIASES = jsonAliases();
+    private static final int SNIFF_LIMIT = 64;
 
-    public List<RankingItem> parse(String contentType, String body) {
+    public List<ParsedRankingItem> parse(String contentType, String body) {
+        return parse(contentType, body, HtmlParserMode.JSOUP);
+    }
+
+    public List<ParsedRankingItem> parse(String contentType, String body, HtmlParserMode htmlParser) {
         String trimmed = body == null ? "" : body.trim();
         boolean looksJson = (contentType != null && contentType.toLowerCase(Locale.ROOT).contains("json"))
             || trimmed.startsWith("{")
             || trimmed.startsWith("[");
 
         if (looksJson) {
-            return parseFromJson(trimmed);
+            return parseFromJson(trimmed, htmlParser);
         }
-        return parseFromHtml(trimmed);
+        return parseHtml(trimmed, htmlParser);
     }
 
-    private List<RankingItem> parseFromJson(String body) {
-        try {
-            JsonNode root = objectMapper.readTree(body);
-            if (root.isObject()) {
-                JsonNode htmlNode = root.path("html");
-                if (htmlNode.isTextual()) {
-                    return parseFromHtml(htmlNode.asText());
-                }
-                JsonNode listNode = root.path("list");
-                if (listNode.isArray()) {
-                    return parseFromJsonArray(listNode);
+    /**
+     * Byte-oriented entry point so large JSON payloads are tokenized straight from the response buffer without
+     * first becoming a {@code String}. HTML bodies are decoded using the charset in {@code contentType}.
+     */
+    public List<ParsedRankingItem> parse(String contentType, byte[] body, HtmlParserMode htmlParser) {
+        byte[] bytes = body == null ? new byte[0] : body;
+        int first = firstSignificantByte(bytes, bytes.length);
+        if (isJson(contentType, first)) {
+            return parseFromJson(bytes, htmlParser);
+        }
+        return parseHtml(new String(bytes, SourceResponse.charsetOf(contentType)).trim(), htmlParser);
+    }
+
+    /**
+     * Stream entry point; a body that cannot be read fails like a body that cannot be parsed, with an
+     * {@link IllegalArgumentException}.
+     */
+    public List<ParsedRankingItem> parse(String contentType, InputStream body, HtmlParserMode htmlParser) {
+        try (InputStream input = new BufferedInputStream(body)) {
+            input.mark(SNIFF_LIMIT);
+            byte[] head = input.readNBytes(SNIFF_LIMIT);
+            input.reset();
+            if (isJson(contentType, firstSignificantByte(head, head.length))) {
+                try (JsonParser parser = JSON_FACTORY.createParser(input)) {
+                    return parseFromJson(parser, htmlParser);
                 }
             }
-            if (root.isArray()) {
-                return parseFromJsonArray(root);
+            return parse(contentType, input.readAllBytes(), htmlParser);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("failed to parse JSON response", ex);
+        } catch (IOException ex) {
+            throw new IllegalArgumentException("failed to read response body", ex);
+        }
+    }
+
+    private boolean isJson(String contentType, int firstByte) {
+        return (contentType != null && contentType.toLowerCase(Locale.ROOT).contains("json"))
+            || firstByte == '{'
+            || firstByte == '[';
+    }
+
+    private int firstSignificantByte(byte[] bytes, int length) {
+        int i = 0;
+        if (length >= 3 && (bytes[0] & 0xFF) == 0xEF && (bytes[1] & 0xFF) == 0xBB && (bytes[2] & 0xFF) == 0xBF) {
+            i = 3;
+        }
+        for (; i < length; i++) {
+            byte b = bytes[i];
+            if (b != ' ' && b != '\t' && b != '\r' && b != '\n') {
+                return b;
             }
-        } catch (Exception ex) {
+        }
+        return -1;
+    }
+
+    private List<ParsedRankingItem> parseHtml(String html, HtmlParserMode htmlParser) {
+        if (htmlParser == HtmlParserMode.STREAMING) {
+            return parseFromHtmlStream(html);
+        }
+        return parseFromHtml(html);
+    }
+
+    private List<ParsedRankingItem> parseFromJson(String body, HtmlParserMode htmlParser) {
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            return parseFromJson(parser, htmlParser);
+        } catch (IOException ex) {
             throw new IllegalArgumentException("failed to parse JSON response", ex);
         }
-        return List.of();
     }
 
-    private List<RankingItem> parseFromJsonArray(JsonNode array) {
-        List<RankingItem> items = new ArrayList<>();
-        for (JsonNode node : array) {
-            String brand = textValue(node, "brandName", "brand", "brandNm");
-            String product = textValue(node, "productName", "goodsName", "goodsNm", "name");
-            String priceText = textValue(node, "price", "salePrc", "salePrice", "prc");
-            Long price = parsePrice(priceText);
-            Integer rank = parseInt(textValue(node, "rank", "ranking", "rankNo"));
-            String productUrl = textValue(node, "productUrl", "url", "goodsUrl");
-            String imageUrl = textValue(node, "imageUrl", "imgUrl", "thumbnail");
+    private List<ParsedRankingItem> parseFromJson(byte[] body, HtmlParserMode htmlParser) {
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            return parseFromJson(parser, htmlParser);
+        } catch (IOException ex) {
+            throw new IllegalArgumentException("failed to parse JSON response", ex);
+        }
+    }
+
+    /**
+     * Walks the token stream once: a root array or the {@code list} array is read item by item, and a textual
+     * {@code html} field wins over {@code list} as in the tree-based reader it replaces. Other fields are skipped
+     * without being materialized.
+     */
+    private List<ParsedRankingItem> parseFromJson(JsonParser parser, HtmlParserMode htmlParser) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.START_ARRAY) {
+            return readJsonItems(parser);
+        }
+        if (token != JsonToken.START_OBJECT) {
+            return List.of();
+        }
+        List<ParsedRankingItem> listItems = List.of();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("html".equals(name) && value == JsonToken.VALUE_STRING) {
+                return parseHtml(parser.getText(), htmlParser);
+            }
+            if ("list".equals(name) && value == JsonToken.START_ARRAY) {
+                listItems = readJsonItems(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return listItems;
+    }
+
+    private List<ParsedRankingItem> readJsonItems(JsonParser parser) throws IOException {
+        List<ParsedRankingItem> items = new ArrayList<>();
+        String[] values = new String[JsonField.values().length];
+        int[] priorities = new int[values.length];
+
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+            Arrays.fill(values, null);
+            Arrays.fill(priorities, Integer.MAX_VALUE);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                JsonAlias alias = JSON_ALIASES.get(parser.currentName());
+                JsonToken value = parser.nextToken();
+                if (alias == null || !value.isScalarValue() || value == JsonToken.VALUE_NULL) {
+                    parser.skipChildren();
+                    continue;
+                }
+                int slot = alias.field().ordinal();
+                if (alias.priority() < priorities[slot]) {
+                    String text = parser.getText();
+                    if (!text.isBlank()) {
+                        values[slot] = text.trim();
+                        priorities[slot] = alias.priority();
+                    }
+                }
+            }
 
+            String brand = values[JsonField.BRAND.ordinal()];
+            String product = values[JsonField.PRODUCT.ordinal()];
+            Long price = parsePrice(values[JsonField.PRICE.ordinal()]);
             if (brand == null || product == null || price == null) {
                 continue;
             }
+            Integer rank = parseInt(values[JsonField.RANK.ordinal()]);
             int resolvedRank = rank == null ? items.size() + 1 : rank;
-            items.add(RankingItem.ofParsed(resolvedRank, brand, product, price, productUrl, imageUrl));
+            items.add(new ParsedRankingItem(
+                resolvedRank,
+                brand,
+                product,
+                price,
+                values[JsonField.PRODUCT_URL.ordinal()],
+                values[JsonField.IMAGE_URL.ordinal()]
+            ));
         }
         return items;
     }
 
-    private List<RankingItem> parseFromHtml(String html) {
+    private List<ParsedRankingItem> parseFromHtml(String html) {
         Document doc = Jsoup.parse(html);
         Elements candidates = doc.select("li:has(.tx_name), li:has(.tx_brand), div:has(.tx_name)");
         if (candidates.isEmpty()) {
             candidates = doc.select("[data-prd-name], [data-goods-name], [data-brand-name]");
         }
 
-        List<RankingItem> items = new ArrayList<>();
+        List<ParsedRankingItem> items = new ArrayList<>();
         int index = 1;
         for (Element element : candidates) {
             String brand = firstText(element, ".tx_brand", ".brand", "[data-brand-name]", "[data-brand]");
@@ -97,12 +230,98 @@ public class OliveYoungRankingParser {
                 continue;
             }
             int resolvedRank = rank == null ? index : rank;
-            items.add(RankingItem.ofParsed(resolvedRank, brand, product, price, productUrl, imageUrl));
+            items.add(new ParsedRankingItem(resolvedRank, brand, product, price, productUrl, imageUrl));
             index++;
         }
         return items;
     }
 
+    /**
+     * Single-pass variant of {@link #parseFromHtml(String)} with the same field semantics. Elements are visited as
+     * they close; a product boundary is extracted on its own small subtree and then removed, so the document never
+     * holds more than the open ancestors plus one product. Nested candidates yield one item: a {@code div} inside a
+     * candidate {@code li} is left to the {@code li}, and an emitted {@code div} no longer matches its ancestors.
+     * The data-attribute fallback only applies when no class-based candidate was seen.
+     */
+    private List<ParsedRankingItem> parseFromHtmlStream(String html) {
+        List<ParsedRankingItem> items = new ArrayList<>();
+        List<ParsedRankingItem> fallbackItems = new ArrayList<>();
+        boolean classCandidateSeen = false;
+
+        try (StreamParser streamParser = new StreamParser(Parser.htmlParser()).parse(html, "")) {
+            Iterator<Element> elements = streamParser.iterator();
+            while (elements.hasNext()) {
+                Element element = elements.next();
+                if (isClassCandidate(element)) {
+                    classCandidateSeen = true;
+                    ParsedRankingItem item = extractItem(element, items.size() + 1);
+                    if (item != null) {
+                        items.add(item);
+                        element.remove();
+                    } else if ("li".equals(element.normalName())) {
+                        log.debug("Skipping item due to missing required fields");
+                        element.remove();
+                    }
+                } else if (!classCandidateSeen && isDataCandidate(element)) {
+                    ParsedRankingItem item = extractItem(element, fallbackItems.size() + 1);
+                    if (item != null) {
+                        fallbackItems.add(item);
+                    }
+                }
+            }
+        }
+        return classCandidateSeen ? items : fallbackItems;
+    }
+
+    private boolean isClassCandidate(Element element) {
+        String name = element.normalName();
+        if ("li".equals(name)) {
+            return hasDescendantWithClass(element, "tx_name") || hasDescendantWithClass(element, "tx_brand");
+        }
+        if ("div".equals(name)) {
+            return hasDescendantWithClass(element, "tx_name") && !hasAncestor(element, "li");
+        }
+        return false;
+    }
+
+    private boolean isDataCandidate(Element element) {
+        return element.hasAttr("data-prd-name")
+            || element.hasAttr("data-goods-name")
+            || element.hasAttr("data-brand-name");
+    }
+
+    private boolean hasDescendantWithClass(Element element, String className) {
+        for (Element child : element.children()) {
+            if (!child.getElementsByClass(className).isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean hasAncestor(Element element, String tagName) {
+        for (Element parent = element.parent(); parent != null; parent = parent.parent()) {
+            if (tagName.equals(parent.normalName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private ParsedRankingItem extractItem(Element element, int fallbackRank) {
+        String brand = firstText(element, ".tx_brand", ".brand", "[data-brand-name]", "[data-brand]");
+        String product = firstText(element, ".tx_name", ".name", "[data-prd-name]", "[data-goods-name]");
+        Long price = parsePrice(firstText(element, ".tx_cur", ".price", ".prc", "[data-price]"));
+        if (brand == null || product == null || price == null) {
+            return null;
+        }
+        Integer rank = parseInt(firstText(element, ".tx_rank", ".rank", ".num", "[data-rank]"));
+        String productUrl = firstAttr(element, "a[href]", "href");
+        String imageUrl = firstAttr(element, "img[src], img[data-src]", "src", "data-src");
+        int resolvedRank = rank == null ? fallbackRank : rank;
+        return new ParsedRankingItem(resolvedRank, brand, product, price, productUrl, imageUrl);
+    }
+
     private String firstText(Element element, String... selectors) {
         for (String selector : selectors) {
             Element found = element.selectFirst(selector);
@@ -130,20 +349,7 @@ public class OliveYoungRankingParser {
         return null;
     }
 
-    private String textValue(JsonNode node, String... fields) {
-        for (String field : fields) {
-            JsonNode value = node.get(field);
-            if (value != null && value.isValueNode()) {
-                String text = value.asText();
-                if (!text.isBlank()) {
-                    return text.trim();
-                }
-            }
-        }
-        return null;
-    }
-
-    private Integer parseInt(String text) {
+    static Integer parseInt(String text) {
         if (text == null) {
             return null;
         }
@@ -158,7 +364,7 @@ public class OliveYoungRankingParser {
         }
     }
 
-    private Long parsePrice(String text) {
+    static Long parsePrice(String text) {
         if (text == null) {
             return null;
         }
@@ -172,4 +378,36 @@ public class OliveYoungRankingParser {
             return null;
         }
     }
+
+    private static Map<String, JsonAlias> jsonAliases() {
+        Map<String, JsonAlias> aliases = new HashMap<>();
+        register(aliases, JsonField.BRAND, "brandName", "brand", "brandNm");
+        register(aliases, JsonField.PRODUCT, "productName", "goodsName", "goodsNm", "name");
+        register(aliases, JsonField.PRICE, "price", "salePrc", "salePrice", "prc");
+        register(aliases, JsonField.RANK, "rank", "ranking", "rankNo");
+        register(aliases, JsonField.PRODUCT_URL, "productUrl", "url", "goodsUrl");
+        register(aliases, JsonField.IMAGE_URL, "imageUrl", "imgUrl", "thumbnail");
+        return Map.copyOf(aliases);
+    }
+
+    private static void register(Map<String, JsonAlias> aliases, JsonField field, String... names) {
+        for (int i = 0; i < names.length; i++) {
+            aliases.put(names[i], new JsonAlias(field, i));
+        }
+    }
+
+    private enum JsonField {
+        BRAND,
+        PRODUCT,
+        PRICE,
+        RANK,
+        PRODUCT_URL,
+        IMAGE_URL
+    }
+
+    /**
+     * Maps a JSON field name to the item field it feeds; a lower priority wins when several aliases are present.
+     */
+    private record JsonAlias(JsonField field, int priority) {
+    }
 }
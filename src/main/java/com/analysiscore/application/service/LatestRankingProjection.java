@@ -0,0 +1,141 @@
+package com.analysiscore.application.service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+import org.springframework.stereotype.Component;
+
+import com.analysiscore.application.dto.RankingDTO;
+import com.analysiscore.domain.entity.RankingSnapshot;
+import com.analysiscore.domain.repository.RankingItemRepository;
+import com.analysiscore.domain.repository.RankingSnapshotRepository;
+import com.analysiscore.domain.repository.projection.RankingItemView;
+import com.analysiscore.domain.repository.projection.SnapshotHeaderView;
+import com.analysiscore.model.ResolvedRankingItem;
+import com.analysiscore.model.SnapshotStatus;
+import com.analysiscore.model.SourceType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * In-memory "latest successful snapshot per source", kept as pre-serialized JSON with an ETag so reads of
+ * {@code /latest} need neither the database nor Jackson. Updated by {@link OliveYoungRankingService} after each
+ * committed snapshot; a source missing from memory (e.g. after a restart) is loaded from the database once.
+ */
+@Component
+public class LatestRankingProjection {
+	private final Map<SourceType, LatestSnapshot> latest = new ConcurrentHashMap<>();
+	private final ObjectMapper objectMapper;
+	private final RankingSnapshotRepository snapshotRepository;
+	private final RankingItemRepository rankingItemRepository;
+
+	public LatestRankingProjection(ObjectMapper objectMapper,
+		RankingSnapshotRepository snapshotRepository,
+		RankingItemRepository rankingItemRepository) {
+		this.objectMapper = objectMapper;
+		this.snapshotRepository = snapshotRepository;
+		this.rankingItemRepository = rankingItemRepository;
+	}
+
+	public Optional<LatestSnapshot> get(SourceType source) {
+		LatestSnapshot cached = latest.get(source);
+		if (cached != null) {
+			return Optional.of(cached);
+		}
+		return load(source);
+	}
+
+	/**
+	 * Replaces the projection for the snapshot's source unless a newer snapshot is already held.
+	 */
+	public void update(RankingSnapshot snapshot, List<ResolvedRankingItem> items) {
+		if (snapshot.getStatus() != SnapshotStatus.SUCCESS) {
+			return;
+		}
+		LatestSnapshot next = serialize(toResponse(snapshot, items));
+		latest.merge(snapshot.getSource(), next, (current, candidate) ->
+			candidate.snapshotId() >= current.snapshotId() ? candidate : current);
+	}
+
+	private Optional<LatestSnapshot> load(SourceType source) {
+		return snapshotRepository.findLatestHeader(source, SnapshotStatus.SUCCESS)
+			.map(header -> {
+				List<RankingItemView> items = rankingItemRepository.findViewsBySnapshotId(header.id());
+				LatestSnapshot loaded = serialize(toResponse(header, items));
+				return latest.merge(source, loaded, (current, candidate) ->
+					candidate.snapshotId() >= current.snapshotId() ? candidate : current);
+			});
+	}
+
+	private RankingDTO.SnapshotResponse toResponse(RankingSnapshot snapshot, List<ResolvedRankingItem> items) {
+		List<RankingDTO.ItemResponse> itemResponses = items.stream()
+			.sorted(Comparator.comparing((ResolvedRankingItem resolved) -> !resolved.isMainList())
+				.thenComparing(ResolvedRankingItem::category)
+				.thenComparingInt(ResolvedRankingItem::rank))
+			.map(resolved -> new RankingDTO.ItemResponse(
+				resolved.category(),
+				resolved.rank(),
+				resolved.productId(),
+				resolved.item().brandName(),
+				resolved.item().productName(),
+				resolved.price(),
+				resolved.item().productUrl(),
+				resolved.item().imageUrl()
+			))
+			.toList();
+		return new RankingDTO.SnapshotResponse(
+			snapshot.getId(),
+			snapshot.getSource(),
+			snapshot.getCapturedAt(),
+			snapshot.getHourBucketAt(),
+			snapshot.getHourBucketKey(),
+			snapshot.getStatus(),
+			snapshot.getItemCount(),
+			itemResponses
+		);
+	}
+
+	private RankingDTO.SnapshotResponse toResponse(SnapshotHeaderView header, List<RankingItemView> items) {
+		List<RankingDTO.ItemResponse> itemResponses = items.stream()
+			.map(item -> new RankingDTO.ItemResponse(
+				item.category(),
+				item.rank(),
+				item.productId(),
+				item.brandName(),
+				item.productName(),
+				item.price(),
+				item.productUrl(),
+				item.imageUrl()
+			))
+			.toList();
+		return new RankingDTO.SnapshotResponse(
+			header.id(),
+			header.source(),
+			header.capturedAt(),
+			header.hourBucketAt(),
+			header.hourBucketKey(),
+			header.status(),
+			header.itemCount(),
+			itemResponses
+		);
+	}
+
+	private LatestSnapshot serialize(RankingDTO.SnapshotResponse response) {
+		try {
+			byte[] json = objectMapper.writeValueAsBytes(response);
+			CRC32 crc = new CRC32();
+			crc.update(json);
+			String etag = "\"" + response.id() + "-" + Long.toHexString(crc.getValue()) + "\"";
+			return new LatestSnapshot(response.id(), json, etag);
+		} catch (JsonProcessingException ex) {
+			throw new IllegalStateException("failed to serialize snapshot " + response.id(), ex);
+		}
+	}
+
+	public record LatestSnapshot(long snapshotId, byte[] json, String etag) {
+	}
+}
@@ -7,100 +7,186 @@ import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import com.analysiscore.application.parser.OliveYoungRankingParser;
-import com.analysiscore.config.OyRankProperties;
-import com.analysiscore.domain.entity.RankingItem;
 import com.analysiscore.domain.entity.RankingSnapshot;
-import com.analysiscore.domain.repository.RankingItemRepository;
 import com.analysiscore.domain.repository.RankingSnapshotRepository;
 import com.analysiscore.infrastructure.OliveYoungBrowserClient;
-import com.analysiscore.model.HourBucket;
+import com.analysiscore.infrastructure.persistence.JdbcJobLockManager;
+import com.analysiscore.model.ParsedRankingItem;
+import com.analysiscore.model.ResolvedRankingItem;
 import com.analysiscore.model.SnapshotStatus;
 import com.analysiscore.model.SourceConfig;
 import com.analysiscore.model.SourceResponse;
 import com.analysiscore.model.SourceType;
+import com.analysiscore.model.TimeBucket;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 @Service
 public class OliveYoungRankingService {
 	private static final Logger log = LoggerFactory.getLogger(OliveYoungRankingService.class);
 
-	private final OyRankProperties properties;
-	private final OliveYoungBrowserClient client;
-	private final OliveYoungRankingParser parser;
+	private final SourceRegistry sourceRegistry;
+	private final RankingFetchChain fetchChain;
+	private final RankingSnapshotWriter snapshotWriter;
+	private final LatestRankingProjection latestProjection;
+	private final ProductCatalog productCatalog;
+	private final ProductHistoryService productHistoryService;
+	private final RankMoverService rankMoverService;
 	private final RankingSnapshotRepository snapshotRepository;
-	private final RankingItemRepository rankingItemRepository;
+	private final JdbcJobLockManager jobLockManager;
+	private final SourceCircuitBreaker circuitBreaker;
+	private final MeterRegistry meterRegistry;
+	private final Map<SourceType, ChangeRate> changeRates = new ConcurrentHashMap<>();
 
-	public OliveYoungRankingService(OyRankProperties properties,
-		OliveYoungBrowserClient client,
-		OliveYoungRankingParser parser,
+	public OliveYoungRankingService(SourceRegistry sourceRegistry,
+		RankingFetchChain fetchChain,
+		RankingSnapshotWriter snapshotWriter,
+		LatestRankingProjection latestProjection,
+		ProductCatalog productCatalog,
+		ProductHistoryService productHistoryService,
+		RankMoverService rankMoverService,
 		RankingSnapshotRepository snapshotRepository,
-		RankingItemRepository rankingItemRepository) {
-		this.properties = properties;
-		this.client = client;
-		this.parser = parser;
+		JdbcJobLockManager jobLockManager,
+		SourceCircuitBreaker circuitBreaker,
+		MeterRegistry meterRegistry) {
+		this.sourceRegistry = sourceRegistry;
+		this.fetchChain = fetchChain;
+		this.snapshotWriter = snapshotWriter;
+		this.latestProjection = latestProjection;
+		this.productCatalog = productCatalog;
+		this.productHistoryService = productHistoryService;
+		this.rankMoverService = rankMoverService;
 		this.snapshotRepository = snapshotRepository;
-		this.rankingItemRepository = rankingItemRepository;
+		this.jobLockManager = jobLockManager;
+		this.circuitBreaker = circuitBreaker;
+		this.meterRegistry = meterRegistry;
+	}
+
+	/**
+	 * Collects the current time bucket of {@code source} unless it already has a successful snapshot, another node
+	 * holds its lease or the source's circuit is open; returns empty in the latter two cases. Fetches and parses
+	 * outside any transaction, then hands the result to {@link RankingSnapshotWriter}.
+	 */
+	public Optional<RankingSnapshot> collect(SourceType source) {
+		return collect(source, OffsetDateTime.now(sourceRegistry.offsetOf(source)));
 	}
 
-	@Transactional
-	public RankingSnapshot collect(SourceType source) {
-		SourceConfig config = resolveConfig(source);
+	/**
+	 * Same as {@link #collect(SourceType)} for the bucket containing {@code capturedAt}, so a caller that keyed
+	 * its own bookkeeping by that bucket collects exactly it.
+	 */
+	public Optional<RankingSnapshot> collect(SourceType source, OffsetDateTime capturedAt) {
+		SourceConfig config = sourceRegistry.config(source);
 		ZoneOffset offset = config.getOffset();
-		OffsetDateTime capturedAt = OffsetDateTime.now(offset);
-		HourBucket bucket = HourBucket.of(capturedAt, offset, source);
+		TimeBucket bucket = TimeBucket.of(capturedAt, offset, source, config.getBucketGranularity());
+
+		Optional<JdbcJobLockManager.Lease> lease = jobLockManager.tryAcquire(bucket);
+		if (lease.isEmpty()) {
+			log.info("Skipping {} bucket {}: lease held by another node", source, bucket);
+			recordSkip(source, "lease-held");
+			return Optional.empty();
+		}
+		try {
+			Optional<RankingSnapshot> completed = snapshotRepository.findByBucketKey(bucket.getKey())
+				.filter(snapshot -> snapshot.getStatus().isComplete());
+			if (completed.isPresent()) {
+				log.debug("Skipping {} bucket {}: already collected", source, bucket);
+				recordSkip(source, "bucket-complete");
+				return completed;
+			}
+			SourceCircuitBreaker.Permit permit = circuitBreaker.tryAcquire(source);
+			if (permit == SourceCircuitBreaker.Permit.DENIED) {
+				log.info("Skipping {} bucket {}: circuit open", source, bucket);
+				recordSkip(source, "circuit-open");
+				return Optional.empty();
+			}
+			return Optional.of(fetchAndSave(source, config, capturedAt, bucket, permit));
+		} finally {
+			jobLockManager.release(lease.get());
+		}
+	}
+
+	private RankingSnapshot fetchAndSave(SourceType source,
+		SourceConfig config,
+		OffsetDateTime capturedAt,
+		TimeBucket bucket,
+		SourceCircuitBreaker.Permit permit) {
 		long startedAt = System.nanoTime();
+		boolean fetched = false;
 
 		try {
-			SourceResponse response = client.fetchRendered(config);
-			List<RankingItem> parsedItems = parser.parse(response.getContentType(), response.getBody());
-			List<RankingItem> items = dedupeByRank(parsedItems);
+			RankingFetchChain.FetchResult result = permit == SourceCircuitBreaker.Permit.PROBE
+				? fetchChain.probe(config)
+				: fetchChain.fetch(config);
+			fetched = true;
+			SourceResponse response = result.response();
+			List<ParsedRankingItem> items = dedupeByRank(result.items());
 			long elapsedMs = Duration.ofNanos(System.nanoTime() - startedAt).toMillis();
 
 			if (items.isEmpty()) {
-				log.warn("No items parsed for {} bucket {} elapsedMs={}", source, bucket.getHourBucketKey(), elapsedMs);
+				circuitBreaker.onFailure(source, SourceCircuitBreaker.FailureKind.EMPTY);
+				log.warn("No items parsed for {} bucket {} elapsedMs={}", source, bucket, elapsedMs);
 				return saveSnapshot(
-					source,
+					bucket,
 					capturedAt,
-					bucket.getHourBucketAt(),
-					bucket.getHourBucketKey(),
 					response.getRawUrl(),
 					SnapshotStatus.FAILED,
 					"no items parsed",
-					List.of()
+					List.of(),
+					null,
+					null
 				);
 			}
 
 			log.info(
-				"Collected ranking items source={} bucket={} items={} elapsedMs={}",
+				"Collected ranking items source={} bucket={} tier={} items={} blockedRequests={} waitStrategy={} waitMs={} elapsedMs={}",
 				source,
-				bucket.getHourBucketKey(),
+				bucket,
+				result.tier(),
 				items.size(),
+				response.getStats().getBlockedRequests(),
+				response.getStats().getWaitStrategy(),
+				response.getStats().getWaitMillis(),
 				elapsedMs
 			);
+			circuitBreaker.onSuccess(source);
+			String contentHash = RankingContentHash.of(items);
+			Long baseSnapshotId = findUnchangedBase(source, contentHash);
+			recordContent(source, baseSnapshotId == null);
+			List<ResolvedRankingItem> resolved = productCatalog.resolve(items);
 			return saveSnapshot(
-				source,
+				bucket,
 				capturedAt,
-				bucket.getHourBucketAt(),
-				bucket.getHourBucketKey(),
 				response.getRawUrl(),
-				SnapshotStatus.SUCCESS,
+				baseSnapshotId == null ? SnapshotStatus.SUCCESS : SnapshotStatus.UNCHANGED,
 				null,
-				items
+				resolved,
+				contentHash,
+				baseSnapshotId
 			);
 		} catch (Exception ex) {
+			if (ex instanceof RankingFetchChain.BrowserBudgetExhaustedException) {
+				circuitBreaker.onInconclusive(source);
+			} else if (!fetched) {
+				circuitBreaker.onFailure(source, SourceCircuitBreaker.classify(ex));
+			}
 			String message = ex.getMessage() == null ? "unexpected error" : ex.getMessage();
 			long elapsedMs = Duration.ofNanos(System.nanoTime() - startedAt).toMillis();
 			if (ex instanceof OliveYoungBrowserClient.RenderedFetchException rendered) {
 				log.warn(
 					"Rendered fetch failed source={} bucket={} url={} status={} contentType={} title={} elapsedMs={} bodyPrefix={} errorType={}",
 					source,
-					bucket.getHourBucketKey(),
+					bucket,
 					rendered.getUrl(),
 					rendered.getStatus(),
 					rendered.getContentType(),
@@ -114,88 +200,141 @@ public class OliveYoungRankingService {
 				log.warn(
 					"Failed to collect ranking snapshot for {} bucket {} elapsedMs={}",
 					source,
-					bucket.getHourBucketKey(),
+					bucket,
 					elapsedMs,
 					ex
 				);
 			}
 			return saveSnapshot(
-				source,
+				bucket,
 				capturedAt,
-				bucket.getHourBucketAt(),
-				bucket.getHourBucketKey(),
 				config.resolveUrl(),
 				SnapshotStatus.FAILED,
 				message,
-				List.of()
+				List.of(),
+				null,
+				null
 			);
 		}
 	}
 
-	private SourceConfig resolveConfig(SourceType source) {
-		if (source == SourceType.OLIVEYOUNG_KR) {
-			OyRankProperties.SourceConfigProperties sourceProps = properties.getSource().getKr();
-			ZoneOffset offset = ZoneOffset.of(sourceProps.getOffset());
-			return new SourceConfig(
-				SourceType.OLIVEYOUNG_KR,
-				sourceProps.getBaseUrl(),
-				sourceProps.getBestListPath(),
-				offset
-			);
+	/**
+	 * Id of the latest SUCCESS snapshot of {@code source} if its content matches {@code contentHash}.
+	 */
+	private Long findUnchangedBase(SourceType source, String contentHash) {
+		return snapshotRepository.findFirstBySourceAndStatusOrderByCapturedAtDesc(source, SnapshotStatus.SUCCESS)
+			.filter(previous -> contentHash.equals(previous.getContentHash()))
+			.map(RankingSnapshot::getId)
+			.orElse(null);
+	}
+
+	private void recordContent(SourceType source, boolean changed) {
+		meterRegistry.counter(
+			"oyrank.snapshot.content",
+			"source", source.getCode(),
+			"outcome", changed ? "changed" : "unchanged"
+		).increment();
+		changeRates.computeIfAbsent(source, key -> {
+			ChangeRate rate = new ChangeRate();
+			Gauge.builder("oyrank.snapshot.change.rate", rate, ChangeRate::ratio)
+				.tag("source", key.getCode())
+				.register(meterRegistry);
+			return rate;
+		}).record(changed);
+	}
+
+	/**
+	 * Derived data is rebuildable, so a failure here is logged and does not fail the collection. Product series
+	 * follow the main list only.
+	 */
+	private void recordAnalytics(RankingSnapshot snapshot, List<ResolvedRankingItem> items) {
+		try {
+			List<ResolvedRankingItem> mainList = items.stream().filter(ResolvedRankingItem::isMainList).toList();
+			productHistoryService.record(snapshot.getSource(), snapshot.getHourBucketAt(), mainList);
+		} catch (RuntimeException ex) {
+			log.warn("Failed to update product history snapshot={}", snapshot.getId(), ex);
+		}
+		try {
+			rankMoverService.onSnapshot(snapshot, items);
+		} catch (RuntimeException ex) {
+			log.warn("Failed to record rank changes snapshot={}", snapshot.getId(), ex);
 		}
-		throw new IllegalArgumentException("unsupported source: " + source);
 	}
 
-	private List<RankingItem> dedupeByRank(List<RankingItem> items) {
-		Map<Integer, RankingItem> deduped = new LinkedHashMap<>();
-		for (RankingItem item : items) {
-			if (!deduped.containsKey(item.getRank())) {
-				deduped.put(item.getRank(), item);
-			}
+	private void recordSkip(SourceType source, String reason) {
+		meterRegistry.counter("oyrank.collect.skipped", "source", source.getCode(), "reason", reason).increment();
+	}
+
+	/**
+	 * Keeps the first item of each rank within its category.
+	 */
+	static List<ParsedRankingItem> dedupeByRank(List<ParsedRankingItem> items) {
+		Map<String, Map<Integer, ParsedRankingItem>> byCategory = new LinkedHashMap<>();
+		for (ParsedRankingItem item : items) {
+			byCategory.computeIfAbsent(item.category(), key -> new LinkedHashMap<>())
+				.putIfAbsent(item.rank(), item);
+		}
+		List<ParsedRankingItem> deduped = new ArrayList<>(items.size());
+		for (Map<Integer, ParsedRankingItem> ranks : byCategory.values()) {
+			deduped.addAll(ranks.values());
 		}
-		return new ArrayList<>(deduped.values());
+		return deduped;
 	}
 
-	private RankingSnapshot saveSnapshot(SourceType source,
+	private RankingSnapshot saveSnapshot(TimeBucket bucket,
 											   OffsetDateTime capturedAt,
-											   OffsetDateTime hourBucketAt,
-											   String hourBucketKey,
 											   String rawUrl,
 											   SnapshotStatus status,
 											   String errorMessage,
-											   List<RankingItem> items) {
-		RankingSnapshot entity = RankingSnapshot.of(
-			source,
-			capturedAt,
-			hourBucketAt,
-			hourBucketKey,
-			rawUrl,
-			status,
-			errorMessage,
-			items.size()
-		);
-		RankingSnapshot saved = snapshotRepository.save(entity);
-
-		if (items.isEmpty()) {
-			return saved;
-		}
-
-		List<RankingItem> itemEntities = new ArrayList<>();
-		for (RankingItem item : items) {
-			RankingItem itemEntity = RankingItem.of(
-				saved,
-				item.getRank(),
-				item.getBrandName(),
-				item.getProductName(),
-				item.getPrice(),
-				item.getProductUrl(),
-				item.getImageUrl()
+											   List<ResolvedRankingItem> items,
+											   String contentHash,
+											   Long baseSnapshotId) {
+		Timer.Sample sample = Timer.start(meterRegistry);
+		RankingSnapshotWriter.Result saved;
+		try {
+			saved = snapshotWriter.write(
+				bucket,
+				capturedAt,
+				rawUrl,
+				status,
+				errorMessage,
+				items,
+				contentHash,
+				baseSnapshotId
 			);
-			itemEntities.add(itemEntity);
+		} finally {
+			sample.stop(meterRegistry.timer(
+				"oyrank.snapshot.write",
+				"source", bucket.getSource().getCode(),
+				"status", status.name()
+			));
+		}
+		if (!saved.written()) {
+			log.info("Bucket {} was completed concurrently, keeping snapshot {}", bucket, saved.snapshot().getId());
+			return saved.snapshot();
+		}
+		// write() has committed by now, so readers of the projection never see an uncommitted snapshot.
+		latestProjection.update(saved.snapshot(), items);
+		if (status.isComplete()) {
+			recordAnalytics(saved.snapshot(), items);
 		}
-		rankingItemRepository.saveAll(itemEntities);
-		return saved;
+		return saved.snapshot();
 	}
-}
 
+	private static final class ChangeRate {
+		private final AtomicLong changed = new AtomicLong();
+		private final AtomicLong total = new AtomicLong();
+
+		private void record(boolean contentChanged) {
+			if (contentChanged) {
+				changed.incrementAndGet();
+			}
+			total.incrementAndGet();
+		}
 
+		private double ratio() {
+			long count = total.get();
+			return count == 0 ? 0.0 : (double) changed.get() / count;
+		}
+	}
+}
@@ -0,0 +1,179 @@
+package com.analysiscore.application.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.analysiscore.config.OyRankProperties;
+import com.analysiscore.model.ParsedRankingItem;
+import com.analysiscore.model.ResolvedRankingItem;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Resolves parsed items to {@code product}/{@code brand} dimension rows, inserting unknown ones and refreshing
+ * names or URLs that changed. Known products are kept in an in-process LRU cache, so a steady-state ranking
+ * resolves without touching the database. Must run outside a transaction: a lost insert race is retried as a read,
+ * which Postgres would refuse inside an aborted transaction.
+ */
+@Component
+public class ProductCatalog {
+	private static final String SELECT_PRODUCTS_SQL = "SELECT id, product_key, brand_id, product_name, product_url, "
+		+ "image_url FROM product WHERE product_key IN (:keys)";
+	private static final String INSERT_PRODUCT_SQL = "INSERT INTO product "
+		+ "(product_key, brand_id, product_name, product_url, image_url) VALUES (?, ?, ?, ?, ?)";
+	private static final String UPDATE_PRODUCT_SQL = "UPDATE product SET brand_id = ?, product_name = ?, "
+		+ "product_url = ?, image_url = ? WHERE id = ?";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final NamedParameterJdbcTemplate namedJdbcTemplate;
+	private final MeterRegistry meterRegistry;
+	private final Map<String, CachedProduct> products;
+	private final Map<String, Long> brands;
+
+	public ProductCatalog(JdbcTemplate jdbcTemplate, OyRankProperties properties, MeterRegistry meterRegistry) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+		this.meterRegistry = meterRegistry;
+		int cacheSize = Math.max(1, properties.getPersistence().getProductCacheSize());
+		this.products = lruCache(cacheSize);
+		this.brands = lruCache(cacheSize);
+	}
+
+	public List<ResolvedRankingItem> resolve(List<ParsedRankingItem> items) {
+		// Derived from the URL or hashed from the names, so computed once per item.
+		String[] keys = new String[items.size()];
+		Map<String, ParsedRankingItem> misses = new LinkedHashMap<>();
+		for (int i = 0; i < keys.length; i++) {
+			ParsedRankingItem item = items.get(i);
+			keys[i] = item.productKey();
+			CachedProduct cached = products.get(keys[i]);
+			if (cached == null || !cached.matches(item, brands.get(item.brandName()))) {
+				misses.put(keys[i], item);
+			}
+		}
+		meterRegistry.counter("oyrank.product.cache", "result", "hit").increment(items.size() - misses.size());
+		meterRegistry.counter("oyrank.product.cache", "result", "miss").increment(misses.size());
+		if (!misses.isEmpty()) {
+			load(misses);
+		}
+
+		List<ResolvedRankingItem> resolved = new ArrayList<>(items.size());
+		for (int i = 0; i < keys.length; i++) {
+			CachedProduct cached = products.get(keys[i]);
+			if (cached == null) {
+				throw new IllegalStateException("product not resolved: " + keys[i]);
+			}
+			resolved.add(new ResolvedRankingItem(items.get(i), cached.id()));
+		}
+		return resolved;
+	}
+
+	private void load(Map<String, ParsedRankingItem> misses) {
+		Map<String, CachedProduct> stored = selectProducts(misses.keySet());
+		for (Map.Entry<String, ParsedRankingItem> miss : misses.entrySet()) {
+			String key = miss.getKey();
+			ParsedRankingItem item = miss.getValue();
+			long brandId = brandId(item.brandName());
+			CachedProduct current = stored.get(key);
+			if (current == null) {
+				current = insertProduct(key, item, brandId);
+			} else if (!current.matches(item, brandId)) {
+				jdbcTemplate.update(UPDATE_PRODUCT_SQL, brandId, item.productName(), item.productUrl(),
+					item.imageUrl(), current.id());
+				current = CachedProduct.of(current.id(), brandId, item);
+			}
+			products.put(key, current);
+		}
+	}
+
+	private CachedProduct insertProduct(String key, ParsedRankingItem item, long brandId) {
+		try {
+			jdbcTemplate.update(INSERT_PRODUCT_SQL, key, brandId, item.productName(), item.productUrl(),
+				item.imageUrl());
+		} catch (DuplicateKeyException ex) {
+			// Inserted concurrently by another node; the stored row is read back below.
+		}
+		CachedProduct inserted = selectProducts(Set.of(key)).get(key);
+		if (inserted == null) {
+			throw new IllegalStateException("product missing after insert: " + key);
+		}
+		return inserted;
+	}
+
+	private Map<String, CachedProduct> selectProducts(Set<String> keys) {
+		Map<String, CachedProduct> stored = new HashMap<>();
+		namedJdbcTemplate.query(SELECT_PRODUCTS_SQL, new MapSqlParameterSource("keys", new LinkedHashSet<>(keys)),
+			(RowCallbackHandler) rs -> stored.put(rs.getString("product_key"), new CachedProduct(
+				rs.getLong("id"),
+				rs.getLong("brand_id"),
+				rs.getString("product_name"),
+				rs.getString("product_url"),
+				rs.getString("image_url")
+			)));
+		return stored;
+	}
+
+	private long brandId(String name) {
+		Long cached = brands.get(name);
+		if (cached != null) {
+			return cached;
+		}
+		Long id = selectBrand(name);
+		if (id == null) {
+			try {
+				jdbcTemplate.update("INSERT INTO brand (name) VALUES (?)", name);
+			} catch (DuplicateKeyException ex) {
+				// Inserted concurrently by another node.
+			}
+			id = selectBrand(name);
+			if (id == null) {
+				throw new IllegalStateException("brand missing after insert: " + name);
+			}
+		}
+		brands.put(name, id);
+		return id;
+	}
+
+	private Long selectBrand(String name) {
+		List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM brand WHERE name = ?", Long.class, name);
+		return ids.isEmpty() ? null : ids.get(0);
+	}
+
+	private static <K, V> Map<K, V> lruCache(int maxSize) {
+		return Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+				return size() > maxSize;
+			}
+		});
+	}
+
+	private record CachedProduct(long id, long brandId, String productName, String productUrl, String imageUrl) {
+
+		private static CachedProduct of(long id, long brandId, ParsedRankingItem item) {
+			return new CachedProduct(id, brandId, item.productName(), item.productUrl(), item.imageUrl());
+		}
+
+		private boolean matches(ParsedRankingItem item, Long currentBrandId) {
+			return currentBrandId != null
+				&& brandId == currentBrandId
+				&& Objects.equals(productName, item.productName())
+				&& Objects.equals(productUrl, item.productUrl())
+				&& Objects.equals(imageUrl, item.imageUrl());
+		}
+	}
+}
@@ -0,0 +1,200 @@
+package com.analysiscore.application.service;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.analysiscore.application.dto.ProductDTO;
+import com.analysiscore.model.DailyRankSeries;
+import com.analysiscore.model.ResolvedRankingItem;
+import com.analysiscore.model.SourceType;
+
+/**
+ * Per-product, per-day rank/price series in {@code product_rank_day}. Each collected snapshot patches one hour slot
+ * of its products' rows, so a trend query reads one small row per day instead of scanning {@code ranking_item}.
+ * Days start at midnight in the source offset.
+ */
+@Service
+public class ProductHistoryService {
+	public static final int MAX_DAYS = 366;
+	private static final String SELECT_DAY_SQL = "SELECT product_id, series FROM product_rank_day "
+		+ "WHERE source = :source AND day_start_at = :dayStartAt AND product_id IN (:productIds)";
+	private static final String UPDATE_SQL = "UPDATE product_rank_day SET series = ? "
+		+ "WHERE product_id = ? AND source = ? AND day_start_at = ?";
+	private static final String INSERT_SQL = "INSERT INTO product_rank_day "
+		+ "(product_id, source, day_start_at, series) VALUES (?, ?, ?, ?)";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final NamedParameterJdbcTemplate namedJdbcTemplate;
+	private final SourceRegistry sourceRegistry;
+
+	public ProductHistoryService(JdbcTemplate jdbcTemplate, SourceRegistry sourceRegistry) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+		this.sourceRegistry = sourceRegistry;
+	}
+
+	/**
+	 * Writes the rank and price of every item into the hour slot of {@code hourBucketAt}. With buckets shorter than
+	 * an hour the slot ends up holding the last snapshot recorded in that hour; a product listed twice in one snapshot
+	 * keeps its best rank.
+	 */
+	public void record(SourceType source, OffsetDateTime hourBucketAt, List<ResolvedRankingItem> items) {
+		if (items.isEmpty()) {
+			return;
+		}
+		OffsetDateTime bucketAt = hourBucketAt.withOffsetSameInstant(sourceRegistry.offsetOf(source));
+		OffsetDateTime dayStartAt = bucketAt.truncatedTo(ChronoUnit.DAYS);
+		int hour = bucketAt.getHour();
+
+		Map<Long, DailyRankSeries> stored = new HashMap<>();
+		MapSqlParameterSource params = new MapSqlParameterSource()
+			.addValue("source", source.getCode())
+			.addValue("dayStartAt", dayStartAt)
+			.addValue("productIds", items.stream().map(ResolvedRankingItem::productId).distinct().toList());
+		namedJdbcTemplate.query(SELECT_DAY_SQL, params, (RowCallbackHandler) rs ->
+			stored.put(rs.getLong("product_id"), DailyRankSeries.decode(rs.getBytes("series"))));
+
+		List<Object[]> updates = new ArrayList<>();
+		List<Object[]> inserts = new ArrayList<>();
+		Map<Long, DailyRankSeries> fresh = new LinkedHashMap<>();
+		Set<Long> written = new HashSet<>();
+		for (ResolvedRankingItem item : items) {
+			DailyRankSeries series = stored.get(item.productId());
+			boolean existing = series != null;
+			if (!existing) {
+				series = fresh.computeIfAbsent(item.productId(), id -> new DailyRankSeries());
+			}
+			if (!written.add(item.productId()) && series.rank(hour) <= item.rank()) {
+				// A product listed twice keeps its best rank.
+				continue;
+			}
+			series.put(hour, item.rank(), item.price());
+		}
+		stored.forEach((productId, series) ->
+			updates.add(new Object[] {series.encode(), productId, source.getCode(), dayStartAt}));
+		fresh.forEach((productId, series) ->
+			inserts.add(new Object[] {productId, source.getCode(), dayStartAt, series.encode()}));
+
+		if (!updates.isEmpty()) {
+			jdbcTemplate.batchUpdate(UPDATE_SQL, updates);
+		}
+		if (!inserts.isEmpty()) {
+			try {
+				jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+			} catch (DuplicateKeyException ex) {
+				throw new IllegalStateException("product_rank_day changed concurrently for " + dayStartAt
+					+ "; rebuild the range from ranking_item", ex);
+			}
+		}
+	}
+
+	@Transactional(readOnly = true)
+	public Optional<ProductDTO.HistoryResponse> history(long productId, SourceType source, int days) {
+		List<ProductDTO.HistoryResponse> products = jdbcTemplate.query(
+			"SELECT p.id, p.product_key, b.name AS brand_name, p.product_name FROM product p "
+				+ "JOIN brand b ON b.id = p.brand_id WHERE p.id = ?",
+			(rs, rowNum) -> new ProductDTO.HistoryResponse(
+				rs.getLong("id"),
+				rs.getString("product_key"),
+				rs.getString("brand_name"),
+				rs.getString("product_name"),
+				source,
+				new ArrayList<>()
+			),
+			productId
+		);
+		if (products.isEmpty()) {
+			return Optional.empty();
+		}
+		ProductDTO.HistoryResponse response = products.get(0);
+
+		ZoneOffset offset = sourceRegistry.offsetOf(source);
+		int range = Math.max(1, Math.min(days, MAX_DAYS));
+		OffsetDateTime from = OffsetDateTime.now(offset).truncatedTo(ChronoUnit.DAYS).minusDays(range - 1L);
+		jdbcTemplate.query(
+			"SELECT day_start_at, series FROM product_rank_day "
+				+ "WHERE product_id = ? AND source = ? AND day_start_at >= ? ORDER BY day_start_at",
+			(RowCallbackHandler) rs -> {
+				OffsetDateTime dayStartAt = rs.getObject("day_start_at", OffsetDateTime.class)
+					.withOffsetSameInstant(offset);
+				DailyRankSeries series = DailyRankSeries.decode(rs.getBytes("series"));
+				for (int hour = 0; hour < DailyRankSeries.HOURS; hour++) {
+					if (series.has(hour)) {
+						response.points().add(new ProductDTO.HistoryPoint(
+							dayStartAt.plusHours(hour),
+							series.rank(hour),
+							series.price(hour)
+						));
+					}
+				}
+			},
+			productId, source.getCode(), from
+		);
+		return Optional.of(response);
+	}
+
+	/**
+	 * Recomputes every {@code product_rank_day} row of {@code source} for the days covering {@code [from, to)}
+	 * from the stored snapshots. UNCHANGED snapshots contribute their base snapshot's items. Rows are replayed in
+	 * bucket order so each hour slot ends up as {@link #record} would have left it.
+	 */
+	@Transactional
+	public ProductDTO.RebuildResponse rebuild(SourceType source, OffsetDateTime from, OffsetDateTime to) {
+		ZoneOffset offset = sourceRegistry.offsetOf(source);
+		OffsetDateTime fromDay = from.withOffsetSameInstant(offset).truncatedTo(ChronoUnit.DAYS);
+		OffsetDateTime toDay = to.withOffsetSameInstant(offset).truncatedTo(ChronoUnit.DAYS);
+		if (toDay.isBefore(to.withOffsetSameInstant(offset))) {
+			toDay = toDay.plusDays(1);
+		}
+
+		Map<DayKey, DailyRankSeries> rebuilt = new LinkedHashMap<>();
+		jdbcTemplate.query(
+			"SELECT s.hour_bucket_at, i.product_id, i.rank_value, i.price FROM ranking_snapshot s "
+				+ "JOIN ranking_item i ON i.snapshot_id = COALESCE(s.base_snapshot_id, s.id) "
+				+ "WHERE s.source = ? AND s.status IN ('SUCCESS', 'UNCHANGED') AND i.category = 'ALL' "
+				+ "AND s.hour_bucket_at >= ? AND s.hour_bucket_at < ? "
+				// Within a snapshot the best rank of a product comes last and wins.
+				+ "ORDER BY s.hour_bucket_at, s.id, i.rank_value DESC",
+			(RowCallbackHandler) rs -> {
+				OffsetDateTime bucketAt = rs.getObject("hour_bucket_at", OffsetDateTime.class)
+					.withOffsetSameInstant(offset);
+				DayKey key = new DayKey(rs.getLong("product_id"), bucketAt.truncatedTo(ChronoUnit.DAYS));
+				DailyRankSeries series = rebuilt.computeIfAbsent(key, k -> new DailyRankSeries());
+				series.put(bucketAt.getHour(), rs.getInt("rank_value"), rs.getLong("price"));
+			},
+			source.getCode(), fromDay, toDay
+		);
+
+		jdbcTemplate.update(
+			"DELETE FROM product_rank_day WHERE source = ? AND day_start_at >= ? AND day_start_at < ?",
+			source.getCode(), fromDay, toDay
+		);
+		List<Object[]> rows = new ArrayList<>(rebuilt.size());
+		rebuilt.forEach((key, series) ->
+			rows.add(new Object[] {key.productId(), source.getCode(), key.dayStartAt(), series.encode()}));
+		if (!rows.isEmpty()) {
+			jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+		}
+		return new ProductDTO.RebuildResponse(source, fromDay, toDay, rows.size());
+	}
+
+	private record DayKey(long productId, OffsetDateTime dayStartAt) {
+	}
+}
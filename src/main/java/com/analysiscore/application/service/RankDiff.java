@@ -0,0 +1,56 @@
+package com.analysiscore.application.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.analysiscore.model.RankChangeType;
+
+/**
+ * Hash join of two rankings by product id: one pass to index the previous ranking, one over the current one, one
+ * over what is left. A product listed twice counts with its best rank.
+ */
+final class RankDiff {
+
+	private RankDiff() {
+	}
+
+	static Map<Long, Integer> index(Iterable<RankedProduct> ranking) {
+		Map<Long, Integer> ranks = new HashMap<>();
+		for (RankedProduct product : ranking) {
+			ranks.merge(product.productId(), product.rank(), Math::min);
+		}
+		return ranks;
+	}
+
+	static List<Change> diff(Map<Long, Integer> previous, Map<Long, Integer> current) {
+		List<Change> changes = new ArrayList<>();
+		for (Map.Entry<Long, Integer> entry : current.entrySet()) {
+			Integer before = previous.get(entry.getKey());
+			int rank = entry.getValue();
+			if (before == null) {
+				changes.add(new Change(entry.getKey(), RankChangeType.NEW, null, rank));
+			} else if (before != rank) {
+				RankChangeType type = rank < before ? RankChangeType.RISER : RankChangeType.FALLER;
+				changes.add(new Change(entry.getKey(), type, before, rank));
+			}
+		}
+		for (Map.Entry<Long, Integer> entry : previous.entrySet()) {
+			if (!current.containsKey(entry.getKey())) {
+				changes.add(new Change(entry.getKey(), RankChangeType.DROPPED, entry.getValue(), null));
+			}
+		}
+		return changes;
+	}
+
+	record RankedProduct(long productId, int rank) {
+	}
+
+	record Change(long productId, RankChangeType type, Integer previousRank, Integer rank) {
+
+		Integer rankDelta() {
+			return previousRank == null || rank == null ? null : previousRank - rank;
+		}
+	}
+}
@@ -0,0 +1,283 @@
+package com.analysiscore.application.service;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.analysiscore.application.dto.RankingDTO;
+import com.analysiscore.domain.entity.RankingSnapshot;
+import com.analysiscore.domain.repository.RankingItemRepository;
+import com.analysiscore.domain.repository.RankingSnapshotRepository;
+import com.analysiscore.domain.repository.projection.RankingItemView;
+import com.analysiscore.domain.repository.projection.SnapshotHeaderView;
+import com.analysiscore.model.MoverWindow;
+import com.analysiscore.model.RankChangeType;
+import com.analysiscore.model.RankingCategory;
+import com.analysiscore.model.ResolvedRankingItem;
+import com.analysiscore.model.SnapshotStatus;
+import com.analysiscore.model.SourceType;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Rank movers. Each SUCCESS snapshot is diffed against the previous one of its source right after it is written
+ * and only the products whose rank changed are stored in {@code rank_change}; the movers endpoints aggregate those
+ * rows instead of self-joining {@code ranking_item}. The previous ranking is kept in memory and reloaded when
+ * another node wrote the snapshot in between. Only the main list is diffed; category tabs are not tracked.
+ */
+@Service
+public class RankMoverService {
+	public static final int MAX_MOVERS = 100;
+	private static final int DIFF_CACHE_SIZE = 256;
+	private static final String INSERT_SQL = "INSERT INTO rank_change (snapshot_id, product_id, previous_snapshot_id, "
+		+ "source, hour_bucket_at, change_type, previous_rank, rank_value, rank_delta) "
+		+ "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final NamedParameterJdbcTemplate namedJdbcTemplate;
+	private final RankingSnapshotRepository snapshotRepository;
+	private final RankingItemRepository rankingItemRepository;
+	private final MeterRegistry meterRegistry;
+	private final Map<SourceType, PreviousRanking> previousRankings = new ConcurrentHashMap<>();
+	private final Map<DiffKey, RankingDTO.DiffResponse> diffCache = Collections.synchronizedMap(
+		new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<DiffKey, RankingDTO.DiffResponse> eldest) {
+				return size() > DIFF_CACHE_SIZE;
+			}
+		});
+
+	public RankMoverService(JdbcTemplate jdbcTemplate,
+		RankingSnapshotRepository snapshotRepository,
+		RankingItemRepository rankingItemRepository,
+		MeterRegistry meterRegistry) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+		this.snapshotRepository = snapshotRepository;
+		this.rankingItemRepository = rankingItemRepository;
+		this.meterRegistry = meterRegistry;
+	}
+
+	/**
+	 * Stores the rank changes of a freshly written SUCCESS snapshot against the previous SUCCESS snapshot.
+	 */
+	public void onSnapshot(RankingSnapshot snapshot, List<ResolvedRankingItem> items) {
+		if (snapshot.getStatus() != SnapshotStatus.SUCCESS) {
+			return;
+		}
+		SourceType source = snapshot.getSource();
+		Map<Long, Integer> current = RankDiff.index(items.stream()
+			.filter(ResolvedRankingItem::isMainList)
+			.map(item -> new RankDiff.RankedProduct(item.productId(), item.rank()))
+			.toList());
+		PreviousRanking previous = previousRanking(snapshot);
+		previousRankings.put(source, new PreviousRanking(snapshot.getId(), current));
+		if (previous == null) {
+			return;
+		}
+
+		List<RankDiff.Change> changes = RankDiff.diff(previous.ranks(), current);
+		List<Object[]> rows = new ArrayList<>(changes.size());
+		for (RankDiff.Change change : changes) {
+			rows.add(new Object[] {
+				snapshot.getId(),
+				change.productId(),
+				previous.snapshotId(),
+				source.getCode(),
+				snapshot.getHourBucketAt(),
+				change.type().name(),
+				change.previousRank(),
+				change.rank(),
+				change.rankDelta()
+			});
+			meterRegistry.counter("oyrank.rank.changes", "source", source.getCode(), "type", change.type().name())
+				.increment();
+		}
+		if (!rows.isEmpty()) {
+			jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+		}
+	}
+
+	/**
+	 * Net movement per product over the changes recorded for buckets within {@code window}. A product that entered
+	 * or left the ranking in the window is listed under new entries or drop-outs rather than risers or fallers.
+	 */
+	public RankingDTO.MoversResponse movers(SourceType source, MoverWindow window, int limit) {
+		int size = Math.max(1, Math.min(limit, MAX_MOVERS));
+		RankMovers.Window range = RankMovers.window(window, OffsetDateTime.now(ZoneOffset.UTC));
+
+		RankMovers movers = new RankMovers();
+		jdbcTemplate.query(
+			"SELECT product_id, change_type, previous_rank, rank_value FROM rank_change "
+				+ "WHERE source = ? AND hour_bucket_at > ? AND hour_bucket_at <= ? "
+				+ "ORDER BY hour_bucket_at, snapshot_id",
+			(RowCallbackHandler) rs -> movers.apply(
+				rs.getLong("product_id"),
+				RankChangeType.valueOf(rs.getString("change_type")),
+				rs.getObject("previous_rank", Integer.class),
+				rs.getObject("rank_value", Integer.class)
+			),
+			source.getCode(), range.from(), range.to()
+		);
+
+		RankMovers.Groups groups = movers.groups();
+		List<RankMovers.NetChange> top = new ArrayList<>();
+		List<List<RankMovers.NetChange>> all = List.of(
+			groups.risers(), groups.fallers(), groups.newEntries(), groups.dropOuts()
+		);
+		for (List<RankMovers.NetChange> group : all) {
+			top.addAll(group.subList(0, Math.min(size, group.size())));
+		}
+		Map<Long, ProductName> names = productNames(top.stream().map(RankMovers.NetChange::productId).toList());
+		return new RankingDTO.MoversResponse(
+			source,
+			window.getCode(),
+			range.from(),
+			range.to(),
+			toMovers(groups.risers(), size, names),
+			toMovers(groups.fallers(), size, names),
+			toMovers(groups.newEntries(), size, names),
+			toMovers(groups.dropOuts(), size, names)
+		);
+	}
+
+	/**
+	 * Rank changes between any two snapshots. Results for complete snapshots never change and are cached.
+	 */
+	public Optional<RankingDTO.DiffResponse> diff(long fromSnapshotId, long toSnapshotId) {
+		DiffKey key = new DiffKey(fromSnapshotId, toSnapshotId);
+		RankingDTO.DiffResponse cached = diffCache.get(key);
+		if (cached != null) {
+			return Optional.of(cached);
+		}
+		Optional<RankingSnapshot> from = snapshotRepository.findById(fromSnapshotId);
+		Optional<RankingSnapshot> to = snapshotRepository.findById(toSnapshotId);
+		if (from.isEmpty() || to.isEmpty()) {
+			return Optional.empty();
+		}
+
+		Map<Long, RankingItemView> products = new HashMap<>();
+		Map<Long, Integer> previous = indexViews(from.get(), products);
+		Map<Long, Integer> current = indexViews(to.get(), products);
+		List<RankingDTO.ChangeResponse> changes = RankDiff.diff(previous, current).stream()
+			.sorted(Comparator.comparing(RankDiff.Change::type)
+				.thenComparing(change -> change.rank() != null ? change.rank() : change.previousRank()))
+			.map(change -> {
+				RankingItemView product = products.get(change.productId());
+				return new RankingDTO.ChangeResponse(
+					change.productId(),
+					product.brandName(),
+					product.productName(),
+					change.type(),
+					change.previousRank(),
+					change.rank(),
+					change.rankDelta()
+				);
+			})
+			.toList();
+		RankingDTO.DiffResponse response = new RankingDTO.DiffResponse(fromSnapshotId, toSnapshotId, changes);
+		if (from.get().getStatus().isComplete() && to.get().getStatus().isComplete()) {
+			diffCache.put(key, response);
+		}
+		return Optional.of(response);
+	}
+
+	private Map<Long, Integer> indexViews(RankingSnapshot snapshot, Map<Long, RankingItemView> products) {
+		List<RankingItemView> views = mainList(
+			rankingItemRepository.findViewsBySnapshotId(snapshot.getItemSnapshotId())
+		);
+		for (RankingItemView view : views) {
+			products.putIfAbsent(view.productId(), view);
+		}
+		return RankDiff.index(views.stream()
+			.map(view -> new RankDiff.RankedProduct(view.productId(), view.rank()))
+			.toList());
+	}
+
+	private PreviousRanking previousRanking(RankingSnapshot snapshot) {
+		Optional<SnapshotHeaderView> previousHeader = snapshotRepository
+			.findHeadersBySourceAndStatus(snapshot.getSource(), SnapshotStatus.SUCCESS, PageRequest.of(0, 2))
+			.stream()
+			.filter(header -> !header.id().equals(snapshot.getId()))
+			.findFirst();
+		if (previousHeader.isEmpty()) {
+			return null;
+		}
+		long previousId = previousHeader.get().id();
+		PreviousRanking cached = previousRankings.get(snapshot.getSource());
+		if (cached != null && cached.snapshotId() == previousId) {
+			return cached;
+		}
+		List<RankingItemView> views = mainList(rankingItemRepository.findViewsBySnapshotId(previousId));
+		Map<Long, Integer> ranks = RankDiff.index(views.stream()
+			.map(view -> new RankDiff.RankedProduct(view.productId(), view.rank()))
+			.toList());
+		return new PreviousRanking(previousId, ranks);
+	}
+
+	private static List<RankingItemView> mainList(List<RankingItemView> views) {
+		return views.stream()
+			.filter(view -> RankingCategory.ALL.equals(view.category()))
+			.toList();
+	}
+
+	private Map<Long, ProductName> productNames(List<Long> productIds) {
+		Map<Long, ProductName> names = new HashMap<>();
+		if (productIds.isEmpty()) {
+			return names;
+		}
+		namedJdbcTemplate.query(
+			"SELECT p.id, b.name AS brand_name, p.product_name FROM product p "
+				+ "JOIN brand b ON b.id = p.brand_id WHERE p.id IN (:ids)",
+			new MapSqlParameterSource("ids", productIds),
+			(RowCallbackHandler) rs -> names.put(
+				rs.getLong("id"),
+				new ProductName(rs.getString("brand_name"), rs.getString("product_name"))
+			)
+		);
+		return names;
+	}
+
+	private List<RankingDTO.MoverResponse> toMovers(List<RankMovers.NetChange> changes,
+		int size,
+		Map<Long, ProductName> names) {
+		return changes.stream()
+			.limit(size)
+			.map(change -> {
+				ProductName name = names.get(change.productId());
+				return new RankingDTO.MoverResponse(
+					change.productId(),
+					name == null ? null : name.brandName(),
+					name == null ? null : name.productName(),
+					change.firstPreviousRank(),
+					change.lastRank(),
+					change.rankDelta()
+				);
+			})
+			.toList();
+	}
+
+	private record PreviousRanking(long snapshotId, Map<Long, Integer> ranks) {
+	}
+
+	private record DiffKey(long fromSnapshotId, long toSnapshotId) {
+	}
+
+	private record ProductName(String brandName, String productName) {
+	}
+}
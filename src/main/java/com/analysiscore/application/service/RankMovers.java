@@ -0,0 +1,105 @@
+package com.analysiscore.application.service;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.analysiscore.model.MoverWindow;
+import com.analysiscore.model.RankChangeType;
+
+/**
+ * Net movement per product over a run of {@code rank_change} rows fed in bucket order: the rank before the first
+ * change in the window against the rank after the last one.
+ */
+final class RankMovers {
+	private final Map<Long, NetChange> net = new LinkedHashMap<>();
+
+	/**
+	 * The buckets a movers query covers: those starting after {@code now} minus the window, up to {@code now}.
+	 */
+	static Window window(MoverWindow window, OffsetDateTime now) {
+		return new Window(now.minus(window.getDuration()), now);
+	}
+
+	void apply(long productId, RankChangeType type, Integer previousRank, Integer rank) {
+		net.computeIfAbsent(productId, NetChange::new).apply(type, previousRank, rank);
+	}
+
+	/**
+	 * Splits the net changes into risers and fallers by delta, best first, and new entries and drop-outs by rank.
+	 * A product that entered and left again within the window, or ended where it started, is left out.
+	 */
+	Groups groups() {
+		List<NetChange> risers = new ArrayList<>();
+		List<NetChange> fallers = new ArrayList<>();
+		List<NetChange> newEntries = new ArrayList<>();
+		List<NetChange> dropOuts = new ArrayList<>();
+		for (NetChange change : net.values()) {
+			if (change.firstPreviousRank == null && change.lastRank == null) {
+				continue;
+			}
+			if (change.lastRank == null) {
+				dropOuts.add(change);
+			} else if (change.firstPreviousRank == null) {
+				newEntries.add(change);
+			} else if (change.rankDelta() > 0) {
+				risers.add(change);
+			} else if (change.rankDelta() < 0) {
+				fallers.add(change);
+			}
+		}
+		risers.sort(Comparator.comparingInt(NetChange::rankDelta).reversed());
+		fallers.sort(Comparator.comparingInt(NetChange::rankDelta));
+		newEntries.sort(Comparator.comparing(NetChange::lastRank));
+		dropOuts.sort(Comparator.comparing(NetChange::firstPreviousRank));
+		return new Groups(risers, fallers, newEntries, dropOuts);
+	}
+
+	record Window(OffsetDateTime from, OffsetDateTime to) {
+	}
+
+	record Groups(List<NetChange> risers, List<NetChange> fallers, List<NetChange> newEntries,
+		List<NetChange> dropOuts) {
+	}
+
+	static final class NetChange {
+		private final long productId;
+		private boolean seen;
+		private Integer firstPreviousRank;
+		private Integer lastRank;
+
+		private NetChange(long productId) {
+			this.productId = productId;
+		}
+
+		private void apply(RankChangeType type, Integer previousRank, Integer rank) {
+			if (!seen) {
+				firstPreviousRank = previousRank;
+				seen = true;
+			}
+			lastRank = type == RankChangeType.DROPPED ? null : rank;
+		}
+
+		long productId() {
+			return productId;
+		}
+
+		Integer firstPreviousRank() {
+			return firstPreviousRank;
+		}
+
+		Integer lastRank() {
+			return lastRank;
+		}
+
+		/**
+		 * Places gained from the first previous rank to the last rank; null when either end is outside the ranking.
+		 */
+		Integer rankDelta() {
+			return firstPreviousRank == null || lastRank == null ? null : firstPreviousRank - lastRank;
+		}
+	}
+}
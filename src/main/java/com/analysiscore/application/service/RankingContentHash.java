@@ -0,0 +1,63 @@
+package com.analysiscore.application.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+
+import com.analysiscore.model.ParsedRankingItem;
+import com.analysiscore.model.RankingCategory;
+
+/**
+ * SHA-256 fingerprint of a ranking's visible content: rank, brand, product and price of every item, the main list
+ * first and then each category, in rank order. URLs are left out because tracking parameters in them change between
+ * otherwise identical fetches. Main-list rows hash without their category, so a source without categories keeps the
+ * hashes it had before categories existed.
+ */
+final class RankingContentHash {
+	private static final byte FIELD_SEPARATOR = 0x1F;
+	private static final byte ROW_SEPARATOR = '\n';
+
+	private RankingContentHash() {
+	}
+
+	static String of(List<ParsedRankingItem> items) {
+		MessageDigest digest = sha256();
+		List<ParsedRankingItem> sorted = items.stream()
+			.sorted(Comparator.comparing((ParsedRankingItem item) -> !RankingCategory.ALL.equals(item.category()))
+				.thenComparing(ParsedRankingItem::category)
+				.thenComparingInt(ParsedRankingItem::rank))
+			.toList();
+		for (ParsedRankingItem item : sorted) {
+			if (!RankingCategory.ALL.equals(item.category())) {
+				update(digest, item.category());
+				digest.update(FIELD_SEPARATOR);
+			}
+			update(digest, Integer.toString(item.rank()));
+			digest.update(FIELD_SEPARATOR);
+			update(digest, item.brandName());
+			digest.update(FIELD_SEPARATOR);
+			update(digest, item.productName());
+			digest.update(FIELD_SEPARATOR);
+			update(digest, Long.toString(item.price()));
+			digest.update(ROW_SEPARATOR);
+		}
+		return HexFormat.of().formatHex(digest.digest());
+	}
+
+	private static void update(MessageDigest digest, String value) {
+		if (value != null) {
+			digest.update(value.getBytes(StandardCharsets.UTF_8));
+		}
+	}
+
+	private static MessageDigest sha256() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException("SHA-256 not available", ex);
+		}
+	}
+}
@@ -0,0 +1,278 @@
+package com.analysiscore.application.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.analysiscore.application.parser.OliveYoungRankingParser;
+import com.analysiscore.config.OyRankProperties;
+import com.analysiscore.infrastructure.OliveYoungBrowserClient;
+import com.analysiscore.infrastructure.OliveYoungRankingClient;
+import com.analysiscore.model.FetchStats;
+import com.analysiscore.model.FetchTier;
+import com.analysiscore.model.ParsedRankingItem;
+import com.analysiscore.model.SourceConfig;
+import com.analysiscore.model.SourceResponse;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Fetches a source through its configured tiers, cheapest first, and escalates only when a tier fails or its
+ * parsed result has fewer than {@code minItems} items. A tier that keeps failing is skipped for a while and
+ * re-probed every {@code oyrank.fetch.probeEvery} runs. At most {@code oyrank.collector.browserBudget} browser
+ * renders run at once across all sources; a render that cannot get a slot within {@code browserWaitMillis} fails
+ * like any other tier error. On a source with category tabs or scrolling, the browser tier captures all tabs in one
+ * pass and {@code minItems} applies to their combined items.
+ */
+@Component
+public class RankingFetchChain {
+	private static final Logger log = LoggerFactory.getLogger(RankingFetchChain.class);
+
+	private final OyRankProperties.FetchProperties properties;
+	private final OliveYoungRankingClient httpClient;
+	private final OliveYoungBrowserClient browserClient;
+	private final OliveYoungRankingParser parser;
+	private final MeterRegistry meterRegistry;
+	private final Map<String, TierState> states = new ConcurrentHashMap<>();
+	private final Semaphore browserBudget;
+	private final long browserWaitMillis;
+
+	public RankingFetchChain(OyRankProperties properties,
+		OliveYoungRankingClient httpClient,
+		OliveYoungBrowserClient browserClient,
+		OliveYoungRankingParser parser,
+		MeterRegistry meterRegistry) {
+		this.properties = properties.getFetch();
+		this.httpClient = httpClient;
+		this.browserClient = browserClient;
+		this.parser = parser;
+		this.meterRegistry = meterRegistry;
+		this.browserBudget = new Semaphore(Math.max(1, properties.getCollector().getBrowserBudget()), true);
+		this.browserWaitMillis = Math.max(0, properties.getCollector().getBrowserWaitMillis());
+	}
+
+	public FetchResult fetch(SourceConfig config) {
+		return fetch(config, config.getTiers(), null);
+	}
+
+	/**
+	 * Half-open probe of a source whose circuit was open. A plain HTTP request goes first, so a source that still
+	 * answers with access denied fails the probe without a browser being launched. Otherwise, if the source has an
+	 * HTTP tier and the response parses to at least {@code minItems} items, it is the result; if not, the remaining
+	 * tiers run as usual.
+	 */
+	public FetchResult probe(SourceConfig config) {
+		List<FetchTier> tiers = config.getTiers();
+		List<FetchTier> remaining = tiers.stream().filter(tier -> tier != FetchTier.HTTP).toList();
+		FetchResult result = null;
+		try {
+			SourceResponse response = httpClient.fetch(config);
+			record(config, FetchTier.HTTP, "probe");
+			if (tiers.contains(FetchTier.HTTP)) {
+				result = new FetchResult(FetchTier.HTTP, response, parse(response, config));
+				if (result.items().size() >= config.getMinItems()) {
+					state(config, FetchTier.HTTP).success();
+					return result;
+				}
+			}
+		} catch (RuntimeException ex) {
+			boolean blocked = ex instanceof OliveYoungRankingClient.HttpStatusException status
+				&& status.isAccessDenied();
+			record(config, FetchTier.HTTP, blocked ? "probe-blocked" : "probe-failed");
+			if (blocked || remaining.isEmpty()) {
+				throw ex;
+			}
+			log.debug("HTTP probe failed for {}, trying the remaining tiers", config.getSource(), ex);
+		}
+		return remaining.isEmpty() ? result : fetch(config, remaining, result);
+	}
+
+	private FetchResult fetch(SourceConfig config, List<FetchTier> tiers, FetchResult earlierResult) {
+		RuntimeException lastError = null;
+		FetchResult lastResult = earlierResult;
+
+		for (int i = 0; i < tiers.size(); i++) {
+			FetchTier tier = tiers.get(i);
+			boolean lastTier = i == tiers.size() - 1;
+			TierState state = state(config, tier);
+			if (!lastTier && state.shouldSkip(properties)) {
+				record(config, tier, "skipped");
+				continue;
+			}
+
+			try {
+				FetchResult result = tier == FetchTier.BROWSER && config.isTabCapture()
+					? captureTabs(config)
+					: single(config, tier);
+				List<ParsedRankingItem> items = result.items();
+				if (items.size() >= config.getMinItems()) {
+					state.success();
+					record(config, tier, "success");
+					return result;
+				}
+				state.failure();
+				record(config, tier, "invalid");
+				log.debug("Tier {} returned {} items for {}, escalating", tier, items.size(), config.getSource());
+				lastResult = result;
+			} catch (OliveYoungBrowserClient.AccessDeniedException ex) {
+				state.failure();
+				record(config, tier, "blocked");
+				throw ex;
+			} catch (BrowserBudgetExhaustedException ex) {
+				record(config, tier, "budget");
+				if (lastTier) {
+					throw ex;
+				}
+				log.debug("No browser slot for {}, trying the next tier", config.getSource());
+				lastError = ex;
+			} catch (RuntimeException ex) {
+				state.failure();
+				record(config, tier, "error");
+				if (lastTier) {
+					throw ex;
+				}
+				log.debug("Tier {} failed for {}, escalating", tier, config.getSource(), ex);
+				lastError = ex;
+			}
+		}
+
+		if (lastResult != null) {
+			return lastResult;
+		}
+		throw lastError == null ? new IllegalStateException("no fetch tier attempted") : lastError;
+	}
+
+	private FetchResult single(SourceConfig config, FetchTier tier) {
+		SourceResponse response = switch (tier) {
+			case HTTP -> httpClient.fetch(config);
+			case BROWSER -> withinBrowserBudget(config, () -> browserClient.fetchRendered(config));
+		};
+		return new FetchResult(tier, response, parse(response, config));
+	}
+
+	/**
+	 * One browser capture of all tabs. Items are tagged with the category of their tab; the combined response
+	 * points at the main list and carries the stats of the slowest tab.
+	 */
+	private FetchResult captureTabs(SourceConfig config) {
+		List<OliveYoungBrowserClient.CapturedTab> tabs =
+			withinBrowserBudget(config, () -> browserClient.captureTabs(config));
+		List<ParsedRankingItem> items = new ArrayList<>();
+		FetchStats slowest = FetchStats.empty();
+		for (OliveYoungBrowserClient.CapturedTab tab : tabs) {
+			List<ParsedRankingItem> parsed = parse(tab.response(), config);
+			for (ParsedRankingItem item : parsed) {
+				items.add(item.withCategory(tab.category()));
+			}
+			meterRegistry.counter("oyrank.fetch.category.items", "source", config.getSource().getCode(),
+				"category", tab.category()).increment(parsed.size());
+			if (tab.response().getStats().getWaitMillis() >= slowest.getWaitMillis()) {
+				slowest = tab.response().getStats();
+			}
+		}
+		SourceResponse main = tabs.get(0).response();
+		SourceResponse combined = new SourceResponse(main.getContentType(), "", config.resolveUrl(), slowest);
+		return new FetchResult(FetchTier.BROWSER, combined, items);
+	}
+
+	private <T> T withinBrowserBudget(SourceConfig config, Supplier<T> render) {
+		try {
+			if (!browserBudget.tryAcquire(browserWaitMillis, TimeUnit.MILLISECONDS)) {
+				throw new BrowserBudgetExhaustedException(config.getSource().getCode());
+			}
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("interrupted while waiting for a browser slot", ex);
+		}
+		try {
+			return render.get();
+		} finally {
+			browserBudget.release();
+		}
+	}
+
+	private List<ParsedRankingItem> parse(SourceResponse response, SourceConfig config) {
+		if (response.hasBytes()) {
+			return parser.parse(response.getContentType(), response.getBytes(), config.getHtmlParser());
+		}
+		return parser.parse(response.getContentType(), response.getBody(), config.getHtmlParser());
+	}
+
+	private TierState state(SourceConfig config, FetchTier tier) {
+		return states.computeIfAbsent(config.getSource().getCode() + "|" + tier.name(), key -> {
+			TierState state = new TierState();
+			Gauge.builder("oyrank.fetch.tier.success.ratio", state, TierState::successRatio)
+				.tag("source", config.getSource().getCode())
+				.tag("tier", tier.name())
+				.register(meterRegistry);
+			return state;
+		});
+	}
+
+	private void record(SourceConfig config, FetchTier tier, String outcome) {
+		meterRegistry.counter(
+			"oyrank.fetch.tier",
+			"source", config.getSource().getCode(),
+			"tier", tier.name(),
+			"outcome", outcome
+		).increment();
+	}
+
+	public record FetchResult(FetchTier tier, SourceResponse response, List<ParsedRankingItem> items) {
+	}
+
+	/**
+	 * No browser slot became free in time. Not counted against the tier: the page was never requested.
+	 */
+	public static class BrowserBudgetExhaustedException extends RuntimeException {
+		public BrowserBudgetExhaustedException(String source) {
+			super("browser budget exhausted for " + source);
+		}
+	}
+
+	private static final class TierState {
+		private final AtomicLong successes = new AtomicLong();
+		private final AtomicLong failures = new AtomicLong();
+		private int consecutiveFailures;
+		private int skipped;
+
+		private synchronized boolean shouldSkip(OyRankProperties.FetchProperties properties) {
+			if (consecutiveFailures < Math.max(1, properties.getSkipAfterFailures())) {
+				return false;
+			}
+			if (skipped >= properties.getProbeEvery()) {
+				skipped = 0;
+				return false;
+			}
+			skipped++;
+			return true;
+		}
+
+		private synchronized void success() {
+			successes.incrementAndGet();
+			consecutiveFailures = 0;
+			skipped = 0;
+		}
+
+		private synchronized void failure() {
+			failures.incrementAndGet();
+			consecutiveFailures++;
+		}
+
+		private double successRatio() {
+			long success = successes.get();
+			long total = success + failures.get();
+			return total == 0 ? 0.0 : (double) success / total;
+		}
+	}
+}
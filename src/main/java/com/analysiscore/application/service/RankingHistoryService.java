@@ -0,0 +1,242 @@
+package com.analysiscore.application.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.analysiscore.application.dto.RankingDTO;
+import com.analysiscore.model.SnapshotStatus;
+import com.analysiscore.model.SourceType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Range reads over {@code ranking_snapshot}/{@code ranking_item} ordered by {@code (hour_bucket_at, id)}.
+ * Pages use a keyset cursor instead of OFFSET; the NDJSON stream walks a forward-only JDBC cursor and writes one
+ * snapshot per line, so memory stays flat regardless of the range width.
+ */
+@Service
+public class RankingHistoryService {
+	public static final int MAX_PAGE_SIZE = 500;
+	private static final int STREAM_FETCH_SIZE = 500;
+	private static final String SNAPSHOT_COLUMNS =
+		"s.id, s.source, s.captured_at, s.hour_bucket_at, s.hour_bucket_key, s.status, s.item_count, "
+			+ "s.base_snapshot_id";
+	private static final String ITEM_COLUMNS =
+		"i.category, i.rank_value, i.product_id, b.name AS brand_name, p.product_name, i.price, p.product_url, "
+			+ "p.image_url";
+	// The main list first, then each category in code order.
+	private static final String ITEM_ORDER = "CASE WHEN i.category = 'ALL' THEN 0 ELSE 1 END, i.category, i.rank_value";
+	private static final String PRODUCT_JOINS =
+		" LEFT JOIN product p ON p.id = i.product_id LEFT JOIN brand b ON b.id = p.brand_id";
+	private static final String RANGE_PREDICATE =
+		"s.source = :source AND s.hour_bucket_at >= :from AND s.hour_bucket_at < :to";
+	private static final String KEYSET_PREDICATE =
+		" AND (s.hour_bucket_at > :afterAt OR (s.hour_bucket_at = :afterAt AND s.id > :afterId))";
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+	private final NamedParameterJdbcTemplate streamingJdbcTemplate;
+	private final ObjectMapper objectMapper;
+
+	public RankingHistoryService(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+		JdbcTemplate streaming = new JdbcTemplate(jdbcTemplate.getDataSource());
+		streaming.setFetchSize(STREAM_FETCH_SIZE);
+		this.jdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+		this.streamingJdbcTemplate = new NamedParameterJdbcTemplate(streaming);
+		this.objectMapper = objectMapper;
+	}
+
+	@Transactional(readOnly = true)
+	public RankingDTO.SnapshotPageResponse page(SourceType source,
+		OffsetDateTime from,
+		OffsetDateTime to,
+		String cursor,
+		int limit) {
+		validateRange(from, to);
+		int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+		MapSqlParameterSource params = rangeParams(source, from, to).addValue("limit", pageSize);
+		String sql = "SELECT " + SNAPSHOT_COLUMNS + " FROM ranking_snapshot s WHERE " + RANGE_PREDICATE;
+		if (cursor != null && !cursor.isBlank()) {
+			Cursor after = Cursor.decode(cursor);
+			sql += KEYSET_PREDICATE;
+			params.addValue("afterAt", after.hourBucketAt()).addValue("afterId", after.id());
+		}
+		sql += " ORDER BY s.hour_bucket_at, s.id LIMIT :limit";
+
+		Map<Long, SnapshotBuilder> snapshots = new LinkedHashMap<>();
+		jdbcTemplate.query(sql, params, (RowCallbackHandler) rs -> {
+			SnapshotBuilder builder = new SnapshotBuilder(rs);
+			snapshots.put(builder.id, builder);
+		});
+		if (snapshots.isEmpty()) {
+			return new RankingDTO.SnapshotPageResponse(List.of(), null);
+		}
+
+		// UNCHANGED snapshots share the items of their base snapshot.
+		Map<Long, List<SnapshotBuilder>> byItemSnapshot = new HashMap<>();
+		for (SnapshotBuilder builder : snapshots.values()) {
+			byItemSnapshot.computeIfAbsent(builder.itemSnapshotId, key -> new ArrayList<>()).add(builder);
+		}
+		jdbcTemplate.query(
+			"SELECT i.snapshot_id, " + ITEM_COLUMNS + " FROM ranking_item i" + PRODUCT_JOINS
+				+ " WHERE i.snapshot_id IN (:ids) ORDER BY i.snapshot_id, " + ITEM_ORDER,
+			new MapSqlParameterSource("ids", byItemSnapshot.keySet()),
+			(RowCallbackHandler) rs -> {
+				for (SnapshotBuilder builder : byItemSnapshot.get(rs.getLong("snapshot_id"))) {
+					builder.addItem(rs);
+				}
+			}
+		);
+
+		List<RankingDTO.SnapshotResponse> page = new ArrayList<>(snapshots.size());
+		SnapshotBuilder last = null;
+		for (SnapshotBuilder builder : snapshots.values()) {
+			page.add(builder.build());
+			last = builder;
+		}
+		String nextCursor = page.size() < pageSize ? null : new Cursor(last.hourBucketAt, last.id).encode();
+		return new RankingDTO.SnapshotPageResponse(page, nextCursor);
+	}
+
+	/**
+	 * Writes every snapshot in the range as one JSON line. Runs in a read-only transaction so the Postgres driver
+	 * honours the fetch size with a server-side cursor instead of buffering the whole result.
+	 */
+	@Transactional(readOnly = true)
+	public void stream(SourceType source, OffsetDateTime from, OffsetDateTime to, OutputStream output) {
+		validateRange(from, to);
+		String sql = "SELECT " + SNAPSHOT_COLUMNS + ", " + ITEM_COLUMNS
+			+ " FROM ranking_snapshot s"
+			+ " LEFT JOIN ranking_item i ON i.snapshot_id = COALESCE(s.base_snapshot_id, s.id)"
+			+ PRODUCT_JOINS
+			+ " WHERE " + RANGE_PREDICATE
+			+ " ORDER BY s.hour_bucket_at, s.id, " + ITEM_ORDER;
+
+		SnapshotBuilder[] current = new SnapshotBuilder[1];
+		streamingJdbcTemplate.query(sql, rangeParams(source, from, to), (RowCallbackHandler) rs -> {
+			long id = rs.getLong("id");
+			if (current[0] == null || current[0].id != id) {
+				if (current[0] != null) {
+					writeLine(output, current[0].build());
+				}
+				current[0] = new SnapshotBuilder(rs);
+			}
+			rs.getInt("rank_value");
+			if (!rs.wasNull()) {
+				current[0].addItem(rs);
+			}
+		});
+		if (current[0] != null) {
+			writeLine(output, current[0].build());
+		}
+	}
+
+	private void writeLine(OutputStream output, RankingDTO.SnapshotResponse snapshot) {
+		try {
+			output.write(objectMapper.writeValueAsBytes(snapshot));
+			output.write('\n');
+		} catch (IOException ex) {
+			throw new UncheckedIOException("failed to write snapshot " + snapshot.id(), ex);
+		}
+	}
+
+	private void validateRange(OffsetDateTime from, OffsetDateTime to) {
+		if (!from.isBefore(to)) {
+			throw new IllegalArgumentException("from must be before to");
+		}
+	}
+
+	private MapSqlParameterSource rangeParams(SourceType source, OffsetDateTime from, OffsetDateTime to) {
+		return new MapSqlParameterSource()
+			.addValue("source", source.getCode())
+			.addValue("from", from)
+			.addValue("to", to);
+	}
+
+	private record Cursor(OffsetDateTime hourBucketAt, long id) {
+
+		private String encode() {
+			String raw = hourBucketAt.toInstant() + "|" + id;
+			return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+		}
+
+		private static Cursor decode(String cursor) {
+			try {
+				String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+				int separator = raw.indexOf('|');
+				Instant at = Instant.parse(raw.substring(0, separator));
+				return new Cursor(at.atOffset(ZoneOffset.UTC), Long.parseLong(raw.substring(separator + 1)));
+			} catch (RuntimeException ex) {
+				throw new IllegalArgumentException("invalid cursor", ex);
+			}
+		}
+	}
+
+	private static final class SnapshotBuilder {
+		private final long id;
+		private final long itemSnapshotId;
+		private final SourceType source;
+		private final OffsetDateTime capturedAt;
+		private final OffsetDateTime hourBucketAt;
+		private final String hourBucketKey;
+		private final SnapshotStatus status;
+		private final int itemCount;
+		private final List<RankingDTO.ItemResponse> items = new ArrayList<>();
+
+		private SnapshotBuilder(ResultSet rs) throws SQLException {
+			this.id = rs.getLong("id");
+			this.source = SourceType.valueOf(rs.getString("source"));
+			this.capturedAt = rs.getObject("captured_at", OffsetDateTime.class);
+			this.hourBucketAt = rs.getObject("hour_bucket_at", OffsetDateTime.class);
+			this.hourBucketKey = rs.getString("hour_bucket_key");
+			this.status = SnapshotStatus.valueOf(rs.getString("status"));
+			this.itemCount = rs.getInt("item_count");
+			long baseSnapshotId = rs.getLong("base_snapshot_id");
+			this.itemSnapshotId = rs.wasNull() ? id : baseSnapshotId;
+		}
+
+		private void addItem(ResultSet rs) throws SQLException {
+			items.add(new RankingDTO.ItemResponse(
+				rs.getString("category"),
+				rs.getInt("rank_value"),
+				rs.getLong("product_id"),
+				rs.getString("brand_name"),
+				rs.getString("product_name"),
+				rs.getLong("price"),
+				rs.getString("product_url"),
+				rs.getString("image_url")
+			));
+		}
+
+		private RankingDTO.SnapshotResponse build() {
+			return new RankingDTO.SnapshotResponse(
+				id,
+				source,
+				capturedAt,
+				hourBucketAt,
+				hourBucketKey,
+				status,
+				itemCount,
+				items
+			);
+		}
+	}
+}
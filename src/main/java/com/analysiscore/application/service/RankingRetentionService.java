@@ -0,0 +1,220 @@
+package com.analysiscore.application.service;
+
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.TreeSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.analysiscore.config.OyRankProperties;
+import com.analysiscore.infrastructure.persistence.MonthlyPartitionManager;
+import com.analysiscore.model.SourceType;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Keeps the monthly partitions of the raw tables bounded. Months older than {@code oyrank.retention.rawMonths} are
+ * rolled up into {@code product_rank_hourly} and their {@code ranking_snapshot}, {@code ranking_item} and
+ * {@code rank_change} partitions dropped; hourly months older than {@code hourlyMonths} are rolled up into
+ * {@code product_rank_daily} and dropped the same way. Each month is rolled up and dropped in one transaction.
+ * Partitions only exist on Postgres; elsewhere nothing is rolled up or dropped.
+ */
+@Service
+public class RankingRetentionService {
+	private static final Logger log = LoggerFactory.getLogger(RankingRetentionService.class);
+	// Dependants first: items and changes of a month go before its snapshots.
+	private static final List<String> RAW_TABLES = List.of("ranking_item", "rank_change", "ranking_snapshot");
+	private static final String HOURLY_TABLE = "product_rank_hourly";
+
+	private static final String HEIRS_SQL = "SELECT DISTINCT ON (base_snapshot_id) "
+		+ "base_snapshot_id, id, hour_bucket_at FROM ranking_snapshot "
+		+ "WHERE hour_bucket_at >= :to AND base_snapshot_id IN "
+		+ "(SELECT id FROM ranking_snapshot WHERE hour_bucket_at >= :from AND hour_bucket_at < :to) "
+		+ "ORDER BY base_snapshot_id, hour_bucket_at, id";
+	private static final String COPY_ITEMS_SQL = "INSERT INTO ranking_item "
+		+ "(snapshot_id, category, rank_value, product_id, price, hour_bucket_at) "
+		+ "SELECT :heirId, category, rank_value, product_id, price, :heirBucketAt FROM ranking_item "
+		+ "WHERE snapshot_id = :baseId AND hour_bucket_at >= :from AND hour_bucket_at < :to";
+	private static final String DETACH_HEIR_SQL = "UPDATE ranking_snapshot SET base_snapshot_id = NULL "
+		+ "WHERE id = :heirId AND hour_bucket_at = :heirBucketAt";
+	private static final String REPOINT_SQL = "UPDATE ranking_snapshot SET base_snapshot_id = :heirId "
+		+ "WHERE base_snapshot_id = :baseId AND hour_bucket_at >= :to";
+	private static final String MERGE_STATS = "ON CONFLICT (source, product_id, bucket_at) DO UPDATE SET "
+		+ "min_rank = LEAST(t.min_rank, EXCLUDED.min_rank), max_rank = GREATEST(t.max_rank, EXCLUDED.max_rank), "
+		+ "avg_rank = (t.avg_rank * t.samples + EXCLUDED.avg_rank * EXCLUDED.samples) "
+		+ "/ (t.samples + EXCLUDED.samples), "
+		+ "min_price = LEAST(t.min_price, EXCLUDED.min_price), max_price = GREATEST(t.max_price, EXCLUDED.max_price), "
+		+ "avg_price = (t.avg_price * t.samples + EXCLUDED.avg_price * EXCLUDED.samples) "
+		+ "/ (t.samples + EXCLUDED.samples), "
+		+ "samples = t.samples + EXCLUDED.samples";
+	// Buckets are truncated in the source offset; :shift is that offset in seconds.
+	private static final String ROLLUP_HOURLY_SQL = "INSERT INTO product_rank_hourly AS t "
+		+ "(source, product_id, bucket_at, samples, min_rank, avg_rank, max_rank, min_price, avg_price, max_price) "
+		+ "SELECT source, product_id, bucket_at, COUNT(*), MIN(rank_value), AVG(rank_value), MAX(rank_value), "
+		+ "MIN(price), AVG(price), MAX(price) FROM ("
+		+ "SELECT s.source, i.product_id, i.rank_value, i.price, "
+		+ "(date_trunc('hour', (s.hour_bucket_at AT TIME ZONE 'UTC') + :shift * INTERVAL '1 second') "
+		+ "- :shift * INTERVAL '1 second') AT TIME ZONE 'UTC' AS bucket_at "
+		+ "FROM ranking_snapshot s "
+		+ "JOIN ranking_item i ON i.snapshot_id = COALESCE(s.base_snapshot_id, s.id) AND i.category = 'ALL' "
+		+ "WHERE s.source = :source AND s.hour_bucket_at >= :from AND s.hour_bucket_at < :to "
+		+ "AND s.status IN ('SUCCESS', 'UNCHANGED')"
+		+ ") r GROUP BY source, product_id, bucket_at "
+		+ MERGE_STATS;
+	private static final String ROLLUP_DAILY_SQL = "INSERT INTO product_rank_daily AS t "
+		+ "(source, product_id, bucket_at, samples, min_rank, avg_rank, max_rank, min_price, avg_price, max_price) "
+		+ "SELECT source, product_id, day_at, SUM(samples), MIN(min_rank), SUM(avg_rank * samples) / SUM(samples), "
+		+ "MAX(max_rank), MIN(min_price), SUM(avg_price * samples) / SUM(samples), MAX(max_price) FROM ("
+		+ "SELECT h.*, "
+		+ "(date_trunc('day', (h.bucket_at AT TIME ZONE 'UTC') + :shift * INTERVAL '1 second') "
+		+ "- :shift * INTERVAL '1 second') AT TIME ZONE 'UTC' AS day_at "
+		+ "FROM product_rank_hourly h "
+		+ "WHERE h.source = :source AND h.bucket_at >= :from AND h.bucket_at < :to"
+		+ ") r GROUP BY source, product_id, day_at "
+		+ MERGE_STATS;
+
+	private final NamedParameterJdbcTemplate namedJdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final MonthlyPartitionManager partitionManager;
+	private final OyRankProperties properties;
+	private final SourceRegistry sourceRegistry;
+	private final MeterRegistry meterRegistry;
+
+	public RankingRetentionService(JdbcTemplate jdbcTemplate,
+		PlatformTransactionManager transactionManager,
+		MonthlyPartitionManager partitionManager,
+		OyRankProperties properties,
+		SourceRegistry sourceRegistry,
+		MeterRegistry meterRegistry) {
+		this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.partitionManager = partitionManager;
+		this.properties = properties;
+		this.sourceRegistry = sourceRegistry;
+		this.meterRegistry = meterRegistry;
+	}
+
+	/**
+	 * Creates the partitions of the current month and the next {@code premakeMonths}, so inserts never find their
+	 * month missing.
+	 */
+	public void ensurePartitions(OffsetDateTime now) {
+		if (!partitionManager.isSupported()) {
+			return;
+		}
+		YearMonth current = YearMonth.from(now.withOffsetSameInstant(ZoneOffset.UTC));
+		int ahead = Math.max(1, properties.getRetention().getPremakeMonths());
+		for (int i = 0; i <= ahead; i++) {
+			for (String table : RAW_TABLES) {
+				partitionManager.ensure(table, current.plusMonths(i));
+			}
+		}
+	}
+
+	public void apply(OffsetDateTime now) {
+		if (!partitionManager.isSupported()) {
+			log.debug("Retention skipped: the database has no monthly partitions");
+			return;
+		}
+		ensurePartitions(now);
+		if (!properties.getRetention().isEnabled()) {
+			return;
+		}
+		OyRankProperties.RetentionProperties retention = properties.getRetention();
+		YearMonth current = YearMonth.from(now.withOffsetSameInstant(ZoneOffset.UTC));
+
+		YearMonth rawCutoff = current.minusMonths(Math.max(1, retention.getRawMonths()));
+		TreeSet<YearMonth> rawMonths = new TreeSet<>();
+		for (String table : RAW_TABLES) {
+			partitionManager.months(table).stream()
+				.filter(month -> month.isBefore(rawCutoff))
+				.forEach(rawMonths::add);
+		}
+		for (YearMonth month : rawMonths) {
+			partitionManager.ensure(HOURLY_TABLE, month);
+			transactionTemplate.executeWithoutResult(status -> rollUpRawMonth(month));
+		}
+
+		int hourlyMonths = Math.max(retention.getRawMonths(), retention.getHourlyMonths());
+		YearMonth hourlyCutoff = current.minusMonths(Math.max(1, hourlyMonths));
+		for (YearMonth month : partitionManager.months(HOURLY_TABLE)) {
+			if (month.isBefore(hourlyCutoff)) {
+				transactionTemplate.executeWithoutResult(status -> rollUpHourlyMonth(month));
+			}
+		}
+	}
+
+	private void rollUpRawMonth(YearMonth month) {
+		MapSqlParameterSource range = range(month);
+		int heirs = keepUnchangedItems(range);
+		int rows = 0;
+		for (SourceType source : sourceRegistry.sources()) {
+			rows += namedJdbcTemplate.update(ROLLUP_HOURLY_SQL, sourceParams(range, source));
+		}
+		for (String table : RAW_TABLES) {
+			drop(table, month);
+		}
+		log.info("Rolled up raw snapshots month={} hourlyRows={} heirs={}", month, rows, heirs);
+	}
+
+	private void rollUpHourlyMonth(YearMonth month) {
+		MapSqlParameterSource range = range(month);
+		int rows = 0;
+		for (SourceType source : sourceRegistry.sources()) {
+			rows += namedJdbcTemplate.update(ROLLUP_DAILY_SQL, sourceParams(range, source));
+		}
+		drop(HOURLY_TABLE, month);
+		log.info("Rolled up hourly ranks month={} dailyRows={}", month, rows);
+	}
+
+	/**
+	 * UNCHANGED snapshots after {@code month} may still point at a base inside it. The earliest of them takes a copy
+	 * of the base's items and becomes the base of the others, so no snapshot that is kept loses its items.
+	 */
+	private int keepUnchangedItems(MapSqlParameterSource range) {
+		List<Heir> heirs = namedJdbcTemplate.query(HEIRS_SQL, range, (rs, rowNum) -> new Heir(
+			rs.getLong("base_snapshot_id"),
+			rs.getLong("id"),
+			rs.getObject("hour_bucket_at", OffsetDateTime.class)
+		));
+		for (Heir heir : heirs) {
+			MapSqlParameterSource params = new MapSqlParameterSource(range.getValues())
+				.addValue("baseId", heir.baseId())
+				.addValue("heirId", heir.id())
+				.addValue("heirBucketAt", heir.hourBucketAt());
+			namedJdbcTemplate.update(COPY_ITEMS_SQL, params);
+			namedJdbcTemplate.update(DETACH_HEIR_SQL, params);
+			namedJdbcTemplate.update(REPOINT_SQL, params);
+		}
+		return heirs.size();
+	}
+
+	private void drop(String table, YearMonth month) {
+		partitionManager.drop(table, month);
+		meterRegistry.counter("oyrank.retention.partitions.dropped", "table", table).increment();
+	}
+
+	private MapSqlParameterSource range(YearMonth month) {
+		return new MapSqlParameterSource()
+			.addValue("from", month.atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC))
+			.addValue("to", month.plusMonths(1).atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC));
+	}
+
+	private MapSqlParameterSource sourceParams(MapSqlParameterSource range, SourceType source) {
+		return new MapSqlParameterSource(range.getValues())
+			.addValue("source", source.getCode())
+			.addValue("shift", sourceRegistry.offsetOf(source).getTotalSeconds());
+	}
+
+	private record Heir(long baseId, long id, OffsetDateTime hourBucketAt) {
+	}
+}
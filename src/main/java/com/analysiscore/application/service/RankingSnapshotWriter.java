@@ -0,0 +1,118 @@
+package com.analysiscore.application.service;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.analysiscore.config.OyRankProperties;
+import com.analysiscore.domain.entity.RankingItem;
+import com.analysiscore.domain.entity.RankingSnapshot;
+import com.analysiscore.domain.repository.ProductRepository;
+import com.analysiscore.domain.repository.RankingItemRepository;
+import com.analysiscore.domain.repository.RankingSnapshotRepository;
+import com.analysiscore.infrastructure.persistence.CopyRankingItemWriter;
+import com.analysiscore.infrastructure.persistence.JdbcBatchRankingItemWriter;
+import com.analysiscore.infrastructure.persistence.JdbcSnapshotUpserter;
+import com.analysiscore.model.ResolvedRankingItem;
+import com.analysiscore.model.SnapshotStatus;
+import com.analysiscore.model.TimeBucket;
+
+/**
+ * Short write transaction for a collected snapshot. Fetching and parsing happen before this is called, so a
+ * pooled connection is only held for the inserts. Each time bucket has one row: a retry replaces a
+ * failed attempt together with its items, and a complete snapshot is kept as is. A snapshot with a
+ * {@code baseSnapshotId} is an UNCHANGED heartbeat and writes no items.
+ */
+@Component
+public class RankingSnapshotWriter {
+	private final RankingSnapshotRepository snapshotRepository;
+	private final JdbcSnapshotUpserter snapshotUpserter;
+	private final RankingItemRepository rankingItemRepository;
+	private final ProductRepository productRepository;
+	private final JdbcBatchRankingItemWriter batchItemWriter;
+	private final CopyRankingItemWriter copyItemWriter;
+	private final OyRankProperties.PersistenceProperties properties;
+
+	public RankingSnapshotWriter(RankingSnapshotRepository snapshotRepository,
+		JdbcSnapshotUpserter snapshotUpserter,
+		RankingItemRepository rankingItemRepository,
+		ProductRepository productRepository,
+		JdbcBatchRankingItemWriter batchItemWriter,
+		CopyRankingItemWriter copyItemWriter,
+		OyRankProperties properties) {
+		this.snapshotRepository = snapshotRepository;
+		this.snapshotUpserter = snapshotUpserter;
+		this.rankingItemRepository = rankingItemRepository;
+		this.productRepository = productRepository;
+		this.batchItemWriter = batchItemWriter;
+		this.copyItemWriter = copyItemWriter;
+		this.properties = properties.getPersistence();
+	}
+
+	@Transactional
+	public Result write(TimeBucket bucket,
+						OffsetDateTime capturedAt,
+						String rawUrl,
+						SnapshotStatus status,
+						String errorMessage,
+						List<ResolvedRankingItem> items,
+						String contentHash,
+						Long baseSnapshotId) {
+		boolean written = snapshotUpserter.upsert(
+			bucket,
+			capturedAt,
+			rawUrl,
+			status,
+			errorMessage,
+			items.size(),
+			contentHash,
+			baseSnapshotId
+		);
+		RankingSnapshot saved = snapshotRepository.findByBucketKey(bucket.getKey())
+			.orElseThrow(() -> new IllegalStateException("snapshot missing after upsert: " + bucket));
+
+		if (!written) {
+			return new Result(saved, false);
+		}
+		rankingItemRepository.deleteBySnapshotId(saved.getId());
+		if (baseSnapshotId != null) {
+			// Unchanged content: the items stay with the base snapshot, which is only marked as seen again.
+			snapshotRepository.touchLastSeen(baseSnapshotId, capturedAt);
+			return new Result(saved, true);
+		}
+		if (items.isEmpty()) {
+			return new Result(saved, true);
+		}
+
+		switch (properties.getItemWriter()) {
+			case JDBC_BATCH -> batchItemWriter.write(saved.getId(), saved.getHourBucketAt(), items);
+			case COPY -> copyItemWriter.write(saved.getId(), saved.getHourBucketAt(), items);
+			case JPA -> saveItemEntities(saved, items);
+		}
+		return new Result(saved, true);
+	}
+
+	private void saveItemEntities(RankingSnapshot saved, List<ResolvedRankingItem> items) {
+		List<RankingItem> itemEntities = new ArrayList<>();
+		for (ResolvedRankingItem item : items) {
+			RankingItem itemEntity = RankingItem.of(
+				saved,
+				item.category(),
+				item.rank(),
+				productRepository.getReferenceById(item.productId()),
+				item.price()
+			);
+			itemEntities.add(itemEntity);
+		}
+		rankingItemRepository.saveAll(itemEntities);
+	}
+
+	/**
+	 * {@code written} is {@code false} when the bucket already had a successful snapshot, which is returned instead.
+	 */
+	public record Result(RankingSnapshot snapshot, boolean written) {
+	}
+}
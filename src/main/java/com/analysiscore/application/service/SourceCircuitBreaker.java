@@ -0,0 +1,231 @@
+package com.analysiscore.application.service;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.analysiscore.config.OyRankProperties;
+import com.analysiscore.infrastructure.OliveYoungBrowserClient;
+import com.analysiscore.infrastructure.OliveYoungRankingClient;
+import com.analysiscore.model.SourceType;
+import com.microsoft.playwright.TimeoutError;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Stops collecting a source that keeps failing. Failures in a row of the same {@link FailureKind} are counted
+ * against that kind's threshold; a success or a failure of another kind starts the count over. Reaching a
+ * threshold opens the breaker for {@code oyrank.breaker.cooldownMillis}. While it is
+ * open collections are skipped without fetching or writing a snapshot. After the cooldown one collection runs as
+ * a half-open probe: success closes the breaker, failure opens it again for twice the previous cooldown, up to
+ * {@code maxCooldownMillis}. State is per node and starts closed.
+ */
+@Component
+public class SourceCircuitBreaker {
+	private static final Logger log = LoggerFactory.getLogger(SourceCircuitBreaker.class);
+
+	private final OyRankProperties.BreakerProperties properties;
+	private final MeterRegistry meterRegistry;
+	private final Clock clock;
+	private final Map<SourceType, Circuit> circuits = new ConcurrentHashMap<>();
+
+	@Autowired
+	public SourceCircuitBreaker(OyRankProperties properties, MeterRegistry meterRegistry) {
+		this(properties, meterRegistry, Clock.systemUTC());
+	}
+
+	SourceCircuitBreaker(OyRankProperties properties, MeterRegistry meterRegistry, Clock clock) {
+		this.properties = properties.getBreaker();
+		this.meterRegistry = meterRegistry;
+		this.clock = clock;
+	}
+
+	/**
+	 * Decides whether {@code source} may be collected now. A {@link Permit#PROBE} must be followed by
+	 * {@link #onSuccess} or {@link #onFailure}, or the breaker stays half-open.
+	 */
+	public Permit tryAcquire(SourceType source) {
+		if (!properties.isEnabled()) {
+			return Permit.ALLOWED;
+		}
+		return circuit(source).tryAcquire(clock.instant());
+	}
+
+	public void onSuccess(SourceType source) {
+		if (properties.isEnabled()) {
+			circuit(source).onSuccess();
+		}
+	}
+
+	/**
+	 * Ends a permit whose collection said nothing about the source, such as one that found no free browser slot.
+	 * A half-open breaker lets the next collection probe again.
+	 */
+	public void onInconclusive(SourceType source) {
+		if (properties.isEnabled()) {
+			circuit(source).onInconclusive();
+		}
+	}
+
+	public void onFailure(SourceType source, FailureKind kind) {
+		if (!properties.isEnabled()) {
+			return;
+		}
+		meterRegistry.counter("oyrank.breaker.failures", "source", source.getCode(), "kind", kind.name())
+			.increment();
+		circuit(source).onFailure(kind, clock.instant());
+	}
+
+	public Map<SourceType, Snapshot> snapshots() {
+		Map<SourceType, Snapshot> snapshots = new LinkedHashMap<>();
+		circuits.forEach((source, circuit) -> snapshots.put(source, circuit.snapshot()));
+		return snapshots;
+	}
+
+	/**
+	 * Kind of a fetch failure, from the exception thrown by the fetch chain.
+	 */
+	public static FailureKind classify(Throwable failure) {
+		for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+			if (cause instanceof OliveYoungBrowserClient.AccessDeniedException) {
+				return FailureKind.BLOCKED;
+			}
+			if (cause instanceof OliveYoungRankingClient.HttpStatusException status && status.isAccessDenied()) {
+				return FailureKind.BLOCKED;
+			}
+			if (cause instanceof TimeoutException || cause instanceof TimeoutError) {
+				return FailureKind.TIMEOUT;
+			}
+		}
+		return FailureKind.ERROR;
+	}
+
+	private Circuit circuit(SourceType source) {
+		return circuits.computeIfAbsent(source, key -> {
+			Circuit circuit = new Circuit(key);
+			Gauge.builder("oyrank.breaker.state", circuit, c -> c.snapshot().state().ordinal())
+				.tag("source", key.getCode())
+				.register(meterRegistry);
+			return circuit;
+		});
+	}
+
+	private int threshold(FailureKind kind) {
+		int threshold = switch (kind) {
+			case BLOCKED -> properties.getBlockedThreshold();
+			case TIMEOUT -> properties.getTimeoutThreshold();
+			case EMPTY -> properties.getEmptyThreshold();
+			case ERROR -> properties.getErrorThreshold();
+		};
+		return Math.max(1, threshold);
+	}
+
+	private long cooldownMillis(int opens) {
+		long base = Math.max(1, properties.getCooldownMillis());
+		long max = Math.max(base, properties.getMaxCooldownMillis());
+		int doublings = Math.min(Math.max(0, opens - 1), 30);
+		return Math.min(max, base << doublings);
+	}
+
+	public enum State {
+		CLOSED,
+		HALF_OPEN,
+		OPEN
+	}
+
+	public enum Permit {
+		ALLOWED,
+		PROBE,
+		DENIED
+	}
+
+	public enum FailureKind {
+		BLOCKED,
+		TIMEOUT,
+		EMPTY,
+		ERROR
+	}
+
+	public record Snapshot(State state,
+		Map<FailureKind, Integer> consecutiveFailures,
+		FailureKind lastFailure,
+		int opens,
+		Instant openUntil) {
+	}
+
+	private final class Circuit {
+		private final SourceType source;
+		private final Map<FailureKind, Integer> failures = new EnumMap<>(FailureKind.class);
+		private State state = State.CLOSED;
+		private FailureKind lastFailure;
+		// Times opened since the last success; drives the exponential cooldown.
+		private int opens;
+		private Instant openUntil;
+		private boolean probing;
+
+		private Circuit(SourceType source) {
+			this.source = source;
+		}
+
+		private synchronized Permit tryAcquire(Instant now) {
+			if (state == State.CLOSED) {
+				return Permit.ALLOWED;
+			}
+			if (probing || now.isBefore(openUntil)) {
+				return Permit.DENIED;
+			}
+			transition(State.HALF_OPEN);
+			probing = true;
+			return Permit.PROBE;
+		}
+
+		private synchronized void onSuccess() {
+			failures.clear();
+			opens = 0;
+			probing = false;
+			if (state != State.CLOSED) {
+				openUntil = null;
+				transition(State.CLOSED);
+			}
+		}
+
+		private synchronized void onInconclusive() {
+			probing = false;
+		}
+
+		private synchronized void onFailure(FailureKind kind, Instant now) {
+			failures.keySet().removeIf(other -> other != kind);
+			int count = failures.merge(kind, 1, Integer::sum);
+			lastFailure = kind;
+			if (state == State.HALF_OPEN || (state == State.CLOSED && count >= threshold(kind))) {
+				probing = false;
+				opens++;
+				openUntil = now.plusMillis(cooldownMillis(opens));
+				transition(State.OPEN);
+				log.warn("Circuit opened source={} kind={} failures={} until={}", source, kind, count, openUntil);
+			}
+		}
+
+		private void transition(State next) {
+			state = next;
+			meterRegistry.counter("oyrank.breaker.transitions", "source", source.getCode(), "to", next.name())
+				.increment();
+		}
+
+		private synchronized Snapshot snapshot() {
+			Map<FailureKind, Integer> counts = Collections.unmodifiableMap(new EnumMap<>(failures));
+			return new Snapshot(state, counts, lastFailure, opens, openUntil);
+		}
+	}
+}
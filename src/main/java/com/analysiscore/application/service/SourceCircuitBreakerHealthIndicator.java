@@ -0,0 +1,36 @@
+package com.analysiscore.application.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Breaker state of every source collected since startup. Stays UP while a circuit is open: an open circuit is the
+ * application backing off a source, not the application being unhealthy.
+ */
+@Component("sourceBreakers")
+public class SourceCircuitBreakerHealthIndicator implements HealthIndicator {
+	private final SourceCircuitBreaker circuitBreaker;
+
+	public SourceCircuitBreakerHealthIndicator(SourceCircuitBreaker circuitBreaker) {
+		this.circuitBreaker = circuitBreaker;
+	}
+
+	@Override
+	public Health health() {
+		Health.Builder builder = Health.up();
+		circuitBreaker.snapshots().forEach((source, snapshot) -> {
+			Map<String, Object> details = new LinkedHashMap<>();
+			details.put("state", snapshot.state());
+			details.put("consecutiveFailures", snapshot.consecutiveFailures());
+			details.put("lastFailure", snapshot.lastFailure());
+			details.put("opens", snapshot.opens());
+			details.put("openUntil", snapshot.openUntil());
+			builder.withDetail(source.getCode(), details);
+		});
+		return builder.build();
+	}
+}
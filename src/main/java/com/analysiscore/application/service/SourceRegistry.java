@@ -0,0 +1,114 @@
+package com.analysiscore.application.service;
+
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.springframework.stereotype.Component;
+
+import com.analysiscore.config.OyRankProperties;
+import com.analysiscore.model.FetchTier;
+import com.analysiscore.model.RankingCategory;
+import com.analysiscore.model.SourceConfig;
+import com.analysiscore.model.SourceType;
+
+/**
+ * Sources declared under {@code oyrank.sources}, registered as {@link SourceType}s at startup. A disabled source
+ * stays registered so that its stored snapshots can still be read, but it is never collected.
+ */
+@Component
+public class SourceRegistry {
+	private static final Pattern CATEGORY_CODE = Pattern.compile("[A-Z][A-Z0-9_]{0,49}");
+
+	private final Map<SourceType, SourceConfig> configs;
+	private final List<SourceType> enabledSources;
+
+	public SourceRegistry(OyRankProperties properties) {
+		Map<SourceType, SourceConfig> configs = new LinkedHashMap<>();
+		List<SourceType> enabledSources = new ArrayList<>();
+		properties.getSources().forEach((key, sourceProps) -> {
+			String code = sourceProps.getCode() == null || sourceProps.getCode().isBlank()
+				? key.toUpperCase(Locale.ROOT)
+				: sourceProps.getCode();
+			SourceType source = SourceType.register(code, sourceProps.getId());
+			if (configs.put(source, toConfig(source, sourceProps)) != null) {
+				throw new IllegalStateException("source " + code + " is declared more than once");
+			}
+			if (sourceProps.isEnabled()) {
+				enabledSources.add(source);
+			}
+		});
+		this.configs = Collections.unmodifiableMap(configs);
+		this.enabledSources = List.copyOf(enabledSources);
+	}
+
+	public Set<SourceType> sources() {
+		return configs.keySet();
+	}
+
+	public List<SourceType> enabledSources() {
+		return enabledSources;
+	}
+
+	public SourceConfig config(SourceType source) {
+		SourceConfig config = configs.get(source);
+		if (config == null) {
+			throw new IllegalArgumentException("unsupported source: " + source);
+		}
+		return config;
+	}
+
+	public ZoneOffset offsetOf(SourceType source) {
+		return config(source).getOffset();
+	}
+
+	private static SourceConfig toConfig(SourceType source, OyRankProperties.SourceConfigProperties sourceProps) {
+		return new SourceConfig(
+			source,
+			sourceProps.getBaseUrl(),
+			sourceProps.getBestListPath(),
+			ZoneOffset.of(sourceProps.getOffset()),
+			sourceProps.getExtraction(),
+			sourceProps.getWaitStrategy(),
+			sourceProps.getMinItems(),
+			sourceProps.getTimeoutMillis(),
+			sourceProps.getTiers(),
+			sourceProps.getHtmlParser(),
+			sourceProps.getBucket(),
+			categories(source, sourceProps),
+			sourceProps.getMaxScrolls()
+		);
+	}
+
+	private static List<RankingCategory> categories(SourceType source,
+		OyRankProperties.SourceConfigProperties sourceProps) {
+		List<RankingCategory> categories = new ArrayList<>();
+		Set<String> codes = new HashSet<>();
+		for (OyRankProperties.CategoryProperties category : sourceProps.getCategories()) {
+			String code = category.getCode();
+			if (code == null || !CATEGORY_CODE.matcher(code).matches() || RankingCategory.ALL.equals(code)) {
+				throw new IllegalStateException("invalid category code for " + source + ": " + code);
+			}
+			if (category.getPath() == null || category.getPath().isBlank()) {
+				throw new IllegalStateException("category " + code + " of " + source + " has no path");
+			}
+			if (!codes.add(code)) {
+				throw new IllegalStateException("category " + code + " of " + source + " is declared more than once");
+			}
+			categories.add(new RankingCategory(code, category.getPath()));
+		}
+		if (!categories.isEmpty() && sourceProps.getTiers().contains(FetchTier.HTTP)) {
+			// The HTTP tier reads the main list only and would satisfy minItems without any category.
+			throw new IllegalStateException("source " + source + " declares categories, which only the BROWSER tier "
+				+ "captures; set tiers to BROWSER");
+		}
+		return categories;
+	}
+}
@@ -1,38 +1,93 @@
 package com.analysiscore.config;
 
-import java.util.Objects;
+import com.analysiscore.model.BucketGranularity;
+import com.analysiscore.model.ExtractionMode;
+import com.analysiscore.model.FetchTier;
+import com.analysiscore.model.HtmlParserMode;
+import com.analysiscore.model.ItemWriterMode;
+import com.analysiscore.model.WaitStrategy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 @ConfigurationProperties(prefix = "oyrank")
 public class OyRankProperties {
-    private final SourceProperties source = new SourceProperties();
+    private Map<String, SourceConfigProperties> sources = new LinkedHashMap<>();
     private final HttpProperties http = new HttpProperties();
+    private final BrowserProperties browser = new BrowserProperties();
+    private final FetchProperties fetch = new FetchProperties();
+    private final PersistenceProperties persistence = new PersistenceProperties();
+    private final LockProperties lock = new LockProperties();
+    private final RetentionProperties retention = new RetentionProperties();
+    private final CollectorProperties collector = new CollectorProperties();
+    private final ScheduleProperties schedule = new ScheduleProperties();
+    private final BreakerProperties breaker = new BreakerProperties();
 
-    public SourceProperties getSource() {
-        return source;
+    /**
+     * Collected sources by a free-form key; each entry names its {@code code} and stable {@code id}.
+     */
+    public Map<String, SourceConfigProperties> getSources() {
+        return sources;
+    }
+
+    public void setSources(Map<String, SourceConfigProperties> sources) {
+        this.sources = sources;
     }
 
     public HttpProperties getHttp() {
         return http;
     }
 
-    public static class SourceProperties {
-        private SourceConfigProperties kr = new SourceConfigProperties();
+    public BrowserProperties getBrowser() {
+        return browser;
+    }
 
-        public SourceConfigProperties getKr() {
-            return kr;
-        }
+    public FetchProperties getFetch() {
+        return fetch;
+    }
 
-        public void setKr(SourceConfigProperties kr) {
-            this.kr = Objects.requireNonNull(kr, "kr");
-        }
+    public PersistenceProperties getPersistence() {
+        return persistence;
+    }
+
+    public LockProperties getLock() {
+        return lock;
+    }
+
+    public RetentionProperties getRetention() {
+        return retention;
+    }
+
+    public CollectorProperties getCollector() {
+        return collector;
+    }
+
+    public ScheduleProperties getSchedule() {
+        return schedule;
+    }
+
+    public BreakerProperties getBreaker() {
+        return breaker;
     }
 
     public static class SourceConfigProperties {
         private String code;
+        private int id;
+        private boolean enabled = true;
         private String baseUrl;
         private String bestListPath;
         private String offset;
+        private ExtractionMode extraction = ExtractionMode.IN_PAGE;
+        private WaitStrategy waitStrategy = WaitStrategy.NETWORKIDLE;
+        private int minItems = 1;
+        private Long timeoutMillis;
+        private List<FetchTier> tiers = new ArrayList<>(List.of(FetchTier.HTTP, FetchTier.BROWSER));
+        private HtmlParserMode htmlParser = HtmlParserMode.JSOUP;
+        private BucketGranularity bucket = BucketGranularity.HOUR;
+        private List<CategoryProperties> categories = new ArrayList<>();
+        private int maxScrolls;
 
         public String getCode() {
             return code;
@@ -42,6 +97,22 @@ public class OyRankProperties {
             this.code = code;
         }
 
+        public int getId() {
+            return id;
+        }
+
+        public void setId(int id) {
+            this.id = id;
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
         public String getBaseUrl() {
             return baseUrl;
         }
@@ -65,11 +136,111 @@ public class OyRankProperties {
         public void setOffset(String offset) {
             this.offset = offset;
         }
+
+        public ExtractionMode getExtraction() {
+            return extraction;
+        }
+
+        public void setExtraction(ExtractionMode extraction) {
+            this.extraction = extraction;
+        }
+
+        public WaitStrategy getWaitStrategy() {
+            return waitStrategy;
+        }
+
+        public void setWaitStrategy(WaitStrategy waitStrategy) {
+            this.waitStrategy = waitStrategy;
+        }
+
+        public int getMinItems() {
+            return minItems;
+        }
+
+        public void setMinItems(int minItems) {
+            this.minItems = minItems;
+        }
+
+        public Long getTimeoutMillis() {
+            return timeoutMillis;
+        }
+
+        public void setTimeoutMillis(Long timeoutMillis) {
+            this.timeoutMillis = timeoutMillis;
+        }
+
+        public List<FetchTier> getTiers() {
+            return tiers;
+        }
+
+        public void setTiers(List<FetchTier> tiers) {
+            this.tiers = tiers;
+        }
+
+        public HtmlParserMode getHtmlParser() {
+            return htmlParser;
+        }
+
+        public void setHtmlParser(HtmlParserMode htmlParser) {
+            this.htmlParser = htmlParser;
+        }
+
+        public BucketGranularity getBucket() {
+            return bucket;
+        }
+
+        public void setBucket(BucketGranularity bucket) {
+            this.bucket = bucket;
+        }
+
+        /**
+         * Category tabs captured next to the main list, each in its own page of one browser context.
+         */
+        public List<CategoryProperties> getCategories() {
+            return categories;
+        }
+
+        public void setCategories(List<CategoryProperties> categories) {
+            this.categories = categories;
+        }
+
+        /**
+         * Times each captured page is scrolled to the bottom to load more items; 0 keeps the first render.
+         */
+        public int getMaxScrolls() {
+            return maxScrolls;
+        }
+
+        public void setMaxScrolls(int maxScrolls) {
+            this.maxScrolls = maxScrolls;
+        }
+    }
+
+    public static class CategoryProperties {
+        private String code;
+        private String path;
+
+        public String getCode() {
+            return code;
+        }
+
+        public void setCode(String code) {
+            this.code = code;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
     }
 
     public static class HttpProperties {
         private long timeoutMillis = 5000;
         private RetryProperties retry = new RetryProperties();
+        private BlockingProperties blocking = new BlockingProperties();
 
         public long getTimeoutMillis() {
             return timeoutMillis;
@@ -86,6 +257,53 @@ public class OyRankProperties {
         public void setRetry(RetryProperties retry) {
             this.retry = retry;
         }
+
+        public BlockingProperties getBlocking() {
+            return blocking;
+        }
+
+        public void setBlocking(BlockingProperties blocking) {
+            this.blocking = blocking;
+        }
+    }
+
+    public static class BlockingProperties {
+        private boolean enabled = true;
+        private List<String> resourceTypes = new ArrayList<>(List.of("image", "font", "media"));
+        private List<String> allowHosts = new ArrayList<>();
+        private List<String> denyHosts = new ArrayList<>();
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public List<String> getResourceTypes() {
+            return resourceTypes;
+        }
+
+        public void setResourceTypes(List<String> resourceTypes) {
+            this.resourceTypes = resourceTypes;
+        }
+
+        public List<String> getAllowHosts() {
+            return allowHosts;
+        }
+
+        public void setAllowHosts(List<String> allowHosts) {
+            this.allowHosts = allowHosts;
+        }
+
+        public List<String> getDenyHosts() {
+            return denyHosts;
+        }
+
+        public void setDenyHosts(List<String> denyHosts) {
+            this.denyHosts = denyHosts;
+        }
     }
 
     public static class RetryProperties {
@@ -108,4 +326,432 @@ public class OyRankProperties {
             this.backoffMillis = backoffMillis;
         }
     }
+
+    public static class BrowserProperties {
+        private int poolSize = 1;
+        private int maxUsesPerBrowser = 50;
+        private long acquireTimeoutMillis = 30000;
+        private boolean headless = true;
+        private boolean warmUp = true;
+
+        public int getPoolSize() {
+            return poolSize;
+        }
+
+        public void setPoolSize(int poolSize) {
+            this.poolSize = poolSize;
+        }
+
+        public int getMaxUsesPerBrowser() {
+            return maxUsesPerBrowser;
+        }
+
+        public void setMaxUsesPerBrowser(int maxUsesPerBrowser) {
+            this.maxUsesPerBrowser = maxUsesPerBrowser;
+        }
+
+        public long getAcquireTimeoutMillis() {
+            return acquireTimeoutMillis;
+        }
+
+        public void setAcquireTimeoutMillis(long acquireTimeoutMillis) {
+            this.acquireTimeoutMillis = acquireTimeoutMillis;
+        }
+
+        public boolean isHeadless() {
+            return headless;
+        }
+
+        public void setHeadless(boolean headless) {
+            this.headless = headless;
+        }
+
+        public boolean isWarmUp() {
+            return warmUp;
+        }
+
+        public void setWarmUp(boolean warmUp) {
+            this.warmUp = warmUp;
+        }
+    }
+
+    public static class FetchProperties {
+        private int skipAfterFailures = 3;
+        private int probeEvery = 6;
+
+        public int getSkipAfterFailures() {
+            return skipAfterFailures;
+        }
+
+        public void setSkipAfterFailures(int skipAfterFailures) {
+            this.skipAfterFailures = skipAfterFailures;
+        }
+
+        public int getProbeEvery() {
+            return probeEvery;
+        }
+
+        public void setProbeEvery(int probeEvery) {
+            this.probeEvery = probeEvery;
+        }
+    }
+
+    public static class PersistenceProperties {
+        private ItemWriterMode itemWriter = ItemWriterMode.JDBC_BATCH;
+        private int batchSize = 500;
+        private int productCacheSize = 10000;
+
+        public ItemWriterMode getItemWriter() {
+            return itemWriter;
+        }
+
+        public void setItemWriter(ItemWriterMode itemWriter) {
+            this.itemWriter = itemWriter;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getProductCacheSize() {
+            return productCacheSize;
+        }
+
+        public void setProductCacheSize(int productCacheSize) {
+            this.productCacheSize = productCacheSize;
+        }
+    }
+
+    public static class LockProperties {
+        private long leaseMillis = 600000;
+        private String owner;
+
+        public long getLeaseMillis() {
+            return leaseMillis;
+        }
+
+        public void setLeaseMillis(long leaseMillis) {
+            this.leaseMillis = leaseMillis;
+        }
+
+        /**
+         * Node name at the start of every lease token; host and pid when unset. Each lease adds its own id, so
+         * replicas sharing this value still exclude each other.
+         */
+        public String getOwner() {
+            return owner;
+        }
+
+        public void setOwner(String owner) {
+            this.owner = owner;
+        }
+    }
+
+    public static class RetentionProperties {
+        private boolean enabled = true;
+        private String cron = "0 30 3 * * *";
+        private int rawMonths = 3;
+        private int hourlyMonths = 12;
+        private int premakeMonths = 2;
+        private long leaseMillis = 3600000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getCron() {
+            return cron;
+        }
+
+        public void setCron(String cron) {
+            this.cron = cron;
+        }
+
+        public int getRawMonths() {
+            return rawMonths;
+        }
+
+        public void setRawMonths(int rawMonths) {
+            this.rawMonths = rawMonths;
+        }
+
+        public int getHourlyMonths() {
+            return hourlyMonths;
+        }
+
+        public void setHourlyMonths(int hourlyMonths) {
+            this.hourlyMonths = hourlyMonths;
+        }
+
+        public int getPremakeMonths() {
+            return premakeMonths;
+        }
+
+        public void setPremakeMonths(int premakeMonths) {
+            this.premakeMonths = premakeMonths;
+        }
+
+        /**
+         * How long one replica holds the retention lease; longer than a run, so no other replica starts meanwhile.
+         */
+        public long getLeaseMillis() {
+            return leaseMillis;
+        }
+
+        public void setLeaseMillis(long leaseMillis) {
+            this.leaseMillis = leaseMillis;
+        }
+    }
+
+    public static class CollectorProperties {
+        private int maxConcurrency = 8;
+        private int perHostConcurrency = 2;
+        private long perHostIntervalMillis = 1000;
+        private int browserBudget = 1;
+        private long browserWaitMillis = 60000;
+
+        public int getMaxConcurrency() {
+            return maxConcurrency;
+        }
+
+        public void setMaxConcurrency(int maxConcurrency) {
+            this.maxConcurrency = maxConcurrency;
+        }
+
+        public int getPerHostConcurrency() {
+            return perHostConcurrency;
+        }
+
+        public void setPerHostConcurrency(int perHostConcurrency) {
+            this.perHostConcurrency = perHostConcurrency;
+        }
+
+        /**
+         * Minimum gap between the starts of two collections against the same host.
+         */
+        public long getPerHostIntervalMillis() {
+            return perHostIntervalMillis;
+        }
+
+        public void setPerHostIntervalMillis(long perHostIntervalMillis) {
+            this.perHostIntervalMillis = perHostIntervalMillis;
+        }
+
+        /**
+         * Browser renders allowed at once across all sources; further BROWSER tiers wait up to
+         * {@code browserWaitMillis} and then fail the tier.
+         */
+        public int getBrowserBudget() {
+            return browserBudget;
+        }
+
+        public void setBrowserBudget(int browserBudget) {
+            this.browserBudget = browserBudget;
+        }
+
+        public long getBrowserWaitMillis() {
+            return browserWaitMillis;
+        }
+
+        public void setBrowserWaitMillis(long browserWaitMillis) {
+            this.browserWaitMillis = browserWaitMillis;
+        }
+    }
+
+    public static class ScheduleProperties {
+        private long tickMillis = 5000;
+        private long startupDelayMillis = 10000;
+        private long alignDelayMillis = 60000;
+        private long jitterMillis = 30000;
+        private long retryDelayMillis = 120000;
+        private int backoffAfterUnchanged = 2;
+        private int maxBackoffBuckets = 4;
+        private double hotChangeRate = 0.3;
+        private int historyDays = 7;
+
+        /**
+         * How often due sources are checked; bounds how late a planned run can start.
+         */
+        public long getTickMillis() {
+            return tickMillis;
+        }
+
+        public void setTickMillis(long tickMillis) {
+            this.tickMillis = tickMillis;
+        }
+
+        /**
+         * Delay of the catch-up run every source gets at startup.
+         */
+        public long getStartupDelayMillis() {
+            return startupDelayMillis;
+        }
+
+        public void setStartupDelayMillis(long startupDelayMillis) {
+            this.startupDelayMillis = startupDelayMillis;
+        }
+
+        /**
+         * Planned runs start this long after a bucket boundary, plus up to {@code jitterMillis}.
+         */
+        public long getAlignDelayMillis() {
+            return alignDelayMillis;
+        }
+
+        public void setAlignDelayMillis(long alignDelayMillis) {
+            this.alignDelayMillis = alignDelayMillis;
+        }
+
+        public long getJitterMillis() {
+            return jitterMillis;
+        }
+
+        public void setJitterMillis(long jitterMillis) {
+            this.jitterMillis = jitterMillis;
+        }
+
+        /**
+         * Delay before a failed collection is retried, plus jitter.
+         */
+        public long getRetryDelayMillis() {
+            return retryDelayMillis;
+        }
+
+        public void setRetryDelayMillis(long retryDelayMillis) {
+            this.retryDelayMillis = retryDelayMillis;
+        }
+
+        /**
+         * Consecutive UNCHANGED snapshots after which the interval doubles.
+         */
+        public int getBackoffAfterUnchanged() {
+            return backoffAfterUnchanged;
+        }
+
+        public void setBackoffAfterUnchanged(int backoffAfterUnchanged) {
+            this.backoffAfterUnchanged = backoffAfterUnchanged;
+        }
+
+        /**
+         * Longest interval, in buckets; 1 collects every bucket.
+         */
+        public int getMaxBackoffBuckets() {
+            return maxBackoffBuckets;
+        }
+
+        public void setMaxBackoffBuckets(int maxBackoffBuckets) {
+            this.maxBackoffBuckets = maxBackoffBuckets;
+        }
+
+        /**
+         * Share of changed snapshots at which an hour of the day counts as hot and is never skipped.
+         */
+        public double getHotChangeRate() {
+            return hotChangeRate;
+        }
+
+        public void setHotChangeRate(double hotChangeRate) {
+            this.hotChangeRate = hotChangeRate;
+        }
+
+        /**
+         * Days of stored snapshots that seed the change rates at startup.
+         */
+        public int getHistoryDays() {
+            return historyDays;
+        }
+
+        public void setHistoryDays(int historyDays) {
+            this.historyDays = historyDays;
+        }
+    }
+
+    public static class BreakerProperties {
+        private boolean enabled = true;
+        private int blockedThreshold = 1;
+        private int timeoutThreshold = 3;
+        private int emptyThreshold = 3;
+        private int errorThreshold = 5;
+        private long cooldownMillis = 900000;
+        private long maxCooldownMillis = 21600000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * Consecutive access-denied failures that open the breaker.
+         */
+        public int getBlockedThreshold() {
+            return blockedThreshold;
+        }
+
+        public void setBlockedThreshold(int blockedThreshold) {
+            this.blockedThreshold = blockedThreshold;
+        }
+
+        /**
+         * Consecutive render or request timeouts that open the breaker.
+         */
+        public int getTimeoutThreshold() {
+            return timeoutThreshold;
+        }
+
+        public void setTimeoutThreshold(int timeoutThreshold) {
+            this.timeoutThreshold = timeoutThreshold;
+        }
+
+        /**
+         * Consecutive fetches that parsed no items which open the breaker.
+         */
+        public int getEmptyThreshold() {
+            return emptyThreshold;
+        }
+
+        public void setEmptyThreshold(int emptyThreshold) {
+            this.emptyThreshold = emptyThreshold;
+        }
+
+        /**
+         * Consecutive failures of any other kind that open the breaker.
+         */
+        public int getErrorThreshold() {
+            return errorThreshold;
+        }
+
+        public void setErrorThreshold(int errorThreshold) {
+            this.errorThreshold = errorThreshold;
+        }
+
+        /**
+         * Cooldown after the breaker first opens; it doubles every time a half-open probe fails.
+         */
+        public long getCooldownMillis() {
+            return cooldownMillis;
+        }
+
+        public void setCooldownMillis(long cooldownMillis) {
+            this.cooldownMillis = cooldownMillis;
+        }
+
+        public long getMaxCooldownMillis() {
+            return maxCooldownMillis;
+        }
+
+        public void setMaxCooldownMillis(long maxCooldownMillis) {
+            this.maxCooldownMillis = maxCooldownMillis;
+        }
+    }
 }
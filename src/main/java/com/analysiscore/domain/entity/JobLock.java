@@ -0,0 +1,37 @@
+package com.analysiscore.domain.entity;
+
+import java.time.OffsetDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Collection lease for one source and time bucket, keyed by the bucket's numeric key. Rows are written with plain JDBC by
+ * {@code JdbcJobLockManager}; the entity only declares the table.
+ */
+@Entity
+@Table(name = "job_lock")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class JobLock {
+	@Id
+	@Column(name = "bucket_key", nullable = false)
+	private Long bucketKey;
+
+	@Column(nullable = false, length = 50)
+	private String source;
+
+	@Column(name = "locked_by", nullable = false, length = 200)
+	private String lockedBy;
+
+	@Column(name = "locked_at", nullable = false)
+	private OffsetDateTime lockedAt;
+
+	@Column(name = "locked_until", nullable = false)
+	private OffsetDateTime lockedUntil;
+}
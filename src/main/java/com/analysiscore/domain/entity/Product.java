@@ -0,0 +1,48 @@
+package com.analysiscore.domain.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Product dimension keyed by {@code product_key}, the OliveYoung {@code goodsNo}. Names and URLs hold the latest
+ * values seen for the product, so ranking items only reference it by id.
+ */
+@Entity
+@Table(
+	name = "product",
+	uniqueConstraints = @UniqueConstraint(name = "uk_product_key", columnNames = "product_key")
+)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class Product {
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(name = "product_key", nullable = false, length = 64)
+	private String productKey;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "brand_id", nullable = false)
+	private Brand brand;
+
+	@Column(name = "product_name", nullable = false, length = 300)
+	private String productName;
+
+	@Column(name = "product_url", length = 500)
+	private String productUrl;
+
+	@Column(name = "image_url", length = 500)
+	private String imageUrl;
+}
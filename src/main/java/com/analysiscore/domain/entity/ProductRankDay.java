@@ -0,0 +1,49 @@
+package com.analysiscore.domain.entity;
+
+import java.io.Serializable;
+import java.time.OffsetDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Hourly rank and price of one product for one source day, encoded by {@link com.analysiscore.model.DailyRankSeries}.
+ * Maintained at collect time and rebuildable from {@code ranking_item}.
+ */
+@Entity
+@Table(name = "product_rank_day")
+@IdClass(ProductRankDay.Key.class)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ProductRankDay {
+	@Id
+	@Column(name = "product_id", nullable = false)
+	private Long productId;
+
+	@Id
+	@Column(nullable = false, length = 50)
+	private String source;
+
+	@Id
+	@Column(name = "day_start_at", nullable = false)
+	private OffsetDateTime dayStartAt;
+
+	@Column(nullable = false, length = 512)
+	private byte[] series;
+
+	@Getter
+	@EqualsAndHashCode
+	@NoArgsConstructor(access = AccessLevel.PROTECTED)
+	public static class Key implements Serializable {
+		private Long productId;
+		private String source;
+		private OffsetDateTime dayStartAt;
+	}
+}
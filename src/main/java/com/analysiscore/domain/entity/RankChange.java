@@ -0,0 +1,73 @@
+package com.analysiscore.domain.entity;
+
+import java.io.Serializable;
+import java.time.OffsetDateTime;
+
+import com.analysiscore.model.RankChangeType;
+import com.analysiscore.model.SourceType;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * A product whose rank differs between a snapshot and the previous successful snapshot of its source. Products
+ * that kept their rank have no row. {@code rank_delta} is {@code previous_rank - rank_value}, so risers are
+ * positive; it is null for NEW and DROPPED.
+ */
+@Entity
+@Table(
+	name = "rank_change",
+	indexes = @Index(name = "idx_rank_change_source_bucket", columnList = "source, hour_bucket_at")
+)
+@IdClass(RankChange.Key.class)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class RankChange {
+	@Id
+	@Column(name = "snapshot_id", nullable = false)
+	private Long snapshotId;
+
+	@Id
+	@Column(name = "product_id", nullable = false)
+	private Long productId;
+
+	@Column(name = "previous_snapshot_id", nullable = false)
+	private Long previousSnapshotId;
+
+	@Column(nullable = false, length = 50)
+	private SourceType source;
+
+	@Column(name = "hour_bucket_at", nullable = false)
+	private OffsetDateTime hourBucketAt;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "change_type", nullable = false, length = 20)
+	private RankChangeType changeType;
+
+	@Column(name = "previous_rank")
+	private Integer previousRank;
+
+	@Column(name = "rank_value")
+	private Integer rank;
+
+	@Column(name = "rank_delta")
+	private Integer rankDelta;
+
+	@Getter
+	@EqualsAndHashCode
+	@NoArgsConstructor(access = AccessLevel.PROTECTED)
+	public static class Key implements Serializable {
+		private Long snapshotId;
+		private Long productId;
+	}
+}
@@ -1,80 +1,108 @@
 package com.analysiscore.domain.entity;
 
+import java.io.Serializable;
+import java.time.OffsetDateTime;
+
+import org.springframework.data.domain.Persistable;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+/**
+ * One rank of a snapshot. Brand, names and URLs live in {@link Product}; the row only keeps what changes per
+ * snapshot. The primary key {@code (snapshot_id, category, rank_value)} doubles as the per-snapshot rank index; on
+ * Postgres it also holds {@code hour_bucket_at}, the snapshot's partition key copied onto the row.
+ */
 @Entity
 @Table(name = "ranking_item")
+@IdClass(RankingItem.Key.class)
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
-public class RankingItem {
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
-
-	@ManyToOne
+public class RankingItem implements Persistable<RankingItem.Key> {
+	@Id
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "snapshot_id", nullable = false)
 	private RankingSnapshot snapshot;
 
-    @Column(name = "rank_value", nullable = false)
-    private int rank;
+	@Id
+	@Column(nullable = false, length = 50)
+	private String category;
 
-    @Column(name = "brand_name", nullable = false, length = 200)
-    private String brandName;
+	@Id
+	@Column(name = "rank_value", nullable = false)
+	private int rank;
 
-    @Column(name = "product_name", nullable = false, length = 300)
-    private String productName;
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "product_id", nullable = false)
+	private Product product;
 
-    @Column(nullable = false)
-    private long price;
+	@Column(nullable = false)
+	private long price;
 
-    @Column(name = "product_url", length = 500)
-    private String productUrl;
+	@Column(name = "hour_bucket_at", nullable = false)
+	private OffsetDateTime hourBucketAt;
 
-	@Column(name = "image_url", length = 500)
-	private String imageUrl;
+	@Transient
+	@Getter(AccessLevel.NONE)
+	private boolean persisted;
 
-	private RankingItem(RankingSnapshot snapshot,
-						int rank,
-						String brandName,
-						String productName,
-						long price,
-						String productUrl,
-						String imageUrl) {
+	private RankingItem(RankingSnapshot snapshot, String category, int rank, Product product, long price) {
 		this.snapshot = snapshot;
+		this.category = category;
 		this.rank = rank;
-		this.brandName = brandName;
-		this.productName = productName;
+		this.product = product;
 		this.price = price;
-		this.productUrl = productUrl;
-		this.imageUrl = imageUrl;
+		this.hourBucketAt = snapshot.getHourBucketAt();
+	}
+
+	public static RankingItem of(RankingSnapshot snapshot, String category, int rank, Product product, long price) {
+		return new RankingItem(snapshot, category, rank, product, price);
 	}
 
-	public static RankingItem ofParsed(int rank,
-									   String brandName,
-									   String productName,
-									   long price,
-									   String productUrl,
-									   String imageUrl) {
-		return new RankingItem(null, rank, brandName, productName, price, productUrl, imageUrl);
+	@Override
+	public Key getId() {
+		return new Key(snapshot == null ? null : snapshot.getId(), category, rank);
 	}
 
-	public static RankingItem of(RankingSnapshot snapshot,
-								 int rank,
-								 String brandName,
-								 String productName,
-								 long price,
-								 String productUrl,
-								 String imageUrl) {
-		return new RankingItem(snapshot, rank, brandName, productName, price, productUrl, imageUrl);
+	/**
+	 * Items are only ever inserted, so skip the merge-and-select Spring Data would do for an assigned id.
+	 */
+	@Override
+	public boolean isNew() {
+		return !persisted;
+	}
+
+	@PostLoad
+	@PostPersist
+	void markPersisted() {
+		this.persisted = true;
+	}
+
+	@Getter
+	@EqualsAndHashCode
+	@NoArgsConstructor(access = AccessLevel.PROTECTED)
+	public static class Key implements Serializable {
+		private Long snapshot;
+		private String category;
+		private int rank;
+
+		public Key(Long snapshot, String category, int rank) {
+			this.snapshot = snapshot;
+			this.category = category;
+			this.rank = rank;
+		}
 	}
 }
@@ -2,6 +2,7 @@ package com.analysiscore.domain.entity;
 
 import com.analysiscore.model.SnapshotStatus;
 import com.analysiscore.model.SourceType;
+import com.analysiscore.model.TimeBucket;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -10,7 +11,9 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -18,7 +21,14 @@ import lombok.NoArgsConstructor;
 import java.time.OffsetDateTime;
 
 @Entity
-@Table(name = "ranking_snapshot")
+@Table(
+	name = "ranking_snapshot",
+	uniqueConstraints = @UniqueConstraint(
+		name = "uk_ranking_snapshot_bucket_key",
+		columnNames = "bucket_key"
+	),
+	indexes = @Index(name = "idx_ranking_snapshot_source_bucket", columnList = "source, hour_bucket_at")
+)
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class RankingSnapshot {
@@ -26,7 +36,6 @@ public class RankingSnapshot {
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
 	private Long id;
 
-	@Enumerated(EnumType.STRING)
 	@Column(nullable = false, length = 50)
 	private SourceType source;
 
@@ -36,9 +45,18 @@ public class RankingSnapshot {
 	@Column(name = "hour_bucket_at", nullable = false)
 	private OffsetDateTime hourBucketAt;
 
+	/**
+	 * Readable form of {@link #bucketKey}, kept for display only.
+	 */
 	@Column(name = "hour_bucket_key", nullable = false, length = 100)
 	private String hourBucketKey;
 
+	/**
+	 * {@link TimeBucket#getKey()}: bucket start in epoch minutes and the source id; unique per snapshot.
+	 */
+	@Column(name = "bucket_key", nullable = false)
+	private long bucketKey;
+
 	@Column(name = "raw_url", nullable = false, length = 500)
 	private String rawUrl;
 
@@ -52,41 +70,53 @@ public class RankingSnapshot {
 	@Column(name = "item_count", nullable = false)
 	private int itemCount;
 
-	private RankingSnapshot(SourceType source,
+	@Column(name = "content_hash", length = 64)
+	private String contentHash;
+
+	@Column(name = "base_snapshot_id")
+	private Long baseSnapshotId;
+
+	@Column(name = "last_seen_at")
+	private OffsetDateTime lastSeenAt;
+
+	private RankingSnapshot(TimeBucket bucket,
 								  OffsetDateTime capturedAt,
-								  OffsetDateTime hourBucketAt,
-								  String hourBucketKey,
 								  String rawUrl,
 								  SnapshotStatus status,
 								  String errorMessage,
 								  int itemCount) {
-		this.source = source;
+		this.source = bucket.getSource();
 		this.capturedAt = capturedAt;
-		this.hourBucketAt = hourBucketAt;
-		this.hourBucketKey = hourBucketKey;
+		this.hourBucketAt = bucket.getStartAt();
+		this.hourBucketKey = bucket.getDisplayKey();
+		this.bucketKey = bucket.getKey();
 		this.rawUrl = rawUrl;
 		this.status = status;
 		this.errorMessage = errorMessage;
 		this.itemCount = itemCount;
+		this.lastSeenAt = capturedAt;
 	}
 
-	public static RankingSnapshot of(SourceType source,
+	public static RankingSnapshot of(TimeBucket bucket,
 										   OffsetDateTime capturedAt,
-										   OffsetDateTime hourBucketAt,
-										   String hourBucketKey,
 										   String rawUrl,
 										   SnapshotStatus status,
 										   String errorMessage,
 										   int itemCount) {
 		return new RankingSnapshot(
-			source,
+			bucket,
 			capturedAt,
-			hourBucketAt,
-			hourBucketKey,
 			rawUrl,
 			status,
 			errorMessage,
 			itemCount
 		);
 	}
+
+	/**
+	 * Id of the snapshot whose {@code ranking_item} rows hold this snapshot's items.
+	 */
+	public Long getItemSnapshotId() {
+		return baseSnapshotId == null ? id : baseSnapshotId;
+	}
 }
@@ -0,0 +1,22 @@
+package com.analysiscore.domain.entity;
+
+import com.analysiscore.model.SourceType;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores a {@link SourceType} as its code.
+ */
+@Converter(autoApply = true)
+public class SourceTypeConverter implements AttributeConverter<SourceType, String> {
+	@Override
+	public String convertToDatabaseColumn(SourceType source) {
+		return source == null ? null : source.getCode();
+	}
+
+	@Override
+	public SourceType convertToEntityAttribute(String code) {
+		return code == null ? null : SourceType.valueOf(code);
+	}
+}
@@ -0,0 +1,8 @@
+package com.analysiscore.domain.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.analysiscore.domain.entity.Product;
+
+public interface ProductRepository extends JpaRepository<Product, Long> {
+}
@@ -1,7 +1,57 @@
 package com.analysiscore.domain.repository;
 
 import com.analysiscore.domain.entity.RankingItem;
+import com.analysiscore.domain.repository.projection.RankingItemView;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-public interface RankingItemRepository extends JpaRepository<RankingItem, Long> {
+public interface RankingItemRepository extends JpaRepository<RankingItem, RankingItem.Key> {
+
+    @Query("""
+        select new com.analysiscore.domain.repository.projection.RankingItemView(
+            i.snapshot.id, i.category, i.rank, p.id, b.name, p.productName, i.price, p.productUrl, p.imageUrl)
+        from RankingItem i
+        join i.product p
+        join p.brand b
+        where i.snapshot.id = :snapshotId
+        order by case when i.category = 'ALL' then 0 else 1 end, i.category, i.rank
+        """)
+    List<RankingItemView> findViewsBySnapshotId(@Param("snapshotId") Long snapshotId);
+
+    @Query("""
+        select new com.analysiscore.domain.repository.projection.RankingItemView(
+            i.snapshot.id, i.category, i.rank, p.id, b.name, p.productName, i.price, p.productUrl, p.imageUrl)
+        from RankingItem i
+        join i.product p
+        join p.brand b
+        where i.snapshot.id in :snapshotIds
+        order by i.snapshot.id, case when i.category = 'ALL' then 0 else 1 end, i.category, i.rank
+        """)
+    List<RankingItemView> findViewsBySnapshotIds(@Param("snapshotIds") Collection<Long> snapshotIds);
+
+    /**
+     * Items with their snapshot and product fetch-joined in one statement, loaded read-only so Hibernate keeps no
+     * snapshots for dirty checking.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("""
+        select i from RankingItem i
+        join fetch i.snapshot s
+        join fetch i.product p
+        join fetch p.brand
+        where s.id = :snapshotId
+        order by case when i.category = 'ALL' then 0 else 1 end, i.category, i.rank
+        """)
+    List<RankingItem> findWithSnapshotBySnapshotId(@Param("snapshotId") Long snapshotId);
+
+    @Modifying
+    @Query("delete from RankingItem i where i.snapshot.id = :snapshotId")
+    int deleteBySnapshotId(@Param("snapshotId") Long snapshotId);
 }
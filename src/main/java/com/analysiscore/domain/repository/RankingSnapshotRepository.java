@@ -1,8 +1,54 @@
 package com.analysiscore.domain.repository;
 
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.analysiscore.domain.entity.RankingSnapshot;
+import com.analysiscore.domain.repository.projection.SnapshotHeaderView;
+import com.analysiscore.model.SnapshotStatus;
+import com.analysiscore.model.SourceType;
 
 public interface RankingSnapshotRepository extends JpaRepository<RankingSnapshot, Long> {
+
+	Optional<RankingSnapshot> findFirstBySourceAndStatusOrderByCapturedAtDesc(SourceType source, SnapshotStatus status);
+
+	Optional<RankingSnapshot> findByBucketKey(long bucketKey);
+
+	@Modifying
+	@Query("update RankingSnapshot s set s.lastSeenAt = :seenAt where s.id = :id and (s.lastSeenAt is null or s.lastSeenAt < :seenAt)")
+	int touchLastSeen(@Param("id") Long id, @Param("seenAt") OffsetDateTime seenAt);
+
+	@Query("""
+		select new com.analysiscore.domain.repository.projection.SnapshotHeaderView(
+			s.id, s.source, s.capturedAt, s.hourBucketAt, s.hourBucketKey, s.status, s.itemCount)
+		from RankingSnapshot s
+		where s.source = :source and s.status = :status
+		order by s.capturedAt desc
+		""")
+	List<SnapshotHeaderView> findHeadersBySourceAndStatus(@Param("source") SourceType source,
+		@Param("status") SnapshotStatus status,
+		Pageable pageable);
+
+	@Query("""
+		select new com.analysiscore.domain.repository.projection.SnapshotHeaderView(
+			s.id, s.source, s.capturedAt, s.hourBucketAt, s.hourBucketKey, s.status, s.itemCount)
+		from RankingSnapshot s
+		where s.source = :source and s.hourBucketAt >= :from and s.hourBucketAt < :to
+		order by s.hourBucketAt, s.id
+		""")
+	List<SnapshotHeaderView> findHeadersInRange(@Param("source") SourceType source,
+		@Param("from") OffsetDateTime from,
+		@Param("to") OffsetDateTime to);
+
+	default Optional<SnapshotHeaderView> findLatestHeader(SourceType source, SnapshotStatus status) {
+		return findHeadersBySourceAndStatus(source, status, PageRequest.of(0, 1)).stream().findFirst();
+	}
 }
@@ -0,0 +1,17 @@
+package com.analysiscore.domain.repository.projection;
+
+/**
+ * Read-only ranking item row. Carries the snapshot id as a plain column so reads never touch the parent entity.
+ */
+public record RankingItemView(
+	Long snapshotId,
+	String category,
+	int rank,
+	Long productId,
+	String brandName,
+	String productName,
+	long price,
+	String productUrl,
+	String imageUrl
+) {
+}
@@ -0,0 +1,20 @@
+package com.analysiscore.domain.repository.projection;
+
+import java.time.OffsetDateTime;
+
+import com.analysiscore.model.SnapshotStatus;
+import com.analysiscore.model.SourceType;
+
+/**
+ * Read-only snapshot header, selected with a constructor expression so no entity is managed.
+ */
+public record SnapshotHeaderView(
+	Long id,
+	SourceType source,
+	OffsetDateTime capturedAt,
+	OffsetDateTime hourBucketAt,
+	String hourBucketKey,
+	SnapshotStatus status,
+	int itemCount
+) {
+}
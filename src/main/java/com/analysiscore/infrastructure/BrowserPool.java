@@ -0,0 +1,256 @@
+package com.analysiscore.infrastructure;
+
+import com.analysiscore.config.OyRankProperties;
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.Playwright;
+import com.microsoft.playwright.PlaywrightException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps a fixed number of long-lived Chromium instances, each owned by a dedicated worker thread.
+ * Playwright objects are not thread-safe, so every call against a browser runs on the thread that created it;
+ * callers borrow a worker and get a fresh {@link BrowserContext} per task.
+ */
+@Component
+public class BrowserPool {
+    private static final Logger log = LoggerFactory.getLogger(BrowserPool.class);
+
+    private final OyRankProperties.BrowserProperties properties;
+    private final List<Worker> workers = new ArrayList<>();
+    private final BlockingQueue<Worker> idle;
+    private final AtomicLong launches = new AtomicLong();
+    private final AtomicLong recycles = new AtomicLong();
+    private final AtomicLong crashes = new AtomicLong();
+    private volatile boolean shuttingDown;
+
+    public BrowserPool(OyRankProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties.getBrowser();
+        int size = Math.max(1, this.properties.getPoolSize());
+        this.idle = new ArrayBlockingQueue<>(size);
+        for (int i = 0; i < size; i++) {
+            Worker worker = new Worker(i);
+            workers.add(worker);
+            idle.add(worker);
+        }
+        Gauge.builder("oyrank.browser.pool.size", workers, List::size).register(meterRegistry);
+        Gauge.builder("oyrank.browser.pool.busy", this, BrowserPool::busyCount).register(meterRegistry);
+        Gauge.builder("oyrank.browser.pool.live", this, BrowserPool::liveCount).register(meterRegistry);
+        Gauge.builder("oyrank.browser.pool.launches", launches, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("oyrank.browser.pool.recycles", recycles, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("oyrank.browser.pool.crashes", crashes, AtomicLong::get).register(meterRegistry);
+    }
+
+    /**
+     * Runs {@code work} on a pooled browser inside a new context that is closed afterwards.
+     * Exceptions thrown by {@code work} are rethrown unchanged to the caller.
+     */
+    public <T> T withContext(Function<BrowserContext, T> work) {
+        if (shuttingDown) {
+            throw new PlaywrightException("browser pool is shutting down");
+        }
+        Worker worker = borrow();
+        try {
+            return worker.run(work);
+        } finally {
+            idle.offer(worker);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!properties.isWarmUp()) {
+            return;
+        }
+        for (Worker worker : workers) {
+            worker.executor.submit(() -> {
+                try {
+                    worker.ensureBrowser();
+                } catch (PlaywrightException ex) {
+                    log.warn("Browser warm-up failed worker={}", worker.index, ex);
+                }
+            });
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        shuttingDown = true;
+        for (Worker worker : workers) {
+            worker.executor.submit(worker::closeBrowser);
+            worker.executor.shutdown();
+        }
+        for (Worker worker : workers) {
+            try {
+                if (!worker.executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                    worker.executor.shutdownNow();
+                }
+            } catch (InterruptedException ex) {
+                worker.executor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public int size() {
+        return workers.size();
+    }
+
+    public int busyCount() {
+        return workers.size() - idle.size();
+    }
+
+    public int liveCount() {
+        int live = 0;
+        for (Worker worker : workers) {
+            if (worker.live) {
+                live++;
+            }
+        }
+        return live;
+    }
+
+    public long getLaunches() {
+        return launches.get();
+    }
+
+    public long getRecycles() {
+        return recycles.get();
+    }
+
+    public long getCrashes() {
+        return crashes.get();
+    }
+
+    public boolean isShuttingDown() {
+        return shuttingDown;
+    }
+
+    private Worker borrow() {
+        try {
+            Worker worker = idle.poll(properties.getAcquireTimeoutMillis(), TimeUnit.MILLISECONDS);
+            if (worker == null) {
+                throw new PlaywrightException(
+                    "no browser available within " + properties.getAcquireTimeoutMillis() + "ms"
+                );
+            }
+            return worker;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new PlaywrightException("interrupted while waiting for a browser");
+        }
+    }
+
+    private final class Worker {
+        private final int index;
+        private final ExecutorService executor;
+        // Only touched from the worker thread.
+        private Playwright playwright;
+        private Browser browser;
+        private int uses;
+        private volatile boolean live;
+
+        private Worker(int index) {
+            this.index = index;
+            this.executor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "oy-browser-" + index);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        private <T> T run(Function<BrowserContext, T> work) {
+            Future<T> future = executor.submit(() -> runOnWorker(work));
+            try {
+                return future.get();
+            } catch (InterruptedException ex) {
+                future.cancel(true);
+                Thread.currentThread().interrupt();
+                throw new PlaywrightException("interrupted while rendering");
+            } catch (ExecutionException ex) {
+                Throwable cause = ex.getCause();
+                if (cause instanceof RuntimeException runtime) {
+                    throw runtime;
+                }
+                if (cause instanceof Error error) {
+                    throw error;
+                }
+                throw new IllegalStateException(cause);
+            }
+        }
+
+        private <T> T runOnWorker(Function<BrowserContext, T> work) {
+            ensureBrowser();
+            uses++;
+            try (BrowserContext context = browser.newContext()) {
+                return work.apply(context);
+            } catch (RuntimeException ex) {
+                if (browser != null && !browser.isConnected()) {
+                    crashes.incrementAndGet();
+                    log.warn("Browser disconnected, recycling worker={}", index);
+                    closeBrowser();
+                }
+                throw ex;
+            } finally {
+                if (browser != null && uses >= Math.max(1, properties.getMaxUsesPerBrowser())) {
+                    recycles.incrementAndGet();
+                    log.debug("Recycling browser worker={} uses={}", index, uses);
+                    closeBrowser();
+                }
+            }
+        }
+
+        private void ensureBrowser() {
+            if (browser != null && browser.isConnected()) {
+                return;
+            }
+            closeBrowser();
+            playwright = Playwright.create();
+            browser = playwright.chromium().launch(new BrowserType.LaunchOptions()
+                .setHeadless(properties.isHeadless()));
+            uses = 0;
+            live = true;
+            launches.incrementAndGet();
+            log.info("Launched pooled browser worker={} version={}", index, browser.version());
+        }
+
+        private void closeBrowser() {
+            live = false;
+            if (browser != null) {
+                try {
+                    browser.close();
+                } catch (PlaywrightException ex) {
+                    log.debug("Failed to close browser worker={}", index, ex);
+                }
+                browser = null;
+            }
+            if (playwright != null) {
+                try {
+                    playwright.close();
+                } catch (PlaywrightException ex) {
+                    log.debug("Failed to close playwright worker={}", index, ex);
+                }
+                playwright = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.analysiscore.infrastructure;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+@Component("browserPool")
+public class BrowserPoolHealthIndicator implements HealthIndicator {
+    private final BrowserPool browserPool;
+
+    public BrowserPoolHealthIndicator(BrowserPool browserPool) {
+        this.browserPool = browserPool;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = browserPool.isShuttingDown() ? Health.outOfService() : Health.up();
+        return builder
+            .withDetail("size", browserPool.size())
+            .withDetail("busy", browserPool.busyCount())
+            .withDetail("live", browserPool.liveCount())
+            .withDetail("launches", browserPool.getLaunches())
+            .withDetail("recycles", browserPool.getRecycles())
+            .withDetail("crashes", browserPool.getCrashes())
+            .build();
+    }
+}
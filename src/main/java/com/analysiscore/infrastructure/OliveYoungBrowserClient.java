@@ -1,27 +1,46 @@
 package com.analysiscore.infrastructure;
 
 import com.analysiscore.config.OyRankProperties;
+import com.analysiscore.model.ExtractionMode;
+import com.analysiscore.model.FetchStats;
+import com.analysiscore.model.RankingCategory;
 import com.analysiscore.model.SourceConfig;
 import com.analysiscore.model.SourceResponse;
-import com.microsoft.playwright.Browser;
-import com.microsoft.playwright.BrowserContext;
-import com.microsoft.playwright.BrowserType;
+import com.analysiscore.model.WaitStrategy;
 import com.microsoft.playwright.Page;
-import com.microsoft.playwright.Playwright;
 import com.microsoft.playwright.PlaywrightException;
 import com.microsoft.playwright.Response;
 import com.microsoft.playwright.TimeoutError;
 import com.microsoft.playwright.options.WaitUntilState;
-import java.time.Duration;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongFunction;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Component;
 
 @Component
 public class OliveYoungBrowserClient {
     private static final Logger log = LoggerFactory.getLogger(OliveYoungBrowserClient.class);
     private static final int BODY_PREFIX_LIMIT = 2048;
+    private static final String EXTRACT_SCRIPT_PATH = "playwright/extract-ranking-items.js";
+    private static final String SCROLL_SCRIPT_PATH = "playwright/scroll-ranking-items.js";
+    private static final String SCROLL_DONE_SCRIPT = "() => window.__oyScrollDone === true";
+    private static final long SCROLL_SETTLE_MILLIS = 1500;
+    private static final String EXTRACTED_CONTENT_TYPE = "application/json";
+    private static final String ITEM_SELECTOR =
+        "li:has(.tx_name), li:has(.tx_brand), [data-prd-name], [data-goods-name], [data-brand-name]";
+    private static final String MIN_ITEMS_SCRIPT =
+        "([selector, minItems]) => document.querySelectorAll(selector).length >= minItems";
     private static final String[] BLOCK_PHRASES = {
         "access denied",
         "forbidden",
@@ -31,26 +50,59 @@ public class OliveYoungBrowserClient {
     };
 
     private final OyRankProperties properties;
+    private final BrowserPool browserPool;
+    private final RequestBlocker requestBlocker;
+    private final MeterRegistry meterRegistry;
+    private final String extractScript;
+    private final String scrollScript;
 
-    public OliveYoungBrowserClient(OyRankProperties properties) {
+    public OliveYoungBrowserClient(OyRankProperties properties,
+                                   BrowserPool browserPool,
+                                   RequestBlocker requestBlocker,
+                                   MeterRegistry meterRegistry) {
         this.properties = properties;
+        this.browserPool = browserPool;
+        this.requestBlocker = requestBlocker;
+        this.meterRegistry = meterRegistry;
+        this.extractScript = loadScript(EXTRACT_SCRIPT_PATH);
+        this.scrollScript = loadScript(SCROLL_SCRIPT_PATH);
     }
 
     public SourceResponse fetchRendered(SourceConfig sourceConfig) {
         String url = sourceConfig.resolveUrl();
-        long timeoutMillis = properties.getHttp().getTimeoutMillis();
+        return withRetries(sourceConfig, url, timeoutMillis -> fetchOnce(sourceConfig, url, timeoutMillis));
+    }
+
+    /**
+     * Captures the main list and every category tab of {@code sourceConfig} in parallel pages of one browser
+     * context, so the tabs share cookies and cache. Each page is scrolled up to {@code maxScrolls} times to load
+     * more items. All tabs share one {@code timeoutMillis} budget: the capture takes about as long as its slowest
+     * tab, and any failing tab fails the whole capture.
+     */
+    public List<CapturedTab> captureTabs(SourceConfig sourceConfig) {
+        return withRetries(
+            sourceConfig,
+            sourceConfig.resolveUrl(),
+            timeoutMillis -> captureOnce(sourceConfig, timeoutMillis)
+        );
+    }
+
+    private <T> T withRetries(SourceConfig sourceConfig, String url, LongFunction<T> attempt) {
+        long timeoutMillis = sourceConfig.getTimeoutMillis() == null
+            ? properties.getHttp().getTimeoutMillis()
+            : sourceConfig.getTimeoutMillis();
         int maxAttempts = Math.max(1, properties.getHttp().getRetry().getMaxAttempts());
         long backoffMillis = properties.getHttp().getRetry().getBackoffMillis();
 
         RenderedFetchException last = null;
-        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+        for (int i = 1; i <= maxAttempts; i++) {
             try {
-                return fetchOnce(url, timeoutMillis);
+                return attempt.apply(timeoutMillis);
             } catch (AccessDeniedException ex) {
                 throw ex;
             } catch (RenderedFetchException ex) {
                 last = ex;
-                if (!isRetryable(ex) || attempt == maxAttempts) {
+                if (!isRetryable(ex) || i == maxAttempts) {
                     throw ex;
                 }
                 sleep(backoffMillis);
@@ -61,80 +113,14 @@ public class OliveYoungBrowserClient {
             : last;
     }
 
-    private SourceResponse fetchOnce(String url, long timeoutMillis) {
-        try (Playwright playwright = Playwright.create()) {
-            BrowserType.LaunchOptions launchOptions = new BrowserType.LaunchOptions()
-                .setHeadless(true);
-            try (Browser browser = playwright.chromium().launch(launchOptions)) {
-                try (BrowserContext context = browser.newContext()) {
-                    try (Page page = context.newPage()) {
-                        Page.NavigateOptions navigateOptions = new Page.NavigateOptions()
-                            .setWaitUntil(WaitUntilState.NETWORKIDLE)
-                            .setTimeout(timeoutMillis);
-                        Response response = page.navigate(url, navigateOptions);
-
-                        Integer status = response == null ? null : response.status();
-                        String contentType = response == null ? null : response.headers().get("content-type");
-
-                        if (status != null && status >= 400) {
-                            String title = safeTitle(page);
-                            String html = safeContent(page);
-                            if (status == 401 || status == 403) {
-                                throw new AccessDeniedException(
-                                    "access denied",
-                                    url,
-                                    status,
-                                    contentType,
-                                    title,
-                                    trimPrefix(html)
-                                );
-                            }
-                            throw new RenderedFetchException(
-                                "http error",
-                                url,
-                                status,
-                                contentType,
-                                title,
-                                trimPrefix(html)
-                            );
-                        }
-
-                        try {
-                            page.waitForSelector(
-                                "li:has(.tx_name), li:has(.tx_brand), [data-prd-name], [data-goods-name], [data-brand-name]",
-                                new Page.WaitForSelectorOptions().setTimeout(timeoutMillis)
-                            );
-                        } catch (TimeoutError ex) {
-                            String title = safeTitle(page);
-                            String html = safeContent(page);
-                            throw new RenderedFetchException(
-                                "render timeout",
-                                url,
-                                status,
-                                contentType,
-                                title,
-                                trimPrefix(html),
-                                ex
-                            );
-                        }
-
-                        String html = safeContent(page);
-                        String title = safeTitle(page);
-                        if (isBlocked(html, title)) {
-                            throw new AccessDeniedException(
-                                "blocked content detected",
-                                url,
-                                status,
-                                contentType,
-                                title,
-                                trimPrefix(html)
-                            );
-                        }
-
-                        return new SourceResponse(contentType, html, url);
-                    }
+    private SourceResponse fetchOnce(SourceConfig sourceConfig, String url, long timeoutMillis) {
+        try {
+            return browserPool.withContext(context -> {
+                AtomicInteger blockedRequests = requestBlocker.install(context);
+                try (Page page = context.newPage()) {
+                    return render(page, sourceConfig, url, timeoutMillis, blockedRequests);
                 }
-            }
+            });
         } catch (AccessDeniedException ex) {
             throw ex;
         } catch (PlaywrightException ex) {
@@ -150,6 +136,268 @@ public class OliveYoungBrowserClient {
         }
     }
 
+    /**
+     * Navigates and waits according to the source's {@link WaitStrategy}. Navigation and the item wait share one
+     * {@code timeoutMillis} budget, so a slow page cannot hold the browser for multiples of it.
+     */
+    private SourceResponse render(Page page,
+                                  SourceConfig sourceConfig,
+                                  String url,
+                                  long timeoutMillis,
+                                  AtomicInteger blockedRequests) {
+        WaitStrategy waitStrategy = sourceConfig.getWaitStrategy();
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        Page.NavigateOptions navigateOptions = new Page.NavigateOptions()
+            .setWaitUntil(toWaitUntil(waitStrategy))
+            .setTimeout(timeoutMillis);
+        Response response = page.navigate(url, navigateOptions);
+
+        Integer status = response == null ? null : response.status();
+        String contentType = response == null ? null : response.headers().get("content-type");
+        checkStatus(page, url, status, contentType);
+        awaitItems(page, sourceConfig, url, status, contentType, deadline);
+
+        long waitMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        meterRegistry.timer("oyrank.browser.wait", "strategy", waitStrategy.name())
+            .record(waitMillis, TimeUnit.MILLISECONDS);
+        log.debug("Page ready url={} waitStrategy={} waitMillis={}", url, waitStrategy, waitMillis);
+        return extract(page, sourceConfig, url, status, contentType, stats(blockedRequests, waitStrategy, waitMillis));
+    }
+
+    private List<CapturedTab> captureOnce(SourceConfig sourceConfig, long timeoutMillis) {
+        try {
+            return browserPool.withContext(context -> {
+                AtomicInteger blockedRequests = requestBlocker.install(context);
+                List<Tab> tabs = new ArrayList<>();
+                try {
+                    for (RankingCategory category : sourceConfig.captureTabs()) {
+                        tabs.add(new Tab(category, sourceConfig.resolveUrl(category.path()), context.newPage()));
+                    }
+                    return capture(tabs, sourceConfig, timeoutMillis, blockedRequests);
+                } finally {
+                    for (Tab tab : tabs) {
+                        closeQuietly(tab.page);
+                    }
+                }
+            });
+        } catch (AccessDeniedException ex) {
+            throw ex;
+        } catch (PlaywrightException ex) {
+            throw new RenderedFetchException(
+                "render error",
+                sourceConfig.resolveUrl(),
+                null,
+                null,
+                null,
+                null,
+                ex
+            );
+        }
+    }
+
+    /**
+     * Playwright calls block the worker thread, but the pages keep loading in the browser meanwhile. Every phase
+     * is therefore started on all tabs before the next one waits on any: navigations return at commit, scrolling
+     * runs as an in-page promise, and the waits that follow mostly find their page already done.
+     */
+    private List<CapturedTab> capture(List<Tab> tabs,
+                                      SourceConfig sourceConfig,
+                                      long timeoutMillis,
+                                      AtomicInteger blockedRequests) {
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        for (Tab tab : tabs) {
+            Response response = tab.page.navigate(tab.url, new Page.NavigateOptions()
+                .setWaitUntil(WaitUntilState.COMMIT)
+                .setTimeout(remainingMillis(deadline)));
+            tab.status = response == null ? null : response.status();
+            tab.contentType = response == null ? null : response.headers().get("content-type");
+            checkStatus(tab.page, tab.url, tab.status, tab.contentType);
+        }
+        int maxScrolls = sourceConfig.getMaxScrolls();
+        for (Tab tab : tabs) {
+            awaitItems(tab.page, sourceConfig, tab.url, tab.status, tab.contentType, deadline);
+            if (maxScrolls > 0) {
+                tab.page.evaluate(scrollScript, new Object[] {ITEM_SELECTOR, maxScrolls, SCROLL_SETTLE_MILLIS});
+            }
+        }
+
+        List<CapturedTab> captured = new ArrayList<>(tabs.size());
+        for (Tab tab : tabs) {
+            if (maxScrolls > 0) {
+                awaitScroll(tab, deadline);
+            }
+            long waitMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+            FetchStats stats = stats(blockedRequests, sourceConfig.getWaitStrategy(), waitMillis);
+            SourceResponse response = extract(tab.page, sourceConfig, tab.url, tab.status, tab.contentType, stats);
+            captured.add(new CapturedTab(tab.category.code(), response));
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        meterRegistry.timer("oyrank.browser.capture", "source", sourceConfig.getSource().getCode())
+            .record(elapsedMillis, TimeUnit.MILLISECONDS);
+        log.debug("Captured tabs source={} tabs={} elapsedMillis={}", sourceConfig.getSource(), tabs.size(),
+            elapsedMillis);
+        return captured;
+    }
+
+    /**
+     * A list that stops growing before {@code maxScrolls} is complete; one that is still loading at the deadline is
+     * taken as far as it got.
+     */
+    private void awaitScroll(Tab tab, long deadline) {
+        try {
+            tab.page.waitForFunction(
+                SCROLL_DONE_SCRIPT,
+                null,
+                new Page.WaitForFunctionOptions().setTimeout(remainingMillis(deadline))
+            );
+        } catch (TimeoutError ex) {
+            log.debug("Scrolling did not finish in time, keeping loaded items url={}", tab.url);
+        }
+    }
+
+    private void checkStatus(Page page, String url, Integer status, String contentType) {
+        if (status == null || status < 400) {
+            return;
+        }
+        String title = safeTitle(page);
+        String html = safeContent(page);
+        if (status == 401 || status == 403) {
+            throw new AccessDeniedException(
+                "access denied",
+                url,
+                status,
+                contentType,
+                title,
+                trimPrefix(html)
+            );
+        }
+        throw new RenderedFetchException(
+            "http error",
+            url,
+            status,
+            contentType,
+            title,
+            trimPrefix(html)
+        );
+    }
+
+    private void awaitItems(Page page,
+                            SourceConfig sourceConfig,
+                            String url,
+                            Integer status,
+                            String contentType,
+                            long deadline) {
+        try {
+            waitForItems(page, sourceConfig, remainingMillis(deadline));
+        } catch (TimeoutError ex) {
+            String title = safeTitle(page);
+            String html = safeContent(page);
+            throw new RenderedFetchException(
+                "render timeout",
+                url,
+                status,
+                contentType,
+                title,
+                trimPrefix(html),
+                ex
+            );
+        }
+    }
+
+    private SourceResponse extract(Page page,
+                                   SourceConfig sourceConfig,
+                                   String url,
+                                   Integer status,
+                                   String contentType,
+                                   FetchStats stats) {
+        if (sourceConfig.getExtractionMode() == ExtractionMode.IN_PAGE) {
+            SourceResponse extracted = extractInPage(page, url, status, contentType, stats);
+            if (extracted != null) {
+                return extracted;
+            }
+            log.debug("In-page extraction returned no items, falling back to page content url={}", url);
+        }
+
+        String html = safeContent(page);
+        String title = safeTitle(page);
+        if (isBlocked(html, title)) {
+            throw new AccessDeniedException(
+                "blocked content detected",
+                url,
+                status,
+                contentType,
+                title,
+                trimPrefix(html)
+            );
+        }
+
+        return new SourceResponse(contentType, html, url, stats);
+    }
+
+    private void waitForItems(Page page, SourceConfig sourceConfig, long timeoutMillis) {
+        if (sourceConfig.getWaitStrategy() == WaitStrategy.SELECTOR_ONLY) {
+            page.waitForFunction(
+                MIN_ITEMS_SCRIPT,
+                new Object[] {ITEM_SELECTOR, sourceConfig.getMinItems()},
+                new Page.WaitForFunctionOptions().setTimeout(timeoutMillis)
+            );
+            return;
+        }
+        page.waitForSelector(ITEM_SELECTOR, new Page.WaitForSelectorOptions().setTimeout(timeoutMillis));
+    }
+
+    private WaitUntilState toWaitUntil(WaitStrategy waitStrategy) {
+        return switch (waitStrategy) {
+            case COMMIT, SELECTOR_ONLY -> WaitUntilState.COMMIT;
+            case DOMCONTENTLOADED -> WaitUntilState.DOMCONTENTLOADED;
+            case LOAD -> WaitUntilState.LOAD;
+            case NETWORKIDLE -> WaitUntilState.NETWORKIDLE;
+        };
+    }
+
+    private long remainingMillis(long deadline) {
+        // Playwright treats a zero timeout as "wait forever", so never hand it less than 1ms.
+        return Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+    }
+
+    private FetchStats stats(AtomicInteger blockedRequests, WaitStrategy waitStrategy, long waitMillis) {
+        return new FetchStats(blockedRequests.get(), waitStrategy, waitMillis);
+    }
+
+    private SourceResponse extractInPage(Page page,
+                                         String url,
+                                         Integer status,
+                                         String contentType,
+                                         FetchStats stats) {
+        Object result;
+        try {
+            result = page.evaluate(extractScript, BLOCK_PHRASES);
+        } catch (PlaywrightException ex) {
+            log.debug("In-page extraction failed url={}", url, ex);
+            return null;
+        }
+        if (!(result instanceof Map<?, ?> extracted)) {
+            return null;
+        }
+        if (Boolean.TRUE.equals(extracted.get("blocked"))) {
+            Object bodyPrefix = extracted.get("bodyPrefix");
+            throw new AccessDeniedException(
+                "blocked content detected",
+                url,
+                status,
+                contentType,
+                safeTitle(page),
+                bodyPrefix == null ? "" : bodyPrefix.toString()
+            );
+        }
+        if (!(extracted.get("items") instanceof String items) || "[]".equals(items)) {
+            return null;
+        }
+        return new SourceResponse(EXTRACTED_CONTENT_TYPE, items, url, stats);
+    }
+
     private boolean isRetryable(RenderedFetchException ex) {
         if (ex instanceof AccessDeniedException) {
             return false;
@@ -196,6 +444,22 @@ public class OliveYoungBrowserClient {
         return html.substring(0, BODY_PREFIX_LIMIT);
     }
 
+    private void closeQuietly(Page page) {
+        try {
+            page.close();
+        } catch (PlaywrightException ex) {
+            log.debug("Failed to close page", ex);
+        }
+    }
+
+    private static String loadScript(String path) {
+        try {
+            return new ClassPathResource(path).getContentAsString(StandardCharsets.UTF_8);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("failed to load " + path, ex);
+        }
+    }
+
     private void sleep(long backoffMillis) {
         if (backoffMillis <= 0) {
             return;
@@ -207,6 +471,26 @@ public class OliveYoungBrowserClient {
         }
     }
 
+    /**
+     * What one tab of a {@link #captureTabs} capture yielded, by category code.
+     */
+    public record CapturedTab(String category, SourceResponse response) {
+    }
+
+    private static final class Tab {
+        private final RankingCategory category;
+        private final String url;
+        private final Page page;
+        private Integer status;
+        private String contentType;
+
+        private Tab(RankingCategory category, String url, Page page) {
+            this.category = category;
+            this.url = url;
+            this.page = page;
+        }
+    }
+
     public static class RenderedFetchException extends RuntimeException {
         private final String url;
         private final Integer status;
@@ -1,6 +1,7 @@
 package com.analysiscore.infrastructure;
 
 import com.analysiscore.config.OyRankProperties;
+import com.analysiscore.model.FetchStats;
 import com.analysiscore.model.SourceConfig;
 import com.analysiscore.model.SourceResponse;
 import java.time.Duration;
@@ -14,12 +15,15 @@ import reactor.util.retry.Retry;
 @Component
 public class OliveYoungRankingClient {
     private static final String USER_AGENT = "Mozilla/5.0 (compatible; OYRankBot/1.0)";
+    private static final int MAX_BODY_BYTES = 8 * 1024 * 1024;
 
     private final WebClient webClient;
     private final OyRankProperties properties;
 
     public OliveYoungRankingClient(OyRankProperties properties) {
-        this.webClient = WebClient.builder().build();
+        this.webClient = WebClient.builder()
+            .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(MAX_BODY_BYTES))
+            .build();
         this.properties = properties;
     }
 
@@ -40,19 +44,39 @@ public class OliveYoungRankingClient {
                 String contentType = response.headers().contentType()
                     .map(MediaType::toString)
                     .orElse(null);
-                return response.bodyToMono(String.class)
-                    .defaultIfEmpty("")
+                return response.bodyToMono(byte[].class)
+                    .defaultIfEmpty(new byte[0])
                     .flatMap(body -> {
                         if (!response.statusCode().is2xxSuccessful()) {
-                            return Mono.error(new IllegalStateException("HTTP " + response.statusCode().value()));
+                            return Mono.error(new HttpStatusException(response.statusCode().value()));
                         }
-                        return Mono.just(new SourceResponse(contentType, body, url));
+                        return Mono.just(SourceResponse.ofBytes(contentType, body, url, FetchStats.empty()));
                     });
             })
             .timeout(Duration.ofMillis(timeoutMillis))
             .retryWhen(Retry.backoff(Math.max(0, maxAttempts - 1), Duration.ofMillis(backoffMillis))
-                .filter(ex -> !(ex instanceof IllegalStateException)));
+                .filter(ex -> !(ex instanceof HttpStatusException)));
 
         return responseMono.block();
     }
+
+    /**
+     * A non-2xx response. Not retried: the same request would get the same answer.
+     */
+    public static class HttpStatusException extends RuntimeException {
+        private final int status;
+
+        public HttpStatusException(int status) {
+            super("HTTP " + status);
+            this.status = status;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public boolean isAccessDenied() {
+            return status == 401 || status == 403 || status == 429;
+        }
+    }
 }
@@ -0,0 +1,95 @@
+package com.analysiscore.infrastructure;
+
+import com.analysiscore.config.OyRankProperties;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Request;
+import com.microsoft.playwright.Route;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.net.URI;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.stereotype.Component;
+
+/**
+ * Aborts sub-resource requests the parser never looks at (images, fonts, media, trackers) while a page renders.
+ * Rules come from {@code oyrank.http.blocking}; the top-level document is never blocked.
+ */
+@Component
+public class RequestBlocker {
+    private static final String REASON_RESOURCE_TYPE = "resource-type";
+    private static final String REASON_DENY_HOST = "deny-host";
+    private static final String REASON_NOT_ALLOWED = "not-allowed-host";
+
+    private final OyRankProperties.BlockingProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public RequestBlocker(OyRankProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties.getHttp().getBlocking();
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Installs the routing rules on {@code context} and returns a counter of requests aborted in it.
+     */
+    public AtomicInteger install(BrowserContext context) {
+        AtomicInteger blocked = new AtomicInteger();
+        if (!properties.isEnabled()) {
+            return blocked;
+        }
+        context.route("**/*", route -> handle(route, blocked));
+        return blocked;
+    }
+
+    private void handle(Route route, AtomicInteger blocked) {
+        String reason = blockReason(route.request());
+        if (reason == null) {
+            route.resume();
+            return;
+        }
+        blocked.incrementAndGet();
+        meterRegistry.counter("oyrank.browser.requests.blocked", "reason", reason).increment();
+        route.abort();
+    }
+
+    private String blockReason(Request request) {
+        String resourceType = request.resourceType();
+        if ("document".equals(resourceType) && request.frame().parentFrame() == null) {
+            return null;
+        }
+        if (properties.getResourceTypes().contains(resourceType)) {
+            return REASON_RESOURCE_TYPE;
+        }
+        String host = hostOf(request.url());
+        if (host == null) {
+            return null;
+        }
+        if (matchesAny(host, properties.getDenyHosts())) {
+            return REASON_DENY_HOST;
+        }
+        List<String> allowHosts = properties.getAllowHosts();
+        if (!allowHosts.isEmpty() && !matchesAny(host, allowHosts)) {
+            return REASON_NOT_ALLOWED;
+        }
+        return null;
+    }
+
+    private boolean matchesAny(String host, List<String> domains) {
+        for (String domain : domains) {
+            String normalized = domain.toLowerCase(Locale.ROOT);
+            if (host.equals(normalized) || host.endsWith("." + normalized)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String hostOf(String url) {
+        try {
+            String host = URI.create(url).getHost();
+            return host == null ? null : host.toLowerCase(Locale.ROOT);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+}
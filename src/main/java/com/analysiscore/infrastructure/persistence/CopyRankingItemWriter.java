@@ -0,0 +1,77 @@
+package com.analysiscore.infrastructure.persistence;
+
+import com.analysiscore.model.ResolvedRankingItem;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.List;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Streams ranking items through Postgres {@code COPY ... FROM STDIN} as CSV rows; every column is numeric, an
+ * ISO-8601 timestamp or a category code of {@code [A-Z0-9_]}, so nothing needs quoting. Falls back to
+ * {@link JdbcBatchRankingItemWriter} on any other database.
+ */
+@Component
+public class CopyRankingItemWriter implements RankingItemWriter {
+    private static final Logger log = LoggerFactory.getLogger(CopyRankingItemWriter.class);
+    private static final String COPY_SQL = "COPY ranking_item "
+        + "(snapshot_id, category, rank_value, product_id, price, hour_bucket_at) FROM STDIN WITH (FORMAT csv)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcBatchRankingItemWriter fallback;
+
+    public CopyRankingItemWriter(JdbcTemplate jdbcTemplate, JdbcBatchRankingItemWriter fallback) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public void write(long snapshotId, OffsetDateTime hourBucketAt, List<ResolvedRankingItem> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        Boolean copied = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            if (!connection.isWrapperFor(PGConnection.class)) {
+                return false;
+            }
+            copy(connection.unwrap(PGConnection.class), snapshotId, hourBucketAt, items);
+            return true;
+        });
+        if (!Boolean.TRUE.equals(copied)) {
+            log.debug("COPY is only available on Postgres, using JDBC batch for snapshot {}", snapshotId);
+            fallback.write(snapshotId, hourBucketAt, items);
+        }
+    }
+
+    private void copy(PGConnection connection, long snapshotId, OffsetDateTime hourBucketAt,
+                      List<ResolvedRankingItem> items) throws SQLException {
+        String bucket = hourBucketAt.toString();
+        CopyIn copyIn = connection.getCopyAPI().copyIn(COPY_SQL);
+        try {
+            StringBuilder row = new StringBuilder(64);
+            for (ResolvedRankingItem item : items) {
+                row.setLength(0);
+                row.append(snapshotId).append(',')
+                    .append(item.category()).append(',')
+                    .append(item.rank()).append(',')
+                    .append(item.productId()).append(',')
+                    .append(item.price()).append(',')
+                    .append(bucket).append('\n');
+                byte[] bytes = row.toString().getBytes(StandardCharsets.US_ASCII);
+                copyIn.writeToCopy(bytes, 0, bytes.length);
+            }
+            copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.analysiscore.infrastructure.persistence;
+
+import com.analysiscore.config.OyRankProperties;
+import com.analysiscore.model.ResolvedRankingItem;
+import java.time.OffsetDateTime;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sends ranking items as JDBC batches instead of one INSERT round-trip per row.
+ * On Postgres, {@code reWriteBatchedInserts=true} additionally folds each batch into multi-row INSERTs.
+ */
+@Component
+public class JdbcBatchRankingItemWriter implements RankingItemWriter {
+    static final String INSERT_SQL = "INSERT INTO ranking_item "
+        + "(snapshot_id, category, rank_value, product_id, price, hour_bucket_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OyRankProperties.PersistenceProperties properties;
+
+    public JdbcBatchRankingItemWriter(JdbcTemplate jdbcTemplate, OyRankProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties.getPersistence();
+    }
+
+    @Override
+    public void write(long snapshotId, OffsetDateTime hourBucketAt, List<ResolvedRankingItem> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, items, Math.max(1, properties.getBatchSize()), (ps, item) -> {
+            ps.setLong(1, snapshotId);
+            ps.setString(2, item.category());
+            ps.setInt(3, item.rank());
+            ps.setLong(4, item.productId());
+            ps.setLong(5, item.price());
+            ps.setObject(6, hourBucketAt);
+        });
+    }
+}
@@ -0,0 +1,99 @@
+package com.analysiscore.infrastructure.persistence;
+
+import com.analysiscore.config.OyRankProperties;
+import com.analysiscore.model.TimeBucket;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Time-bounded lease in {@code job_lock}, keyed by the numeric {@code bucket_key}, so that only one replica
+ * collects a given source and bucket. An expired lease can be taken over, which covers a node that died mid-run.
+ * Every acquisition writes its own token, the node owner plus a random id, and is released by that token only, so
+ * neither two callers in one process nor nodes configured with the same owner can share or free each other's lease.
+ * Statements run outside any transaction: a failed INSERT must not poison a surrounding Postgres transaction.
+ */
+@Component
+public class JdbcJobLockManager {
+    private static final String TAKE_OVER_SQL = "UPDATE job_lock SET locked_by = ?, locked_at = ?, locked_until = ? "
+        + "WHERE bucket_key = ? AND locked_until <= ?";
+    private static final String INSERT_SQL = "INSERT INTO job_lock "
+        + "(bucket_key, source, locked_by, locked_at, locked_until) VALUES (?, ?, ?, ?, ?)";
+    private static final String RELEASE_SQL = "DELETE FROM job_lock "
+        + "WHERE bucket_key = ? AND locked_by = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OyRankProperties.LockProperties properties;
+    private final String owner;
+
+    public JdbcJobLockManager(JdbcTemplate jdbcTemplate, OyRankProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties.getLock();
+        this.owner = resolveOwner(this.properties.getOwner());
+    }
+
+    /**
+     * Takes the lease for {@code bucket}; empty while any unexpired lease on it exists, including one taken
+     * earlier by this node.
+     */
+    public Optional<Lease> tryAcquire(TimeBucket bucket) {
+        Duration duration = Duration.ofMillis(properties.getLeaseMillis());
+        return tryAcquire(bucket.getKey(), bucket.getSource().getCode(), duration);
+    }
+
+    /**
+     * Takes the lease on {@code key} for {@code duration}. {@code label} fills the {@code source} column.
+     */
+    public Optional<Lease> tryAcquire(long key, String label, Duration duration) {
+        Lease lease = new Lease(key, owner + ":" + UUID.randomUUID());
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        OffsetDateTime until = now.plus(duration);
+        if (jdbcTemplate.update(TAKE_OVER_SQL, lease.token(), now, until, key, now) > 0) {
+            return Optional.of(lease);
+        }
+        try {
+            return jdbcTemplate.update(INSERT_SQL, key, label, lease.token(), now, until) > 0
+                ? Optional.of(lease)
+                : Optional.empty();
+        } catch (DuplicateKeyException ex) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Ends {@code lease}; a no-op when it expired and was taken over meanwhile.
+     */
+    public void release(Lease lease) {
+        jdbcTemplate.update(RELEASE_SQL, lease.key(), lease.token());
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    private static String resolveOwner(String configured) {
+        if (configured != null && !configured.isBlank()) {
+            return configured;
+        }
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException ex) {
+            host = "unknown";
+        }
+        return host + ":" + ProcessHandle.current().pid();
+    }
+
+    /**
+     * A held lease: the {@code job_lock} key and the token written to {@code locked_by}.
+     */
+    public record Lease(long key, String token) {
+    }
+}
@@ -0,0 +1,132 @@
+package com.analysiscore.infrastructure.persistence;
+
+import com.analysiscore.model.SnapshotStatus;
+import com.analysiscore.model.TimeBucket;
+import java.time.OffsetDateTime;
+import java.util.Locale;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes the single {@code ranking_snapshot} row of a time bucket, identified by its numeric {@code bucket_key}. A new row is inserted, a failed
+ * attempt is replaced in place, and a SUCCESS or UNCHANGED row is never touched.
+ * Uses {@code INSERT ... ON CONFLICT} on Postgres (whose partitioned unique key also holds {@code hour_bucket_at},
+ * which {@code bucket_key} determines) and {@code MERGE} on H2; other databases update first and insert
+ * when nothing matched.
+ */
+@Component
+public class JdbcSnapshotUpserter {
+    private static final String COLUMNS = "source, captured_at, hour_bucket_at, hour_bucket_key, bucket_key, raw_url, "
+        + "status, error_message, item_count, content_hash, base_snapshot_id, last_seen_at";
+    private static final String COMPLETE_STATUSES = "('SUCCESS', 'UNCHANGED')";
+    private static final String POSTGRES_SQL = "INSERT INTO ranking_snapshot (" + COLUMNS + ") "
+        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) "
+        + "ON CONFLICT (bucket_key, hour_bucket_at) DO UPDATE SET "
+        + "captured_at = EXCLUDED.captured_at, raw_url = EXCLUDED.raw_url, "
+        + "status = EXCLUDED.status, error_message = EXCLUDED.error_message, item_count = EXCLUDED.item_count, "
+        + "content_hash = EXCLUDED.content_hash, base_snapshot_id = EXCLUDED.base_snapshot_id, "
+        + "last_seen_at = EXCLUDED.last_seen_at "
+        + "WHERE ranking_snapshot.status NOT IN " + COMPLETE_STATUSES;
+    private static final String H2_SQL = "MERGE INTO ranking_snapshot t USING (SELECT "
+        + "CAST(? AS VARCHAR(50)) AS source, CAST(? AS TIMESTAMP WITH TIME ZONE) AS captured_at, "
+        + "CAST(? AS TIMESTAMP WITH TIME ZONE) AS hour_bucket_at, CAST(? AS VARCHAR(100)) AS hour_bucket_key, "
+        + "CAST(? AS BIGINT) AS bucket_key, CAST(? AS VARCHAR(500)) AS raw_url, CAST(? AS VARCHAR(20)) AS status, "
+        + "CAST(? AS VARCHAR(1000)) AS error_message, CAST(? AS INTEGER) AS item_count, "
+        + "CAST(? AS VARCHAR(64)) AS content_hash, CAST(? AS BIGINT) AS base_snapshot_id, "
+        + "CAST(? AS TIMESTAMP WITH TIME ZONE) AS last_seen_at) s "
+        + "ON t.bucket_key = s.bucket_key "
+        + "WHEN MATCHED AND t.status NOT IN " + COMPLETE_STATUSES + " THEN UPDATE SET "
+        + "captured_at = s.captured_at, hour_bucket_at = s.hour_bucket_at, raw_url = s.raw_url, "
+        + "status = s.status, error_message = s.error_message, item_count = s.item_count, "
+        + "content_hash = s.content_hash, base_snapshot_id = s.base_snapshot_id, last_seen_at = s.last_seen_at "
+        + "WHEN NOT MATCHED THEN INSERT (" + COLUMNS + ") "
+        + "VALUES (s.source, s.captured_at, s.hour_bucket_at, s.hour_bucket_key, s.bucket_key, s.raw_url, s.status, "
+        + "s.error_message, s.item_count, s.content_hash, s.base_snapshot_id, s.last_seen_at)";
+    private static final String UPDATE_SQL = "UPDATE ranking_snapshot SET captured_at = ?, hour_bucket_at = ?, "
+        + "raw_url = ?, status = ?, error_message = ?, item_count = ?, content_hash = ?, base_snapshot_id = ?, "
+        + "last_seen_at = ? "
+        + "WHERE bucket_key = ? AND status NOT IN " + COMPLETE_STATUSES;
+    private static final String INSERT_SQL = "INSERT INTO ranking_snapshot (" + COLUMNS + ") "
+        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Dialect dialect;
+
+    public JdbcSnapshotUpserter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Returns {@code true} when the row was inserted or replaced, {@code false} when a complete (SUCCESS or
+     * UNCHANGED) snapshot already owns the bucket. {@code last_seen_at} starts at {@code capturedAt}.
+     */
+    public boolean upsert(TimeBucket bucket,
+                          OffsetDateTime capturedAt,
+                          String rawUrl,
+                          SnapshotStatus status,
+                          String errorMessage,
+                          int itemCount,
+                          String contentHash,
+                          Long baseSnapshotId) {
+        Object[] insertArgs = {
+            bucket.getSource().getCode(), capturedAt, bucket.getStartAt(), bucket.getDisplayKey(), bucket.getKey(), rawUrl,
+            status.name(), errorMessage, itemCount, contentHash, baseSnapshotId, capturedAt
+        };
+        try {
+            return switch (dialect()) {
+                case POSTGRES -> jdbcTemplate.update(POSTGRES_SQL, insertArgs) > 0;
+                case H2 -> jdbcTemplate.update(H2_SQL, insertArgs) > 0;
+                case OTHER -> updateOrInsert(insertArgs);
+            };
+        } catch (DuplicateKeyException ex) {
+            // A concurrent writer inserted the bucket between our check and insert; its row wins.
+            return false;
+        }
+    }
+
+    private boolean updateOrInsert(Object[] insertArgs) {
+        Object bucketKey = insertArgs[4];
+        int updated = jdbcTemplate.update(UPDATE_SQL,
+            insertArgs[1], insertArgs[2], insertArgs[5], insertArgs[6], insertArgs[7], insertArgs[8],
+            insertArgs[9], insertArgs[10], insertArgs[11], bucketKey);
+        if (updated > 0) {
+            return true;
+        }
+        Integer existing = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM ranking_snapshot WHERE bucket_key = ?", Integer.class, bucketKey
+        );
+        if (existing != null && existing > 0) {
+            return false;
+        }
+        return jdbcTemplate.update(INSERT_SQL, insertArgs) > 0;
+    }
+
+    private Dialect dialect() {
+        Dialect resolved = dialect;
+        if (resolved == null) {
+            String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName()
+            );
+            resolved = Dialect.of(product);
+            dialect = resolved;
+        }
+        return resolved;
+    }
+
+    private enum Dialect {
+        POSTGRES, H2, OTHER;
+
+        private static Dialect of(String productName) {
+            String name = productName == null ? "" : productName.toLowerCase(Locale.ROOT);
+            if (name.contains("postgres")) {
+                return POSTGRES;
+            }
+            if (name.equals("h2")) {
+                return H2;
+            }
+            return OTHER;
+        }
+    }
+}
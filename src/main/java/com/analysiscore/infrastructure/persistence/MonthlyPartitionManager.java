@@ -0,0 +1,91 @@
+package com.analysiscore.infrastructure.persistence;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Monthly range partitions of the Postgres tables partitioned by {@code V2__monthly_partitions.sql}. Each partition
+ * covers one UTC month and is named {@code <table>_pYYYYMM}. Other databases have no partitions, which
+ * {@link #isSupported()} reports.
+ */
+@Component
+public class MonthlyPartitionManager {
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final Pattern TABLE_NAME = Pattern.compile("[a-z_]+");
+    private static final String LIST_SQL = "SELECT c.relname FROM pg_inherits i "
+        + "JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = to_regclass(?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Boolean supported;
+
+    public MonthlyPartitionManager(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public boolean isSupported() {
+        Boolean resolved = supported;
+        if (resolved == null) {
+            String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName()
+            );
+            resolved = product != null && product.toLowerCase(Locale.ROOT).contains("postgres");
+            supported = resolved;
+        }
+        return resolved;
+    }
+
+    /**
+     * Creates the partition of {@code table} for {@code month} unless it exists.
+     */
+    public void ensure(String table, YearMonth month) {
+        jdbcTemplate.queryForObject(
+            "SELECT ensure_monthly_partition(?, ?)", String.class, checked(table), month.atDay(1)
+        );
+    }
+
+    /**
+     * Months that currently have a partition of {@code table}, in ascending order.
+     */
+    public List<YearMonth> months(String table) {
+        String prefix = checked(table) + "_p";
+        List<YearMonth> months = new ArrayList<>();
+        for (String name : jdbcTemplate.queryForList(LIST_SQL, String.class, table)) {
+            if (!name.startsWith(prefix)) {
+                continue;
+            }
+            try {
+                months.add(YearMonth.parse(name.substring(prefix.length()), SUFFIX));
+            } catch (DateTimeParseException ex) {
+                // Not one of ours (e.g. a manually attached partition); leave it alone.
+            }
+        }
+        months.sort(null);
+        return months;
+    }
+
+    /**
+     * Drops the partition of {@code table} for {@code month} with all its rows. Joins the caller's transaction.
+     */
+    public void drop(String table, YearMonth month) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + partitionName(table, month));
+    }
+
+    public static String partitionName(String table, YearMonth month) {
+        return checked(table) + "_p" + month.format(SUFFIX);
+    }
+
+    private static String checked(String table) {
+        if (!TABLE_NAME.matcher(table).matches()) {
+            throw new IllegalArgumentException("invalid table name: " + table);
+        }
+        return table;
+    }
+}
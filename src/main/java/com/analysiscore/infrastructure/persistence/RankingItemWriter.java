@@ -0,0 +1,14 @@
+package com.analysiscore.infrastructure.persistence;
+
+import com.analysiscore.model.ResolvedRankingItem;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Bulk insert path for the items of an already persisted snapshot.
+ * Implementations join the caller's transaction. {@code hourBucketAt} is the snapshot's, which rows carry as their
+ * partition key.
+ */
+public interface RankingItemWriter {
+    void write(long snapshotId, OffsetDateTime hourBucketAt, List<ResolvedRankingItem> items);
+}
@@ -0,0 +1,40 @@
+package com.analysiscore.model;
+
+import java.time.format.DateTimeFormatter;
+
+public enum BucketGranularity {
+    TEN_MINUTES("10m", 10, "yyyyMMddHHmmxx"),
+    HOUR("1h", 60, "yyyyMMddHHxx"),
+    DAY("1d", 24 * 60, "yyyyMMddxx");
+
+    private final String code;
+    private final int minutes;
+    private final DateTimeFormatter keyFormatter;
+
+    BucketGranularity(String code, int minutes, String keyPattern) {
+        this.code = code;
+        this.minutes = minutes;
+        this.keyFormatter = DateTimeFormatter.ofPattern(keyPattern);
+    }
+
+    public static BucketGranularity fromCode(String code) {
+        for (BucketGranularity granularity : values()) {
+            if (granularity.code.equalsIgnoreCase(code)) {
+                return granularity;
+            }
+        }
+        throw new IllegalArgumentException("unsupported granularity: " + code + " (use 10m, 1h or 1d)");
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public int getMinutes() {
+        return minutes;
+    }
+
+    DateTimeFormatter getKeyFormatter() {
+        return keyFormatter;
+    }
+}
@@ -0,0 +1,128 @@
+package com.analysiscore.model;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Rank and price of one product for each hour of one day, stored as a compact blob.
+ * <p>
+ * Layout (version 1): one version byte, a 4-byte big-endian mask of the hours present (bit {@code h} = hour
+ * {@code h}), then for every present hour in order the zigzag varint deltas of rank and price against the previous
+ * present hour (starting from 0). A full day of a stable product is around 60 bytes.
+ */
+public final class DailyRankSeries {
+    public static final int HOURS = 24;
+    private static final byte VERSION = 1;
+
+    private final int[] ranks = new int[HOURS];
+    private final long[] prices = new long[HOURS];
+    private int presentMask;
+
+    /**
+     * @throws IllegalArgumentException if {@code data} has an unknown version or is truncated
+     */
+    public static DailyRankSeries decode(byte[] data) {
+        DailyRankSeries series = new DailyRankSeries();
+        if (data == null || data.length == 0) {
+            return series;
+        }
+        try {
+            decodeInto(series, ByteBuffer.wrap(data));
+        } catch (BufferUnderflowException ex) {
+            throw new IllegalArgumentException("truncated series of " + data.length + " bytes", ex);
+        }
+        return series;
+    }
+
+    private static void decodeInto(DailyRankSeries series, ByteBuffer buffer) {
+        byte version = buffer.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("unsupported series version: " + version);
+        }
+        series.presentMask = buffer.getInt();
+        long rank = 0;
+        long price = 0;
+        for (int hour = 0; hour < HOURS; hour++) {
+            if (!series.has(hour)) {
+                continue;
+            }
+            rank += readZigzag(buffer);
+            price += readZigzag(buffer);
+            series.ranks[hour] = (int) rank;
+            series.prices[hour] = price;
+        }
+    }
+
+    public byte[] encode() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(5 + Integer.bitCount(presentMask) * 4);
+        out.write(VERSION);
+        out.write(presentMask >>> 24);
+        out.write(presentMask >>> 16);
+        out.write(presentMask >>> 8);
+        out.write(presentMask);
+        long rank = 0;
+        long price = 0;
+        for (int hour = 0; hour < HOURS; hour++) {
+            if (!has(hour)) {
+                continue;
+            }
+            writeZigzag(out, ranks[hour] - rank);
+            writeZigzag(out, prices[hour] - price);
+            rank = ranks[hour];
+            price = prices[hour];
+        }
+        return out.toByteArray();
+    }
+
+    public void put(int hour, int rank, long price) {
+        checkHour(hour);
+        ranks[hour] = rank;
+        prices[hour] = price;
+        presentMask |= 1 << hour;
+    }
+
+    public boolean has(int hour) {
+        checkHour(hour);
+        return (presentMask & (1 << hour)) != 0;
+    }
+
+    public int rank(int hour) {
+        return ranks[hour];
+    }
+
+    public long price(int hour) {
+        return prices[hour];
+    }
+
+    public boolean isEmpty() {
+        return presentMask == 0;
+    }
+
+    private static void checkHour(int hour) {
+        if (hour < 0 || hour >= HOURS) {
+            throw new IllegalArgumentException("hour out of range: " + hour);
+        }
+    }
+
+    private static void writeZigzag(ByteArrayOutputStream out, long value) {
+        long encoded = (value << 1) ^ (value >> 63);
+        while ((encoded & ~0x7FL) != 0) {
+            out.write((int) ((encoded & 0x7F) | 0x80));
+            encoded >>>= 7;
+        }
+        out.write((int) encoded);
+    }
+
+    private static long readZigzag(ByteBuffer buffer) {
+        long encoded = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            encoded |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return (encoded >>> 1) ^ -(encoded & 1);
+    }
+}
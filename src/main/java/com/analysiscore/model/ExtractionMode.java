@@ -0,0 +1,6 @@
+package com.analysiscore.model;
+
+public enum ExtractionMode {
+    IN_PAGE,
+    HTML
+}
@@ -0,0 +1,31 @@
+package com.analysiscore.model;
+
+public final class FetchStats {
+    private static final FetchStats EMPTY = new FetchStats(0, null, 0);
+
+    private final int blockedRequests;
+    private final WaitStrategy waitStrategy;
+    private final long waitMillis;
+
+    public FetchStats(int blockedRequests, WaitStrategy waitStrategy, long waitMillis) {
+        this.blockedRequests = blockedRequests;
+        this.waitStrategy = waitStrategy;
+        this.waitMillis = waitMillis;
+    }
+
+    public static FetchStats empty() {
+        return EMPTY;
+    }
+
+    public int getBlockedRequests() {
+        return blockedRequests;
+    }
+
+    public WaitStrategy getWaitStrategy() {
+        return waitStrategy;
+    }
+
+    public long getWaitMillis() {
+        return waitMillis;
+    }
+}
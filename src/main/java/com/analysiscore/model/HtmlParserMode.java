@@ -0,0 +1,6 @@
+package com.analysiscore.model;
+
+public enum HtmlParserMode {
+    JSOUP,
+    STREAMING
+}
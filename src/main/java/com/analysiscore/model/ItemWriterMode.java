@@ -0,0 +1,7 @@
+package com.analysiscore.model;
+
+public enum ItemWriterMode {
+    JPA,
+    JDBC_BATCH,
+    COPY
+}
@@ -0,0 +1,34 @@
+package com.analysiscore.model;
+
+import java.time.Duration;
+
+public enum MoverWindow {
+    HOUR("1h", Duration.ofHours(1)),
+    DAY("24h", Duration.ofHours(24)),
+    WEEK("7d", Duration.ofDays(7));
+
+    private final String code;
+    private final Duration duration;
+
+    MoverWindow(String code, Duration duration) {
+        this.code = code;
+        this.duration = duration;
+    }
+
+    public static MoverWindow fromCode(String code) {
+        for (MoverWindow window : values()) {
+            if (window.code.equalsIgnoreCase(code)) {
+                return window;
+            }
+        }
+        throw new IllegalArgumentException("unsupported window: " + code + " (use 1h, 24h or 7d)");
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+}
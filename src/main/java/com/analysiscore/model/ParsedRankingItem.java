@@ -0,0 +1,67 @@
+package com.analysiscore.model;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * One ranking entry as read from the source page, before its product is resolved to a dimension row. Ranks are
+ * unique per {@code category}; items of the main list carry {@link RankingCategory#ALL}.
+ */
+public record ParsedRankingItem(
+    int rank,
+    String brandName,
+    String productName,
+    long price,
+    String productUrl,
+    String imageUrl,
+    String category
+) {
+    private static final Pattern GOODS_NO = Pattern.compile("[?&]goodsNo=([A-Za-z0-9]+)");
+    static final String NAME_KEY_PREFIX = "name:";
+
+    public ParsedRankingItem {
+        if (category == null) {
+            category = RankingCategory.ALL;
+        }
+    }
+
+    public ParsedRankingItem(int rank,
+                             String brandName,
+                             String productName,
+                             long price,
+                             String productUrl,
+                             String imageUrl) {
+        this(rank, brandName, productName, price, productUrl, imageUrl, RankingCategory.ALL);
+    }
+
+    public ParsedRankingItem withCategory(String category) {
+        return new ParsedRankingItem(rank, brandName, productName, price, productUrl, imageUrl, category);
+    }
+
+    /**
+     * Stable product key: the {@code goodsNo} of the OliveYoung goods URL, or {@code name:<md5(brand|product)>}
+     * when the URL carries none. The fallback matches the SQL used to migrate existing rows.
+     */
+    public String productKey() {
+        if (productUrl != null) {
+            Matcher matcher = GOODS_NO.matcher(productUrl);
+            if (matcher.find()) {
+                return matcher.group(1);
+            }
+        }
+        return NAME_KEY_PREFIX + md5Hex(brandName + "|" + productName);
+    }
+
+    private static String md5Hex(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("MD5");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("MD5 not available", ex);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.analysiscore.model;
+
+public enum RankChangeType {
+    RISER,
+    FALLER,
+    NEW,
+    DROPPED
+}
@@ -0,0 +1,20 @@
+package com.analysiscore.model;
+
+import java.util.Objects;
+
+/**
+ * One list captured for a source: the main ranking at {@code bestListPath}, coded {@link #ALL}, or a category tab
+ * of the same page at its own {@code path}. Every stored item carries the code of the list it was read from.
+ */
+public record RankingCategory(String code, String path) {
+    public static final String ALL = "ALL";
+
+    public RankingCategory {
+        Objects.requireNonNull(code, "code");
+        Objects.requireNonNull(path, "path");
+    }
+
+    public boolean isAll() {
+        return ALL.equals(code);
+    }
+}
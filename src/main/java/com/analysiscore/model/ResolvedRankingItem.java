@@ -0,0 +1,26 @@
+package com.analysiscore.model;
+
+/**
+ * A parsed ranking entry together with the id of its {@code product} dimension row.
+ */
+public record ResolvedRankingItem(ParsedRankingItem item, long productId) {
+
+    public int rank() {
+        return item.rank();
+    }
+
+    public long price() {
+        return item.price();
+    }
+
+    public String category() {
+        return item.category();
+    }
+
+    /**
+     * Whether the item belongs to the main list, which is what rank changes and product series follow.
+     */
+    public boolean isMainList() {
+        return RankingCategory.ALL.equals(item.category());
+    }
+}
@@ -2,5 +2,16 @@ package com.analysiscore.model;
 
 public enum SnapshotStatus {
     SUCCESS,
-    FAILED
+    FAILED,
+    /**
+     * Same content as an earlier SUCCESS snapshot, referenced by {@code base_snapshot_id}; has no item rows.
+     */
+    UNCHANGED;
+
+    /**
+     * Whether a snapshot with this status completes its hour bucket, so the bucket is not collected again.
+     */
+    public boolean isComplete() {
+        return this != FAILED;
+    }
 }
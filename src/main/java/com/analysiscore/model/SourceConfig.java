@@ -1,6 +1,8 @@
 package com.analysiscore.model;
 
 import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 public final class SourceConfig {
@@ -8,12 +10,63 @@ public final class SourceConfig {
     private final String baseUrl;
     private final String bestListPath;
     private final ZoneOffset offset;
+    private final ExtractionMode extractionMode;
+    private final WaitStrategy waitStrategy;
+    private final int minItems;
+    private final Long timeoutMillis;
+    private final List<FetchTier> tiers;
+    private final HtmlParserMode htmlParser;
+    private final BucketGranularity bucketGranularity;
+    private final List<RankingCategory> categories;
+    private final int maxScrolls;
 
     public SourceConfig(SourceType source, String baseUrl, String bestListPath, ZoneOffset offset) {
+        this(
+            source,
+            baseUrl,
+            bestListPath,
+            offset,
+            ExtractionMode.IN_PAGE,
+            WaitStrategy.NETWORKIDLE,
+            1,
+            null,
+            List.of(FetchTier.BROWSER),
+            HtmlParserMode.JSOUP,
+            BucketGranularity.HOUR,
+            List.of(),
+            0
+        );
+    }
+
+    public SourceConfig(SourceType source,
+                        String baseUrl,
+                        String bestListPath,
+                        ZoneOffset offset,
+                        ExtractionMode extractionMode,
+                        WaitStrategy waitStrategy,
+                        int minItems,
+                        Long timeoutMillis,
+                        List<FetchTier> tiers,
+                        HtmlParserMode htmlParser,
+                        BucketGranularity bucketGranularity,
+                        List<RankingCategory> categories,
+                        int maxScrolls) {
         this.source = Objects.requireNonNull(source, "source");
         this.baseUrl = Objects.requireNonNull(baseUrl, "baseUrl");
         this.bestListPath = Objects.requireNonNull(bestListPath, "bestListPath");
         this.offset = Objects.requireNonNull(offset, "offset");
+        this.extractionMode = Objects.requireNonNull(extractionMode, "extractionMode");
+        this.waitStrategy = Objects.requireNonNull(waitStrategy, "waitStrategy");
+        this.minItems = Math.max(1, minItems);
+        this.timeoutMillis = timeoutMillis;
+        this.tiers = List.copyOf(Objects.requireNonNull(tiers, "tiers"));
+        if (this.tiers.isEmpty()) {
+            throw new IllegalArgumentException("at least one fetch tier is required");
+        }
+        this.htmlParser = Objects.requireNonNull(htmlParser, "htmlParser");
+        this.bucketGranularity = Objects.requireNonNull(bucketGranularity, "bucketGranularity");
+        this.categories = List.copyOf(Objects.requireNonNull(categories, "categories"));
+        this.maxScrolls = Math.max(0, maxScrolls);
     }
 
     public SourceType getSource() {
@@ -32,13 +85,79 @@ public final class SourceConfig {
         return offset;
     }
 
+    public ExtractionMode getExtractionMode() {
+        return extractionMode;
+    }
+
+    public WaitStrategy getWaitStrategy() {
+        return waitStrategy;
+    }
+
+    public int getMinItems() {
+        return minItems;
+    }
+
+    /**
+     * Overall render budget for one attempt, or {@code null} to use {@code oyrank.http.timeoutMillis}.
+     */
+    public Long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    /**
+     * Fetch tiers in escalation order, cheapest first.
+     */
+    public List<FetchTier> getTiers() {
+        return tiers;
+    }
+
+    public HtmlParserMode getHtmlParser() {
+        return htmlParser;
+    }
+
+    public BucketGranularity getBucketGranularity() {
+        return bucketGranularity;
+    }
+
+    /**
+     * Category tabs captured next to the main list; empty when only the main list is collected.
+     */
+    public List<RankingCategory> getCategories() {
+        return categories;
+    }
+
+    public int getMaxScrolls() {
+        return maxScrolls;
+    }
+
+    /**
+     * Whether the browser tier captures several pages (category tabs or scrolled lists) instead of one render.
+     */
+    public boolean isTabCapture() {
+        return !categories.isEmpty() || maxScrolls > 0;
+    }
+
+    /**
+     * The main list followed by every category tab, in capture order.
+     */
+    public List<RankingCategory> captureTabs() {
+        List<RankingCategory> tabs = new ArrayList<>(categories.size() + 1);
+        tabs.add(new RankingCategory(RankingCategory.ALL, bestListPath));
+        tabs.addAll(categories);
+        return tabs;
+    }
+
     public String resolveUrl() {
-        if (bestListPath.startsWith("http")) {
-            return bestListPath;
+        return resolveUrl(bestListPath);
+    }
+
+    public String resolveUrl(String path) {
+        if (path.startsWith("http")) {
+            return path;
         }
-        if (baseUrl.endsWith("/") && bestListPath.startsWith("/")) {
-            return baseUrl.substring(0, baseUrl.length() - 1) + bestListPath;
+        if (baseUrl.endsWith("/") && path.startsWith("/")) {
+            return baseUrl.substring(0, baseUrl.length() - 1) + path;
         }
-        return baseUrl + bestListPath;
+        return baseUrl + path;
     }
 }
@@ -1,27 +1,87 @@
 package com.analysiscore.model;
 
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
 import java.util.Objects;
 
 public final class SourceResponse {
     private final String contentType;
     private final String body;
+    private final byte[] bytes;
     private final String rawUrl;
+    private final FetchStats stats;
 
     public SourceResponse(String contentType, String body, String rawUrl) {
+        this(contentType, body, rawUrl, FetchStats.empty());
+    }
+
+    public SourceResponse(String contentType, String body, String rawUrl, FetchStats stats) {
+        this(contentType, Objects.requireNonNull(body, "body"), null, rawUrl, stats);
+    }
+
+    private SourceResponse(String contentType, String body, byte[] bytes, String rawUrl, FetchStats stats) {
         this.contentType = contentType;
-        this.body = Objects.requireNonNull(body, "body");
+        this.body = body;
+        this.bytes = bytes;
         this.rawUrl = Objects.requireNonNull(rawUrl, "rawUrl");
+        this.stats = Objects.requireNonNull(stats, "stats");
+    }
+
+    /**
+     * Keeps the raw response bytes so the parser can tokenize them without building a {@code String} first.
+     */
+    public static SourceResponse ofBytes(String contentType, byte[] bytes, String rawUrl, FetchStats stats) {
+        return new SourceResponse(contentType, null, Objects.requireNonNull(bytes, "bytes"), rawUrl, stats);
     }
 
     public String getContentType() {
         return contentType;
     }
 
+    /**
+     * Returns the body as text, decoding the raw bytes with the content-type charset (UTF-8 by default) when the
+     * response was created with {@link #ofBytes}.
+     */
     public String getBody() {
-        return body;
+        if (body != null) {
+            return body;
+        }
+        return new String(bytes, charsetOf(contentType));
+    }
+
+    public boolean hasBytes() {
+        return bytes != null;
+    }
+
+    public byte[] getBytes() {
+        return bytes;
     }
 
     public String getRawUrl() {
         return rawUrl;
     }
+
+    public FetchStats getStats() {
+        return stats;
+    }
+
+    /**
+     * Charset declared in a {@code Content-Type} header value, or UTF-8 when absent or unknown.
+     */
+    public static Charset charsetOf(String contentType) {
+        if (contentType == null) {
+            return StandardCharsets.UTF_8;
+        }
+        int index = contentType.toLowerCase(Locale.ROOT).indexOf("charset=");
+        if (index < 0) {
+            return StandardCharsets.UTF_8;
+        }
+        String name = contentType.substring(index + "charset=".length()).split(";")[0].replace("\"", "").trim();
+        try {
+            return Charset.forName(name);
+        } catch (IllegalArgumentException ex) {
+            return StandardCharsets.UTF_8;
+        }
+    }
 }
@@ -1,5 +1,97 @@
 package com.analysiscore.model;
 
-public enum SourceType {
-    OLIVEYOUNG_KR
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * A collected ranking list, identified by its code (e.g. {@code OLIVEYOUNG_KR}). Sources are declared under
+ * {@code oyrank.sources} and registered at startup; {@link #valueOf(String)} resolves request parameters, JSON and
+ * stored values against that registry. {@link #getId()} is stored in the low byte of every {@link TimeBucket} key,
+ * so ids must stay stable and lie in 1..255; a retired source should stay registered (disabled) while its data is
+ * kept.
+ */
+public final class SourceType {
+    public static final int MAX_ID = 255;
+    private static final Pattern CODE = Pattern.compile("[A-Z][A-Z0-9_]{0,49}");
+    private static final Map<String, SourceType> BY_CODE = new ConcurrentHashMap<>();
+    private static final Map<Integer, SourceType> BY_ID = new ConcurrentHashMap<>();
+
+    private final String code;
+    private final int id;
+
+    private SourceType(String code, int id) {
+        this.code = code;
+        this.id = id;
+    }
+
+    /**
+     * Registers {@code code} with {@code id}; registering the same pair again returns the existing instance.
+     */
+    public static synchronized SourceType register(String code, int id) {
+        if (code == null || !CODE.matcher(code).matches()) {
+            throw new IllegalArgumentException("invalid source code: " + code);
+        }
+        if (id < 1 || id > MAX_ID) {
+            throw new IllegalArgumentException("source id must be in 1.." + MAX_ID + ": " + code + "=" + id);
+        }
+        SourceType existing = BY_CODE.get(code);
+        if (existing != null) {
+            if (existing.id != id) {
+                throw new IllegalStateException("source " + code + " is already registered with id " + existing.id);
+            }
+            return existing;
+        }
+        SourceType taken = BY_ID.get(id);
+        if (taken != null) {
+            throw new IllegalStateException("source id " + id + " is already used by " + taken.code);
+        }
+        SourceType source = new SourceType(code, id);
+        BY_CODE.put(code, source);
+        BY_ID.put(id, source);
+        return source;
+    }
+
+    @JsonCreator
+    public static SourceType valueOf(String code) {
+        SourceType source = code == null ? null : BY_CODE.get(code);
+        if (source == null) {
+            throw new IllegalArgumentException("unknown source: " + code);
+        }
+        return source;
+    }
+
+    public static SourceType fromId(int id) {
+        SourceType source = BY_ID.get(id);
+        if (source == null) {
+            throw new IllegalArgumentException("unknown source id: " + id);
+        }
+        return source;
+    }
+
+    @JsonValue
+    public String getCode() {
+        return code;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || other instanceof SourceType source && code.equals(source.code);
+    }
+
+    @Override
+    public int hashCode() {
+        return code.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return code;
+    }
 }
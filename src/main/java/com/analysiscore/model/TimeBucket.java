@@ -0,0 +1,102 @@
+package com.analysiscore.model;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fixed-size time bucket of a source, aligned in the source offset. {@link #getKey()} is the numeric storage key:
+ * the bucket start in epoch minutes shifted left by 8 bits, with the source id in the low byte, so keys of one
+ * source sort by time and a range of buckets is a range of keys. The granularity is not part of the key; a source
+ * collects at one granularity. {@link #getDisplayKey()} keeps the readable {@code SOURCE|yyyyMMddHH+0900} form.
+ * <p>
+ * Consecutive calls mostly land in the same bucket, so the last bucket per source and granularity is reused and
+ * computing it allocates nothing.
+ */
+public final class TimeBucket {
+    private static final int SOURCE_BITS = 8;
+    private static final long SOURCE_MASK = (1L << SOURCE_BITS) - 1;
+    private static final Map<Integer, TimeBucket> LAST = new ConcurrentHashMap<>();
+
+    private final SourceType source;
+    private final BucketGranularity granularity;
+    private final long startEpochMinute;
+    private final OffsetDateTime startAt;
+    private final long key;
+    private volatile String displayKey;
+
+    private TimeBucket(SourceType source, BucketGranularity granularity, long startEpochMinute, ZoneOffset offset) {
+        this.source = source;
+        this.granularity = granularity;
+        this.startEpochMinute = startEpochMinute;
+        this.startAt = OffsetDateTime.ofInstant(Instant.ofEpochSecond(startEpochMinute * 60), offset);
+        this.key = keyOf(source, startEpochMinute);
+    }
+
+    public static TimeBucket of(OffsetDateTime capturedAt,
+                                ZoneOffset offset,
+                                SourceType source,
+                                BucketGranularity granularity) {
+        long offsetMinutes = offset.getTotalSeconds() / 60;
+        long step = granularity.getMinutes();
+        long localMinute = Math.floorDiv(capturedAt.toEpochSecond(), 60) + offsetMinutes;
+        long startEpochMinute = Math.floorDiv(localMinute, step) * step - offsetMinutes;
+
+        int slot = source.getId() << 2 | granularity.ordinal();
+        TimeBucket last = LAST.get(slot);
+        if (last != null && last.startEpochMinute == startEpochMinute && last.startAt.getOffset().equals(offset)) {
+            return last;
+        }
+        TimeBucket bucket = new TimeBucket(source, granularity, startEpochMinute, offset);
+        LAST.put(slot, bucket);
+        return bucket;
+    }
+
+    public static long keyOf(SourceType source, long startEpochMinute) {
+        return startEpochMinute << SOURCE_BITS | source.getId();
+    }
+
+    public static long startEpochMinuteOf(long key) {
+        return key >> SOURCE_BITS;
+    }
+
+    public static SourceType sourceOf(long key) {
+        return SourceType.fromId((int) (key & SOURCE_MASK));
+    }
+
+    public SourceType getSource() {
+        return source;
+    }
+
+    public BucketGranularity getGranularity() {
+        return granularity;
+    }
+
+    public long getKey() {
+        return key;
+    }
+
+    public OffsetDateTime getStartAt() {
+        return startAt;
+    }
+
+    public OffsetDateTime getEndAt() {
+        return startAt.plusMinutes(granularity.getMinutes());
+    }
+
+    public String getDisplayKey() {
+        String value = displayKey;
+        if (value == null) {
+            value = source.getCode() + "|" + startAt.format(granularity.getKeyFormatter());
+            displayKey = value;
+        }
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return getDisplayKey();
+    }
+}
@@ -0,0 +1,9 @@
+package com.analysiscore.model;
+
+public enum WaitStrategy {
+    COMMIT,
+    DOMCONTENTLOADED,
+    LOAD,
+    NETWORKIDLE,
+    SELECTOR_ONLY
+}
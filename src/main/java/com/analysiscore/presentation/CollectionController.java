@@ -0,0 +1,77 @@
+package com.analysiscore.presentation;
+
+import java.net.URI;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import com.analysiscore.application.CollectionJob;
+import com.analysiscore.application.RankingCollector;
+import com.analysiscore.application.dto.CollectionDTO;
+import com.analysiscore.model.SourceType;
+
+@RestController
+@RequestMapping("/api/v1/collections")
+public class CollectionController {
+	private final RankingCollector collector;
+
+	public CollectionController(RankingCollector collector) {
+		this.collector = collector;
+	}
+
+	/**
+	 * Collects the current time bucket of {@code source} now. Answers 202 with the job and its status URL; a request
+	 * arriving while the bucket is already being collected gets that job instead of starting another fetch.
+	 */
+	@PostMapping
+	public ResponseEntity<CollectionDTO.JobResponse> collect(@RequestParam SourceType source) {
+		CollectionJob job;
+		try {
+			job = collector.trigger(source);
+		} catch (IllegalArgumentException ex) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage(), ex);
+		}
+		URI statusUrl = statusUrl(job);
+		return ResponseEntity.accepted()
+			.location(statusUrl)
+			.body(toResponse(job, statusUrl));
+	}
+
+	@GetMapping("/{id}")
+	public ResponseEntity<CollectionDTO.JobResponse> job(@PathVariable String id) {
+		return collector.job(id)
+			.map(job -> ResponseEntity.ok(toResponse(job, statusUrl(job))))
+			.orElseGet(() -> ResponseEntity.notFound().build());
+	}
+
+	private URI statusUrl(CollectionJob job) {
+		return ServletUriComponentsBuilder.fromCurrentContextPath()
+			.path("/api/v1/collections/{id}")
+			.buildAndExpand(job.getId())
+			.toUri();
+	}
+
+	private CollectionDTO.JobResponse toResponse(CollectionJob job, URI statusUrl) {
+		return new CollectionDTO.JobResponse(
+			job.getId(),
+			job.getSource(),
+			job.getBucket().getDisplayKey(),
+			job.getBucket().getStartAt(),
+			job.getStatus(),
+			job.getRequestedAt(),
+			job.getFinishedAt(),
+			job.getSnapshotId(),
+			job.getSnapshotStatus(),
+			job.getError(),
+			statusUrl.toString()
+		);
+	}
+}
@@ -0,0 +1,53 @@
+package com.analysiscore.presentation;
+
+import java.time.OffsetDateTime;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.analysiscore.application.dto.ProductDTO;
+import com.analysiscore.application.service.ProductHistoryService;
+import com.analysiscore.model.SourceType;
+
+@RestController
+@RequestMapping("/api/v1/products")
+public class ProductController {
+	private final ProductHistoryService historyService;
+
+	public ProductController(ProductHistoryService historyService) {
+		this.historyService = historyService;
+	}
+
+	/**
+	 * Hourly rank and price of a product over the last {@code days} days (max 366), read from the per-day series.
+	 */
+	@GetMapping("/{id}/history")
+	public ResponseEntity<ProductDTO.HistoryResponse> history(@PathVariable long id,
+		@RequestParam SourceType source,
+		@RequestParam(defaultValue = "90") int days) {
+		return historyService.history(id, source, days)
+			.map(ResponseEntity::ok)
+			.orElseGet(() -> ResponseEntity.notFound().build());
+	}
+
+	/**
+	 * Recomputes the per-day series of {@code source} for the days covering {@code [from, to)} from ranking_item.
+	 */
+	@PostMapping("/history/rebuild")
+	public ProductDTO.RebuildResponse rebuildHistory(@RequestParam SourceType source,
+		@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+		@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to) {
+		if (!from.isBefore(to)) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must be before to");
+		}
+		return historyService.rebuild(source, from, to);
+	}
+}
@@ -0,0 +1,119 @@
+package com.analysiscore.presentation;
+
+import java.time.OffsetDateTime;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.analysiscore.application.dto.RankingDTO;
+import com.analysiscore.application.service.LatestRankingProjection;
+import com.analysiscore.application.service.RankMoverService;
+import com.analysiscore.application.service.RankingHistoryService;
+import com.analysiscore.model.MoverWindow;
+import com.analysiscore.model.SourceType;
+
+@RestController
+@RequestMapping("/api/v1/rankings")
+public class RankingController {
+	public static final String NDJSON_VALUE = "application/x-ndjson";
+
+	private final LatestRankingProjection latestProjection;
+	private final RankingHistoryService historyService;
+	private final RankMoverService moverService;
+
+	public RankingController(LatestRankingProjection latestProjection,
+		RankingHistoryService historyService,
+		RankMoverService moverService) {
+		this.latestProjection = latestProjection;
+		this.historyService = historyService;
+		this.moverService = moverService;
+	}
+
+	/**
+	 * Serves the pre-serialized latest snapshot. Spring answers {@code If-None-Match} hits with 304 from the ETag
+	 * set here, without writing the body.
+	 */
+	@GetMapping(value = "/latest", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<byte[]> latest(@RequestParam SourceType source) {
+		return latestProjection.get(source)
+			.map(latest -> ResponseEntity.ok()
+				.eTag(latest.etag())
+				.cacheControl(CacheControl.noCache())
+				.contentType(MediaType.APPLICATION_JSON)
+				.body(latest.json()))
+			.orElseGet(() -> ResponseEntity.notFound().build());
+	}
+
+	/**
+	 * One page of snapshots in {@code [from, to)} ordered by hour bucket. Pass {@code nextCursor} back as
+	 * {@code cursor} to continue; it is {@code null} on the last page.
+	 */
+	@GetMapping(value = "/snapshots", produces = MediaType.APPLICATION_JSON_VALUE)
+	public RankingDTO.SnapshotPageResponse snapshots(@RequestParam SourceType source,
+		@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+		@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to,
+		@RequestParam(required = false) String cursor,
+		@RequestParam(defaultValue = "100") int limit) {
+		validateRange(from, to);
+		try {
+			return historyService.page(source, from, to, cursor, limit);
+		} catch (IllegalArgumentException ex) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage(), ex);
+		}
+	}
+
+	/**
+	 * The whole range as newline-delimited JSON, one snapshot per line, written while rows are read.
+	 */
+	@GetMapping(value = "/snapshots", produces = NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> streamSnapshots(@RequestParam SourceType source,
+		@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+		@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to) {
+		validateRange(from, to);
+		StreamingResponseBody body = output -> historyService.stream(source, from, to, output);
+		return ResponseEntity.ok()
+			.contentType(MediaType.parseMediaType(NDJSON_VALUE))
+			.body(body);
+	}
+
+	/**
+	 * Top risers, fallers, new entries and drop-outs over {@code window} ({@code 1h}, {@code 24h} or {@code 7d}).
+	 */
+	@GetMapping("/movers")
+	public RankingDTO.MoversResponse movers(@RequestParam SourceType source,
+		@RequestParam(defaultValue = "24h") String window,
+		@RequestParam(defaultValue = "20") int limit) {
+		MoverWindow moverWindow;
+		try {
+			moverWindow = MoverWindow.fromCode(window);
+		} catch (IllegalArgumentException ex) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage(), ex);
+		}
+		return moverService.movers(source, moverWindow, limit);
+	}
+
+	/**
+	 * Rank changes from snapshot {@code from} to snapshot {@code to}.
+	 */
+	@GetMapping("/diff")
+	public ResponseEntity<RankingDTO.DiffResponse> diff(@RequestParam long from, @RequestParam long to) {
+		return moverService.diff(from, to)
+			.map(ResponseEntity::ok)
+			.orElseGet(() -> ResponseEntity.notFound().build());
+	}
+
+	private void validateRange(OffsetDateTime from, OffsetDateTime to) {
+		if (!from.isBefore(to)) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must be before to");
+		}
+	}
+}
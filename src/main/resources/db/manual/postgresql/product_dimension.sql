@@ -0,0 +1,57 @@
+-- Moves brand and product strings out of ranking_item into the brand/product dimension tables and shrinks
+-- ranking_item to (snapshot_id, rank_value, product_id, price). Run once on an existing database before starting
+-- a build that maps RankingItem.product.
+BEGIN;
+
+CREATE TABLE IF NOT EXISTS brand (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(200) NOT NULL,
+    CONSTRAINT uk_brand_name UNIQUE (name)
+);
+
+CREATE TABLE IF NOT EXISTS product (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    product_key VARCHAR(64) NOT NULL,
+    brand_id BIGINT NOT NULL REFERENCES brand (id),
+    product_name VARCHAR(300) NOT NULL,
+    product_url VARCHAR(500),
+    image_url VARCHAR(500),
+    CONSTRAINT uk_product_key UNIQUE (product_key)
+);
+
+INSERT INTO brand (name)
+SELECT DISTINCT brand_name FROM ranking_item
+ON CONFLICT (name) DO NOTHING;
+
+-- Same key as ParsedRankingItem.productKey(): the goodsNo of the URL, else name:<md5(brand|product)>.
+ALTER TABLE ranking_item ADD COLUMN IF NOT EXISTS product_key VARCHAR(64);
+UPDATE ranking_item SET product_key = COALESCE(
+    substring(product_url FROM '[?&]goodsNo=([A-Za-z0-9]+)'),
+    'name:' || md5(brand_name || '|' || product_name)
+);
+
+-- Names and URLs come from the most recent snapshot, as ingestion keeps the latest values.
+INSERT INTO product (product_key, brand_id, product_name, product_url, image_url)
+SELECT DISTINCT ON (i.product_key) i.product_key, b.id, i.product_name, i.product_url, i.image_url
+FROM ranking_item i
+JOIN brand b ON b.name = i.brand_name
+ORDER BY i.product_key, i.snapshot_id DESC
+ON CONFLICT (product_key) DO NOTHING;
+
+ALTER TABLE ranking_item ADD COLUMN IF NOT EXISTS product_id BIGINT;
+UPDATE ranking_item i SET product_id = p.id FROM product p WHERE p.product_key = i.product_key;
+ALTER TABLE ranking_item ALTER COLUMN product_id SET NOT NULL;
+ALTER TABLE ranking_item
+    ADD CONSTRAINT fk_ranking_item_product FOREIGN KEY (product_id) REFERENCES product (id);
+
+DROP INDEX IF EXISTS idx_ranking_item_snapshot_rank;
+ALTER TABLE ranking_item
+    DROP COLUMN product_key,
+    DROP COLUMN brand_name,
+    DROP COLUMN product_name,
+    DROP COLUMN product_url,
+    DROP COLUMN image_url,
+    DROP COLUMN id;
+ALTER TABLE ranking_item ADD PRIMARY KEY (snapshot_id, rank_value);
+
+COMMIT;
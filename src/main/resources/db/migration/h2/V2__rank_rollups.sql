@@ -0,0 +1,29 @@
+-- Same roll-up tables as on Postgres, unpartitioned.
+
+CREATE TABLE product_rank_hourly (
+    source VARCHAR(50) NOT NULL,
+    product_id BIGINT NOT NULL,
+    bucket_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    samples INTEGER NOT NULL,
+    min_rank INTEGER NOT NULL,
+    avg_rank DOUBLE PRECISION NOT NULL,
+    max_rank INTEGER NOT NULL,
+    min_price BIGINT NOT NULL,
+    avg_price DOUBLE PRECISION NOT NULL,
+    max_price BIGINT NOT NULL,
+    PRIMARY KEY (source, product_id, bucket_at)
+);
+
+CREATE TABLE product_rank_daily (
+    source VARCHAR(50) NOT NULL,
+    product_id BIGINT NOT NULL,
+    bucket_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    samples INTEGER NOT NULL,
+    min_rank INTEGER NOT NULL,
+    avg_rank DOUBLE PRECISION NOT NULL,
+    max_rank INTEGER NOT NULL,
+    min_price BIGINT NOT NULL,
+    avg_price DOUBLE PRECISION NOT NULL,
+    max_price BIGINT NOT NULL,
+    PRIMARY KEY (source, product_id, bucket_at)
+);
@@ -0,0 +1,19 @@
+-- Numeric bucket key: bucket start in epoch minutes * 256 + source id (TimeBucket.getKey()).
+
+-- The CASE maps stored source codes to their oyrank.sources ids. A code it misses leaves the key NULL and the
+-- SET NOT NULL below fails the migration rather than storing a wrong key; add the source with its id and rerun.
+ALTER TABLE ranking_snapshot ADD COLUMN bucket_key BIGINT;
+UPDATE ranking_snapshot SET bucket_key = CAST(EXTRACT(EPOCH FROM hour_bucket_at) AS BIGINT) / 60 * 256
+    + CASE source WHEN 'OLIVEYOUNG_KR' THEN 1 END;
+ALTER TABLE ranking_snapshot ALTER COLUMN bucket_key SET NOT NULL;
+ALTER TABLE ranking_snapshot DROP CONSTRAINT uk_ranking_snapshot_source_bucket_key;
+ALTER TABLE ranking_snapshot ADD CONSTRAINT uk_ranking_snapshot_bucket_key UNIQUE (bucket_key);
+
+DROP TABLE job_lock;
+CREATE TABLE job_lock (
+    bucket_key BIGINT PRIMARY KEY,
+    source VARCHAR(50) NOT NULL,
+    locked_by VARCHAR(200) NOT NULL,
+    locked_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    locked_until TIMESTAMP WITH TIME ZONE NOT NULL
+);
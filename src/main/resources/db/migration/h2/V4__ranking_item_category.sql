@@ -0,0 +1,6 @@
+-- Items carry the list they were captured from: 'ALL' for the main ranking, a category code for a category tab.
+-- Ranks repeat across categories, so the category joins the primary key.
+
+ALTER TABLE ranking_item ADD COLUMN category VARCHAR(50) DEFAULT 'ALL' NOT NULL;
+ALTER TABLE ranking_item DROP PRIMARY KEY;
+ALTER TABLE ranking_item ADD PRIMARY KEY (snapshot_id, category, rank_value);
@@ -0,0 +1,73 @@
+-- Schema as Hibernate's ddl-auto used to leave it. Every statement is guarded, so a database created before
+-- migrations were managed (baselined at version 0) passes through unchanged; databases still storing brand and
+-- product names in ranking_item must run db/manual/postgresql/product_dimension.sql first.
+
+CREATE TABLE IF NOT EXISTS brand (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(200) NOT NULL,
+    CONSTRAINT uk_brand_name UNIQUE (name)
+);
+
+CREATE TABLE IF NOT EXISTS product (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    product_key VARCHAR(64) NOT NULL,
+    brand_id BIGINT NOT NULL REFERENCES brand (id),
+    product_name VARCHAR(300) NOT NULL,
+    product_url VARCHAR(500),
+    image_url VARCHAR(500),
+    CONSTRAINT uk_product_key UNIQUE (product_key)
+);
+
+CREATE TABLE IF NOT EXISTS ranking_snapshot (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    source VARCHAR(50) NOT NULL,
+    captured_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    hour_bucket_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    hour_bucket_key VARCHAR(100) NOT NULL,
+    raw_url VARCHAR(500) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    error_message VARCHAR(1000),
+    item_count INTEGER NOT NULL,
+    content_hash VARCHAR(64),
+    base_snapshot_id BIGINT,
+    last_seen_at TIMESTAMP WITH TIME ZONE,
+    CONSTRAINT uk_ranking_snapshot_source_bucket_key UNIQUE (source, hour_bucket_key)
+);
+
+CREATE TABLE IF NOT EXISTS ranking_item (
+    snapshot_id BIGINT NOT NULL REFERENCES ranking_snapshot (id),
+    rank_value INTEGER NOT NULL,
+    product_id BIGINT NOT NULL REFERENCES product (id),
+    price BIGINT NOT NULL,
+    PRIMARY KEY (snapshot_id, rank_value)
+);
+
+CREATE TABLE IF NOT EXISTS rank_change (
+    snapshot_id BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    previous_snapshot_id BIGINT NOT NULL,
+    source VARCHAR(50) NOT NULL,
+    hour_bucket_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    change_type VARCHAR(20) NOT NULL,
+    previous_rank INTEGER,
+    rank_value INTEGER,
+    rank_delta INTEGER,
+    PRIMARY KEY (snapshot_id, product_id)
+);
+
+CREATE TABLE IF NOT EXISTS product_rank_day (
+    product_id BIGINT NOT NULL,
+    source VARCHAR(50) NOT NULL,
+    day_start_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    series BYTEA NOT NULL,
+    PRIMARY KEY (product_id, source, day_start_at)
+);
+
+CREATE TABLE IF NOT EXISTS job_lock (
+    source VARCHAR(50) NOT NULL,
+    hour_bucket_key VARCHAR(100) NOT NULL,
+    locked_by VARCHAR(200) NOT NULL,
+    locked_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    locked_until TIMESTAMP WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (source, hour_bucket_key)
+);
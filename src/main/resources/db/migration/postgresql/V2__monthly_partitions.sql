@@ -0,0 +1,122 @@
+-- Range-partitions the time-ordered tables by UTC month of hour_bucket_at so that retention drops whole
+-- partitions instead of deleting rows. Unique keys of a partitioned table must contain the partition key, hence
+-- hour_bucket_at in every key; it is fixed by hour_bucket_key, so (source, hour_bucket_key) stays unique.
+-- ranking_item carries its snapshot's hour_bucket_at for the same reason.
+
+CREATE OR REPLACE FUNCTION ensure_monthly_partition(parent TEXT, month_start DATE) RETURNS TEXT AS $$
+DECLARE
+    partition_name TEXT := parent || '_p' || to_char(month_start, 'YYYYMM');
+BEGIN
+    EXECUTE format(
+        'CREATE TABLE IF NOT EXISTS %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+        partition_name,
+        parent,
+        month_start::TIMESTAMP AT TIME ZONE 'UTC',
+        (month_start + INTERVAL '1 month')::TIMESTAMP AT TIME ZONE 'UTC'
+    );
+    RETURN partition_name;
+END
+$$ LANGUAGE plpgsql;
+
+ALTER TABLE ranking_item RENAME TO ranking_item_legacy;
+ALTER TABLE rank_change RENAME TO rank_change_legacy;
+ALTER TABLE ranking_snapshot RENAME TO ranking_snapshot_legacy;
+ALTER TABLE ranking_snapshot_legacy DROP CONSTRAINT IF EXISTS uk_ranking_snapshot_source_bucket_key;
+-- Renaming a table keeps its constraint and sequence names; free them for the new tables.
+ALTER TABLE ranking_item_legacy RENAME CONSTRAINT ranking_item_pkey TO ranking_item_legacy_pkey;
+ALTER TABLE rank_change_legacy RENAME CONSTRAINT rank_change_pkey TO rank_change_legacy_pkey;
+ALTER TABLE ranking_snapshot_legacy RENAME CONSTRAINT ranking_snapshot_pkey TO ranking_snapshot_legacy_pkey;
+ALTER TABLE ranking_snapshot_legacy ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE ranking_snapshot_legacy ALTER COLUMN id DROP DEFAULT;
+DROP SEQUENCE IF EXISTS ranking_snapshot_id_seq;
+DROP INDEX IF EXISTS idx_ranking_snapshot_source_bucket;
+DROP INDEX IF EXISTS idx_rank_change_source_bucket;
+
+CREATE SEQUENCE ranking_snapshot_id_seq;
+
+CREATE TABLE ranking_snapshot (
+    id BIGINT NOT NULL DEFAULT nextval('ranking_snapshot_id_seq'),
+    source VARCHAR(50) NOT NULL,
+    captured_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    hour_bucket_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    hour_bucket_key VARCHAR(100) NOT NULL,
+    raw_url VARCHAR(500) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    error_message VARCHAR(1000),
+    item_count INTEGER NOT NULL,
+    content_hash VARCHAR(64),
+    base_snapshot_id BIGINT,
+    last_seen_at TIMESTAMP WITH TIME ZONE,
+    CONSTRAINT ranking_snapshot_pkey PRIMARY KEY (id, hour_bucket_at),
+    CONSTRAINT uk_ranking_snapshot_source_bucket_key UNIQUE (source, hour_bucket_key, hour_bucket_at)
+) PARTITION BY RANGE (hour_bucket_at);
+
+CREATE TABLE ranking_item (
+    snapshot_id BIGINT NOT NULL,
+    rank_value INTEGER NOT NULL,
+    product_id BIGINT NOT NULL REFERENCES product (id),
+    price BIGINT NOT NULL,
+    hour_bucket_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    CONSTRAINT ranking_item_pkey PRIMARY KEY (snapshot_id, rank_value, hour_bucket_at)
+) PARTITION BY RANGE (hour_bucket_at);
+
+CREATE TABLE rank_change (
+    snapshot_id BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    previous_snapshot_id BIGINT NOT NULL,
+    source VARCHAR(50) NOT NULL,
+    hour_bucket_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    change_type VARCHAR(20) NOT NULL,
+    previous_rank INTEGER,
+    rank_value INTEGER,
+    rank_delta INTEGER,
+    CONSTRAINT rank_change_pkey PRIMARY KEY (snapshot_id, product_id, hour_bucket_at)
+) PARTITION BY RANGE (hour_bucket_at);
+
+-- Partitions for every month with data plus two months ahead; the retention job keeps creating them from here.
+DO $$
+DECLARE
+    month_start DATE := date_trunc(
+        'month',
+        COALESCE((SELECT min(hour_bucket_at) FROM ranking_snapshot_legacy), now()) AT TIME ZONE 'UTC'
+    )::DATE;
+    last_month DATE := (date_trunc('month', now() AT TIME ZONE 'UTC') + INTERVAL '2 months')::DATE;
+BEGIN
+    WHILE month_start <= last_month LOOP
+        PERFORM ensure_monthly_partition('ranking_snapshot', month_start);
+        PERFORM ensure_monthly_partition('ranking_item', month_start);
+        PERFORM ensure_monthly_partition('rank_change', month_start);
+        month_start := (month_start + INTERVAL '1 month')::DATE;
+    END LOOP;
+END
+$$;
+
+INSERT INTO ranking_snapshot (id, source, captured_at, hour_bucket_at, hour_bucket_key, raw_url, status,
+    error_message, item_count, content_hash, base_snapshot_id, last_seen_at)
+SELECT id, source, captured_at, hour_bucket_at, hour_bucket_key, raw_url, status,
+    error_message, item_count, content_hash, base_snapshot_id, last_seen_at
+FROM ranking_snapshot_legacy;
+
+INSERT INTO ranking_item (snapshot_id, rank_value, product_id, price, hour_bucket_at)
+SELECT i.snapshot_id, i.rank_value, i.product_id, i.price, s.hour_bucket_at
+FROM ranking_item_legacy i
+JOIN ranking_snapshot_legacy s ON s.id = i.snapshot_id;
+
+INSERT INTO rank_change (snapshot_id, product_id, previous_snapshot_id, source, hour_bucket_at, change_type,
+    previous_rank, rank_value, rank_delta)
+SELECT snapshot_id, product_id, previous_snapshot_id, source, hour_bucket_at, change_type,
+    previous_rank, rank_value, rank_delta
+FROM rank_change_legacy;
+
+SELECT setval('ranking_snapshot_id_seq', COALESCE((SELECT max(id) FROM ranking_snapshot), 0) + 1, false);
+
+DROP TABLE ranking_item_legacy;
+DROP TABLE rank_change_legacy;
+DROP TABLE ranking_snapshot_legacy;
+
+CREATE INDEX idx_ranking_snapshot_source_bucket ON ranking_snapshot (source, hour_bucket_at);
+CREATE INDEX idx_rank_change_source_bucket ON rank_change (source, hour_bucket_at);
+-- Rows arrive in time order, so block ranges stay tight and a BRIN index costs a few pages per partition.
+CREATE INDEX brin_ranking_snapshot_captured_at ON ranking_snapshot USING brin (captured_at);
+CREATE INDEX brin_ranking_item_hour_bucket_at ON ranking_item USING brin (hour_bucket_at);
+CREATE INDEX brin_rank_change_hour_bucket_at ON rank_change USING brin (hour_bucket_at);
@@ -0,0 +1,32 @@
+-- Downsampled ranks kept after raw snapshots expire: one row per product and hour, then per product and day.
+-- avg_* are sample-weighted, so a day rolled up from hours equals one rolled up from the raw snapshots.
+
+CREATE TABLE product_rank_hourly (
+    source VARCHAR(50) NOT NULL,
+    product_id BIGINT NOT NULL,
+    bucket_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    samples INTEGER NOT NULL,
+    min_rank INTEGER NOT NULL,
+    avg_rank DOUBLE PRECISION NOT NULL,
+    max_rank INTEGER NOT NULL,
+    min_price BIGINT NOT NULL,
+    avg_price DOUBLE PRECISION NOT NULL,
+    max_price BIGINT NOT NULL,
+    PRIMARY KEY (source, product_id, bucket_at)
+) PARTITION BY RANGE (bucket_at);
+
+CREATE INDEX brin_product_rank_hourly_bucket_at ON product_rank_hourly USING brin (bucket_at);
+
+CREATE TABLE product_rank_daily (
+    source VARCHAR(50) NOT NULL,
+    product_id BIGINT NOT NULL,
+    bucket_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    samples INTEGER NOT NULL,
+    min_rank INTEGER NOT NULL,
+    avg_rank DOUBLE PRECISION NOT NULL,
+    max_rank INTEGER NOT NULL,
+    min_price BIGINT NOT NULL,
+    avg_price DOUBLE PRECISION NOT NULL,
+    max_price BIGINT NOT NULL,
+    PRIMARY KEY (source, product_id, bucket_at)
+);
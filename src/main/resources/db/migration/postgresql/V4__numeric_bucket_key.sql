@@ -0,0 +1,30 @@
+-- Numeric bucket key: bucket start in epoch minutes << 8 | source id (TimeBucket.getKey()). It replaces the
+-- 100-character hour_bucket_key as the unique and lookup key; hour_bucket_key stays for display.
+
+-- The CASE maps stored source codes to their oyrank.sources ids; a code it misses stops the migration below
+-- instead of getting a wrong key, so add every other source stored here with its id before running it.
+ALTER TABLE ranking_snapshot ADD COLUMN bucket_key BIGINT;
+UPDATE ranking_snapshot SET bucket_key = ((EXTRACT(EPOCH FROM hour_bucket_at)::BIGINT / 60) << 8)
+    | CASE source WHEN 'OLIVEYOUNG_KR' THEN 1 END;
+DO $$
+DECLARE
+    unmapped TEXT := (SELECT string_agg(DISTINCT source, ', ') FROM ranking_snapshot WHERE bucket_key IS NULL);
+BEGIN
+    IF unmapped IS NOT NULL THEN
+        RAISE EXCEPTION 'no source id for %: map it in V4__numeric_bucket_key.sql', unmapped;
+    END IF;
+END
+$$;
+ALTER TABLE ranking_snapshot ALTER COLUMN bucket_key SET NOT NULL;
+ALTER TABLE ranking_snapshot DROP CONSTRAINT uk_ranking_snapshot_source_bucket_key;
+ALTER TABLE ranking_snapshot ADD CONSTRAINT uk_ranking_snapshot_bucket_key UNIQUE (bucket_key, hour_bucket_at);
+
+-- Leases only live for one run, so the table is recreated rather than migrated.
+DROP TABLE job_lock;
+CREATE TABLE job_lock (
+    bucket_key BIGINT PRIMARY KEY,
+    source VARCHAR(50) NOT NULL,
+    locked_by VARCHAR(200) NOT NULL,
+    locked_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    locked_until TIMESTAMP WITH TIME ZONE NOT NULL
+);
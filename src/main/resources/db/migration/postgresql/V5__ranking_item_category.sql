@@ -0,0 +1,6 @@
+-- Items carry the list they were captured from: 'ALL' for the main ranking, a category code for a category tab.
+-- Ranks repeat across categories, so the category joins the primary key.
+
+ALTER TABLE ranking_item ADD COLUMN category VARCHAR(50) NOT NULL DEFAULT 'ALL';
+ALTER TABLE ranking_item DROP CONSTRAINT ranking_item_pkey;
+ALTER TABLE ranking_item ADD CONSTRAINT ranking_item_pkey PRIMARY KEY (snapshot_id, category, rank_value, hour_bucket_at);
@@ -0,0 +1,58 @@
+(blockPhrases) => {
+  const normalize = (text) => (text || '').replace(/\s+/g, ' ').trim();
+  const matchFirst = (root, selector) => (root.matches(selector) ? root : root.querySelector(selector));
+  const firstText = (root, selectors) => {
+    for (const selector of selectors) {
+      const found = matchFirst(root, selector);
+      if (found) {
+        const text = normalize(found.textContent);
+        if (text) {
+          return text;
+        }
+      }
+    }
+    return null;
+  };
+  const firstAttr = (root, selector, attrs) => {
+    const found = matchFirst(root, selector);
+    if (!found) {
+      return null;
+    }
+    for (const attr of attrs) {
+      const value = found.getAttribute(attr);
+      if (value && value.trim()) {
+        return value.trim();
+      }
+    }
+    return null;
+  };
+
+  const source = (document.documentElement.outerHTML + ' ' + document.title).toLowerCase();
+  if (blockPhrases.some((phrase) => source.includes(phrase))) {
+    return { blocked: true, bodyPrefix: document.documentElement.outerHTML.slice(0, 2048), items: null };
+  }
+
+  let candidates = document.querySelectorAll('li:has(.tx_name), li:has(.tx_brand), div:has(.tx_name)');
+  if (candidates.length === 0) {
+    candidates = document.querySelectorAll('[data-prd-name], [data-goods-name], [data-brand-name]');
+  }
+
+  const items = [];
+  for (const element of candidates) {
+    const brandName = firstText(element, ['.tx_brand', '.brand', '[data-brand-name]', '[data-brand]']);
+    const productName = firstText(element, ['.tx_name', '.name', '[data-prd-name]', '[data-goods-name]']);
+    const price = firstText(element, ['.tx_cur', '.price', '.prc', '[data-price]']);
+    if (!brandName || !productName || !price) {
+      continue;
+    }
+    items.push({
+      rank: firstText(element, ['.tx_rank', '.rank', '.num', '[data-rank]']),
+      brandName,
+      productName,
+      price,
+      productUrl: firstAttr(element, 'a[href]', ['href']),
+      imageUrl: firstAttr(element, 'img[src], img[data-src]', ['src', 'data-src'])
+    });
+  }
+  return { blocked: false, bodyPrefix: null, items: JSON.stringify(items) };
+}
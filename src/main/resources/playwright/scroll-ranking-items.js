@@ -0,0 +1,30 @@
+([selector, maxScrolls, settleMillis]) => {
+  // Runs detached so the caller can start every tab before waiting on any; completion is flagged on window.
+  window.__oyScrollDone = false;
+  (async () => {
+    const sleep = (millis) => new Promise((resolve) => setTimeout(resolve, millis));
+    let count = document.querySelectorAll(selector).length;
+    try {
+      for (let i = 0; i < maxScrolls; i++) {
+        window.scrollTo(0, document.body.scrollHeight);
+        const deadline = Date.now() + settleMillis;
+        let grown = false;
+        while (Date.now() < deadline) {
+          await sleep(100);
+          const next = document.querySelectorAll(selector).length;
+          if (next > count) {
+            count = next;
+            grown = true;
+            break;
+          }
+        }
+        if (!grown) {
+          break;
+        }
+      }
+    } finally {
+      window.__oyScrollDone = true;
+    }
+  })();
+  return true;
+}
@@ -0,0 +1,174 @@
+package com.analysiscore.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.analysiscore.config.OyRankProperties;
+import com.analysiscore.model.BucketGranularity;
+import com.analysiscore.model.SnapshotStatus;
+import com.analysiscore.model.SourceType;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CollectionPlanTest {
+    private static final ZoneOffset KST = ZoneOffset.ofHours(9);
+    private static final SourceType SOURCE = SourceType.register("OLIVEYOUNG_KR", 1);
+    private static final OffsetDateTime BUCKET = OffsetDateTime.of(2026, 3, 10, 10, 0, 0, 0, KST);
+    private static final Instant NOW = BUCKET.plusMinutes(20).toInstant();
+    private static final long ALIGN_DELAY_MILLIS = 60_000;
+    private static final long JITTER_MILLIS = 30_000;
+    private static final long RETRY_DELAY_MILLIS = 120_000;
+
+    private final OyRankProperties.ScheduleProperties properties = new OyRankProperties.ScheduleProperties();
+    private CollectionPlan plan;
+
+    @BeforeEach
+    void setUp() {
+        properties.setAlignDelayMillis(ALIGN_DELAY_MILLIS);
+        properties.setJitterMillis(JITTER_MILLIS);
+        properties.setRetryDelayMillis(RETRY_DELAY_MILLIS);
+        properties.setBackoffAfterUnchanged(2);
+        properties.setMaxBackoffBuckets(4);
+        properties.setHotChangeRate(0.3);
+        // Half the jitter range, so planned times are exact.
+        plan = new CollectionPlan(SOURCE, BucketGranularity.HOUR, KST, properties, NOW, bound -> bound / 2);
+    }
+
+    @Test
+    void collectsTheNextBucketWhileContentChanges() {
+        assertThat(plan.tryStart(NOW)).isTrue();
+        plan.onCollected(1, SnapshotStatus.SUCCESS, BUCKET, NOW);
+
+        assertThat(plan.getIntervalBuckets()).isEqualTo(1);
+        assertThat(plan.getNextRunAt()).isEqualTo(runAt(1));
+    }
+
+    @Test
+    void doublesTheIntervalAfterBackoffAfterUnchangedSnapshots() {
+        coolAllHours();
+
+        collect(1, SnapshotStatus.UNCHANGED);
+        assertThat(plan.getIntervalBuckets()).isEqualTo(1);
+        assertThat(plan.getNextRunAt()).isEqualTo(runAt(1));
+
+        collect(2, SnapshotStatus.UNCHANGED);
+        assertThat(plan.getIntervalBuckets()).isEqualTo(2);
+        assertThat(plan.getNextRunAt()).isEqualTo(runAt(2));
+
+        collect(3, SnapshotStatus.UNCHANGED);
+        assertThat(plan.getIntervalBuckets()).isEqualTo(4);
+        assertThat(plan.getNextRunAt()).isEqualTo(runAt(4));
+    }
+
+    @Test
+    void capsTheIntervalAtMaxBackoffBuckets() {
+        coolAllHours();
+
+        for (long id = 1; id <= 10; id++) {
+            collect(id, SnapshotStatus.UNCHANGED);
+        }
+
+        assertThat(plan.getIntervalBuckets()).isEqualTo(4);
+        assertThat(plan.getNextRunAt()).isEqualTo(runAt(4));
+    }
+
+    @Test
+    void successResetsTheIntervalAndTheStreak() {
+        coolAllHours();
+        for (long id = 1; id <= 3; id++) {
+            collect(id, SnapshotStatus.UNCHANGED);
+        }
+
+        collect(4, SnapshotStatus.SUCCESS);
+        assertThat(plan.getIntervalBuckets()).isEqualTo(1);
+        assertThat(plan.getNextRunAt()).isEqualTo(runAt(1));
+
+        collect(5, SnapshotStatus.UNCHANGED);
+        assertThat(plan.getIntervalBuckets()).isEqualTo(1);
+    }
+
+    @Test
+    void neverSkipsAHotHour() {
+        coolAllHours();
+        plan.observe(BUCKET.plusHours(2), SnapshotStatus.SUCCESS);
+        for (long id = 1; id <= 3; id++) {
+            collect(id, SnapshotStatus.UNCHANGED);
+        }
+
+        assertThat(plan.getIntervalBuckets()).isEqualTo(4);
+        assertThat(plan.getNextRunAt()).isEqualTo(runAt(2));
+    }
+
+    @Test
+    void hoursWithoutObservationsCountAsHot() {
+        for (long id = 1; id <= 3; id++) {
+            collect(id, SnapshotStatus.UNCHANGED);
+        }
+
+        assertThat(plan.getIntervalBuckets()).isEqualTo(4);
+        assertThat(plan.getNextRunAt()).isEqualTo(runAt(1));
+    }
+
+    @Test
+    void repeatedSnapshotIdDoesNotAdvanceTheStreak() {
+        coolAllHours();
+
+        collect(1, SnapshotStatus.UNCHANGED);
+        collect(1, SnapshotStatus.UNCHANGED);
+        collect(1, SnapshotStatus.UNCHANGED);
+        assertThat(plan.getIntervalBuckets()).isEqualTo(1);
+
+        collect(2, SnapshotStatus.UNCHANGED);
+        assertThat(plan.getIntervalBuckets()).isEqualTo(2);
+    }
+
+    @Test
+    void retriesAFailedRunAfterTheRetryDelay() {
+        collect(1, SnapshotStatus.FAILED);
+        assertThat(plan.getNextRunAt()).isEqualTo(NOW.plusMillis(RETRY_DELAY_MILLIS + JITTER_MILLIS / 2));
+
+        assertThat(plan.tryStart(NOW)).isFalse();
+        assertThat(plan.tryStart(plan.getNextRunAt())).isTrue();
+        plan.onFailed(NOW);
+        assertThat(plan.getNextRunAt()).isEqualTo(NOW.plusMillis(RETRY_DELAY_MILLIS + JITTER_MILLIS / 2));
+    }
+
+    @Test
+    void runningPlanIsNotDueUntilItsResultIsIn() {
+        assertThat(plan.tryStart(NOW)).isTrue();
+        assertThat(plan.tryStart(NOW.plusSeconds(3600))).isFalse();
+
+        plan.onSkipped(NOW);
+
+        assertThat(plan.getNextRunAt()).isEqualTo(runAt(1));
+        assertThat(plan.tryStart(runAt(1))).isTrue();
+    }
+
+    @Test
+    void noJitterWithoutJitterMillis() {
+        properties.setJitterMillis(0);
+        plan = new CollectionPlan(SOURCE, BucketGranularity.HOUR, KST, properties, NOW, bound -> {
+            throw new AssertionError("jitter drawn for bound " + bound);
+        });
+
+        collect(1, SnapshotStatus.SUCCESS);
+
+        assertThat(plan.getNextRunAt()).isEqualTo(BUCKET.plusHours(1).toInstant().plusMillis(ALIGN_DELAY_MILLIS));
+    }
+
+    private void collect(long snapshotId, SnapshotStatus status) {
+        plan.onCollected(snapshotId, status, BUCKET, NOW);
+    }
+
+    private void coolAllHours() {
+        for (int hour = 0; hour < 24; hour++) {
+            plan.observe(BUCKET.plusHours(hour), SnapshotStatus.UNCHANGED);
+        }
+    }
+
+    private static Instant runAt(int bucketsAhead) {
+        return BUCKET.plusHours(bucketsAhead).toInstant().plusMillis(ALIGN_DELAY_MILLIS + JITTER_MILLIS / 2);
+    }
+}
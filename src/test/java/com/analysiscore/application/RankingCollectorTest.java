@@ -0,0 +1,239 @@
+package com.analysiscore.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.analysiscore.application.service.OliveYoungRankingService;
+import com.analysiscore.application.service.SourceRegistry;
+import com.analysiscore.config.OyRankProperties;
+import com.analysiscore.domain.entity.RankingSnapshot;
+import com.analysiscore.model.BucketGranularity;
+import com.analysiscore.model.ExtractionMode;
+import com.analysiscore.model.FetchTier;
+import com.analysiscore.model.HtmlParserMode;
+import com.analysiscore.model.SourceConfig;
+import com.analysiscore.model.SourceType;
+import com.analysiscore.model.WaitStrategy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RankingCollectorTest {
+    private static final SourceType SOURCE = SourceType.register("OLIVEYOUNG_KR", 1);
+    private static final SourceConfig CONFIG = new SourceConfig(SOURCE, "https://example.test", "/best",
+        ZoneOffset.ofHours(9), ExtractionMode.IN_PAGE, WaitStrategy.NETWORKIDLE, 3, null, List.of(FetchTier.HTTP),
+        HtmlParserMode.JSOUP, BucketGranularity.HOUR, List.of(), 0);
+
+    private final OyRankProperties properties = new OyRankProperties();
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-03-10T01:20:00Z"));
+    private final FakeRankingService rankingService = new FakeRankingService();
+    private RankingCollector collector;
+
+    @BeforeEach
+    void setUp() {
+        properties.getCollector().setPerHostConcurrency(64);
+        properties.getCollector().setPerHostIntervalMillis(0);
+        collector = new RankingCollector(rankingService, new FakeSourceRegistry(), properties,
+            new SimpleMeterRegistry(), clock);
+    }
+
+    @AfterEach
+    void tearDown() {
+        rankingService.gate.countDown();
+        collector.shutdown();
+    }
+
+    @Test
+    void concurrentTriggersShareOneJob() throws Exception {
+        int callers = 16;
+        CountDownLatch ready = new CountDownLatch(callers);
+        CountDownLatch go = new CountDownLatch(1);
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            threads.add(Thread.ofVirtual().start(() -> {
+                ready.countDown();
+                await(go);
+                ids.add(collector.trigger(SOURCE).getId());
+            }));
+        }
+        assertThat(ready.await(5, TimeUnit.SECONDS)).isTrue();
+        go.countDown();
+        for (Thread thread : threads) {
+            thread.join(5_000);
+        }
+        assertThat(rankingService.entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        rankingService.gate.countDown();
+        CollectionJob job = collector.job(ids.iterator().next()).orElseThrow();
+        job.result().get(5, TimeUnit.SECONDS);
+
+        assertThat(ids).hasSize(1);
+        assertThat(rankingService.calls.get()).isEqualTo(1);
+        assertThat(job.getStatus()).isEqualTo(CollectionJob.Status.SKIPPED);
+    }
+
+    @Test
+    void triggerOnCompletionStartsANewJob() throws Exception {
+        CollectionJob first = collector.trigger(SOURCE);
+        // Runs as the job completes, so the job must already have left the in-flight map.
+        CompletableFuture<CollectionJob> next = first.result().thenApply(snapshot -> collector.trigger(SOURCE));
+
+        rankingService.gate.countDown();
+        CollectionJob second = next.get(5, TimeUnit.SECONDS);
+        second.result().get(5, TimeUnit.SECONDS);
+
+        assertThat(second.getId()).isNotEqualTo(first.getId());
+        assertThat(second.getBucket()).isEqualTo(first.getBucket());
+        assertThat(rankingService.calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void newBucketStartsAFreshJob() throws Exception {
+        CollectionJob first = collector.trigger(SOURCE);
+        clock.advance(Duration.ofHours(1));
+
+        CollectionJob second = collector.trigger(SOURCE);
+        rankingService.gate.countDown();
+        first.result().get(5, TimeUnit.SECONDS);
+        second.result().get(5, TimeUnit.SECONDS);
+
+        assertThat(second.getId()).isNotEqualTo(first.getId());
+        assertThat(second.getBucket()).isNotEqualTo(first.getBucket());
+        assertThat(rankingService.calls.get()).isEqualTo(2);
+        assertThat(rankingService.capturedAt).containsExactlyInAnyOrder(
+            OffsetDateTime.of(2026, 3, 10, 10, 20, 0, 0, CONFIG.getOffset()),
+            OffsetDateTime.of(2026, 3, 10, 11, 20, 0, 0, CONFIG.getOffset()));
+    }
+
+    @Test
+    void forgetsJobsOnceRecentJobsNewerOnesStarted() {
+        rankingService.gate.countDown();
+        CollectionJob oldest = collector.trigger(SOURCE);
+        clock.advance(Duration.ofHours(1));
+        CollectionJob second = collector.trigger(SOURCE);
+        CollectionJob newest = second;
+        for (int i = 1; i < RankingCollector.RECENT_JOBS; i++) {
+            clock.advance(Duration.ofHours(1));
+            newest = collector.trigger(SOURCE);
+        }
+
+        assertThat(collector.job(oldest.getId())).isEmpty();
+        assertThat(collector.job(second.getId())).isPresent();
+        assertThat(collector.job(newest.getId())).isPresent();
+    }
+
+    @Test
+    void spacesStartsAgainstOneHostByPerHostInterval() throws Exception {
+        long intervalMillis = 50;
+        properties.getCollector().setPerHostIntervalMillis(intervalMillis);
+        rankingService.gate.countDown();
+        long before = System.nanoTime();
+
+        List<CollectionJob> jobs = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            jobs.add(collector.trigger(SOURCE));
+            clock.advance(Duration.ofHours(1));
+        }
+        for (CollectionJob job : jobs) {
+            job.result().get(5, TimeUnit.SECONDS);
+        }
+
+        // Each collection reserves the next start, so the k-th start is at least k intervals in.
+        List<Long> starts = rankingService.startedAt.stream().sorted().toList();
+        assertThat(starts).hasSize(3);
+        for (int k = 0; k < starts.size(); k++) {
+            assertThat(starts.get(k) - before).as("start %d", k)
+                .isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(k * intervalMillis));
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class FakeRankingService extends OliveYoungRankingService {
+        private final CountDownLatch gate = new CountDownLatch(1);
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final AtomicInteger calls = new AtomicInteger();
+        private final List<Long> startedAt = new CopyOnWriteArrayList<>();
+        private final List<OffsetDateTime> capturedAt = new CopyOnWriteArrayList<>();
+
+        private FakeRankingService() {
+            super(null, null, null, null, null, null, null, null, null, null, new SimpleMeterRegistry());
+        }
+
+        @Override
+        public Optional<RankingSnapshot> collect(SourceType source, OffsetDateTime capturedAt) {
+            startedAt.add(System.nanoTime());
+            this.capturedAt.add(capturedAt);
+            calls.incrementAndGet();
+            entered.countDown();
+            await(gate);
+            return Optional.empty();
+        }
+    }
+
+    private static final class FakeSourceRegistry extends SourceRegistry {
+        private FakeSourceRegistry() {
+            super(new OyRankProperties());
+        }
+
+        @Override
+        public List<SourceType> enabledSources() {
+            return List.of(SOURCE);
+        }
+
+        @Override
+        public SourceConfig config(SourceType source) {
+            return CONFIG;
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+        private volatile Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        private void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
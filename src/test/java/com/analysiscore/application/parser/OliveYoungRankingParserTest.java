@@ -0,0 +1,171 @@
+package com.analysiscore.application.parser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.analysiscore.model.HtmlParserMode;
+import com.analysiscore.model.ParsedRankingItem;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Element;
+import org.junit.jupiter.api.Test;
+
+class OliveYoungRankingParserTest {
+    private static final String FIXTURE = "fixtures/oliveyoung-best.html";
+    private static final String HTML = "text/html; charset=UTF-8";
+    private static final String JSON = "application/json";
+
+    private final OliveYoungRankingParser parser = new OliveYoungRankingParser();
+
+    @Test
+    void parsesFixture() {
+        List<ParsedRankingItem> items = parser.parse(HTML, fixture(), HtmlParserMode.JSOUP);
+
+        assertThat(items).containsExactly(
+            new ParsedRankingItem(1, "BrandA", "ProductA", 1_500, "/store/goods?A", null),
+            new ParsedRankingItem(2, "BrandB", "ProductB", 12_000, "/store/goods?B", null)
+        );
+    }
+
+    @Test
+    void streamingMatchesJsoupOnFixture() {
+        String html = fixture();
+
+        assertThat(parser.parse(HTML, html, HtmlParserMode.STREAMING))
+            .isEqualTo(parser.parse(HTML, html, HtmlParserMode.JSOUP));
+    }
+
+    @Test
+    void streamingMatchesJsoupOnScaledFixture() {
+        String html = scaled(500);
+
+        List<ParsedRankingItem> jsoup = parser.parse(HTML, html, HtmlParserMode.JSOUP);
+        assertThat(jsoup).hasSize(500);
+        assertThat(parser.parse(HTML, html, HtmlParserMode.STREAMING)).isEqualTo(jsoup);
+    }
+
+    @Test
+    void streamingMatchesJsoupOnBytes() {
+        byte[] html = scaled(50).getBytes(StandardCharsets.UTF_8);
+
+        assertThat(parser.parse(HTML, html, HtmlParserMode.STREAMING))
+            .isEqualTo(parser.parse(HTML, html, HtmlParserMode.JSOUP));
+    }
+
+    @Test
+    void lowestPriorityAliasWinsRegardlessOfFieldOrder() {
+        String body = """
+            {"list": [
+              {"brand": "brand-2", "brandName": "brand-0", "goodsNm": "product-2", "productName": "product-0",
+               "salePrc": "2,000", "price": 1000, "rankNo": 9, "rank": 3, "goodsUrl": "/g?2", "productUrl": "/g?0"},
+              {"brandName": "brand-0", "brand": "brand-2", "productName": "product-0", "goodsNm": "product-2",
+               "price": 1000, "salePrc": "2,000", "rank": 4, "rankNo": 9}
+            ]}
+            """;
+
+        assertThat(parser.parse(JSON, body)).containsExactly(
+            new ParsedRankingItem(3, "brand-0", "product-0", 1_000, "/g?0", null),
+            new ParsedRankingItem(4, "brand-0", "product-0", 1_000, null, null)
+        );
+    }
+
+    @Test
+    void nullBlankAndNonScalarValuesFallBackToTheNextAlias() {
+        String body = """
+            [
+              {"brandName": null, "brand": "brand", "productName": "   ", "goodsNm": "product",
+               "price": {"amount": 1}, "salePrc": "1,200원", "imageUrl": null, "imgUrl": "/i.png"}
+            ]
+            """;
+
+        assertThat(parser.parse(JSON, body)).containsExactly(
+            new ParsedRankingItem(1, "brand", "product", 1_200, null, "/i.png")
+        );
+    }
+
+    @Test
+    void skipsItemsMissingRequiredFieldsAndNumbersTheRestInOrder() {
+        String body = """
+            {"status": "SUCCESS", "list": [
+              {"brandName": "a", "productName": "first", "price": 100},
+              {"brandName": "b", "productName": "no price", "price": null},
+              {"productName": "no brand", "price": 300},
+              "not an object",
+              {"brandName": "c", "productName": "second", "price": "n/a"},
+              {"brandName": "d", "productName": "third", "price": 400, "unknown": [1, {"nested": true}]}
+            ]}
+            """;
+
+        assertThat(parser.parse(JSON, body)).containsExactly(
+            new ParsedRankingItem(1, "a", "first", 100, null, null),
+            new ParsedRankingItem(2, "d", "third", 400, null, null)
+        );
+    }
+
+    @Test
+    void allEntryPointsParseJsonAlike() {
+        String body = "{\"list\": [{\"brandNm\": \"b\", \"goodsNm\": \"p\", \"salePrc\": 990, \"rank\": 1}]}";
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        List<ParsedRankingItem> expected = List.of(new ParsedRankingItem(1, "b", "p", 990, null, null));
+
+        assertThat(parser.parse(JSON, body)).isEqualTo(expected);
+        assertThat(parser.parse(JSON, bytes, HtmlParserMode.JSOUP)).isEqualTo(expected);
+        assertThat(parser.parse(JSON, new ByteArrayInputStream(bytes), HtmlParserMode.JSOUP)).isEqualTo(expected);
+    }
+
+    @Test
+    void allEntryPointsRejectMalformedJsonWithIllegalArgument() {
+        String body = "{\"list\": [{\"brandNm\": ";
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+
+        assertThatThrownBy(() -> parser.parse(JSON, body)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> parser.parse(JSON, bytes, HtmlParserMode.JSOUP))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> parser.parse(JSON, new ByteArrayInputStream(bytes), HtmlParserMode.JSOUP))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void unreadableStreamFailsWithIllegalArgument() {
+        InputStream broken = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("connection reset");
+            }
+        };
+
+        assertThatThrownBy(() -> parser.parse(JSON, broken, HtmlParserMode.JSOUP))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("failed to read response body");
+    }
+
+    /**
+     * The fixture's items repeated {@code itemCount} times with distinct names, prices and URLs.
+     */
+    private static String scaled(int itemCount) {
+        List<Element> templates = Jsoup.parse(fixture()).select("li");
+        StringBuilder html = new StringBuilder(itemCount * 256).append("<ul>\n");
+        for (int i = 0; i < itemCount; i++) {
+            Element item = templates.get(i % templates.size()).clone();
+            item.selectFirst(".tx_name").text("Product " + (i + 1));
+            item.selectFirst(".tx_cur").text(String.format("%,d원", 1_000 + i * 10));
+            item.selectFirst("a[href]").attr("href", "/store/goods?goodsNo=A" + (100000 + i));
+            html.append(item.outerHtml()).append('\n');
+        }
+        return html.append("</ul>\n").toString();
+    }
+
+    static String fixture() {
+        try (InputStream input = OliveYoungRankingParserTest.class.getClassLoader().getResourceAsStream(FIXTURE)) {
+            assertThat(input).as(FIXTURE).isNotNull();
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
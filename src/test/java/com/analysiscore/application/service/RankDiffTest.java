@@ -0,0 +1,91 @@
+package com.analysiscore.application.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.analysiscore.model.RankChangeType;
+
+class RankDiffTest {
+
+	@Test
+	void classifiesOverlappingRankings() {
+		Map<Long, Integer> previous = ranks(product(1, 1), product(2, 2), product(3, 3), product(4, 4));
+		Map<Long, Integer> current = ranks(product(2, 1), product(1, 2), product(3, 3), product(5, 4));
+
+		assertThat(RankDiff.diff(previous, current)).containsExactlyInAnyOrder(
+			new RankDiff.Change(2, RankChangeType.RISER, 2, 1),
+			new RankDiff.Change(1, RankChangeType.FALLER, 1, 2),
+			new RankDiff.Change(5, RankChangeType.NEW, null, 4),
+			new RankDiff.Change(4, RankChangeType.DROPPED, 4, null)
+		);
+	}
+
+	@Test
+	void listsDropOutsAfterTheCurrentRanking() {
+		Map<Long, Integer> previous = ranks(product(1, 1), product(2, 2));
+		Map<Long, Integer> current = ranks(product(3, 1), product(1, 2));
+
+		List<RankDiff.Change> changes = RankDiff.diff(previous, current);
+
+		assertThat(changes).hasSize(3);
+		assertThat(changes.get(2)).isEqualTo(new RankDiff.Change(2, RankChangeType.DROPPED, 2, null));
+	}
+
+	@Test
+	void disjointRankingsAreAllNewAndAllDropped() {
+		Map<Long, Integer> previous = ranks(product(1, 1), product(2, 2));
+		Map<Long, Integer> current = ranks(product(3, 1), product(4, 2));
+
+		assertThat(RankDiff.diff(previous, current)).containsExactlyInAnyOrder(
+			new RankDiff.Change(3, RankChangeType.NEW, null, 1),
+			new RankDiff.Change(4, RankChangeType.NEW, null, 2),
+			new RankDiff.Change(1, RankChangeType.DROPPED, 1, null),
+			new RankDiff.Change(2, RankChangeType.DROPPED, 2, null)
+		);
+	}
+
+	@Test
+	void emptyPreviousRankingMakesEveryProductNew() {
+		assertThat(RankDiff.diff(Map.of(), ranks(product(1, 1))))
+			.containsExactly(new RankDiff.Change(1, RankChangeType.NEW, null, 1));
+		assertThat(RankDiff.diff(ranks(product(1, 1)), Map.of()))
+			.containsExactly(new RankDiff.Change(1, RankChangeType.DROPPED, 1, null));
+	}
+
+	@Test
+	void unchangedSnapshotDiffsAsItsBase() {
+		// An UNCHANGED snapshot has no item rows and is read through its base snapshot's items.
+		Map<Long, Integer> base = ranks(product(1, 1), product(2, 2));
+		Map<Long, Integer> unchanged = ranks(product(1, 1), product(2, 2));
+		Map<Long, Integer> next = ranks(product(2, 1), product(1, 2));
+
+		assertThat(RankDiff.diff(base, unchanged)).isEmpty();
+		assertThat(RankDiff.diff(unchanged, next)).isEqualTo(RankDiff.diff(base, next));
+	}
+
+	@Test
+	void indexKeepsTheBestRankOfAProductListedTwice() {
+		assertThat(ranks(product(1, 5), product(2, 2), product(1, 3)))
+			.isEqualTo(Map.of(1L, 3, 2L, 2));
+	}
+
+	@Test
+	void rankDeltaIsPlacesGained() {
+		assertThat(new RankDiff.Change(1, RankChangeType.RISER, 5, 2).rankDelta()).isEqualTo(3);
+		assertThat(new RankDiff.Change(1, RankChangeType.FALLER, 2, 5).rankDelta()).isEqualTo(-3);
+		assertThat(new RankDiff.Change(1, RankChangeType.NEW, null, 2).rankDelta()).isNull();
+		assertThat(new RankDiff.Change(1, RankChangeType.DROPPED, 2, null).rankDelta()).isNull();
+	}
+
+	private static Map<Long, Integer> ranks(RankDiff.RankedProduct... products) {
+		return RankDiff.index(List.of(products));
+	}
+
+	private static RankDiff.RankedProduct product(long productId, int rank) {
+		return new RankDiff.RankedProduct(productId, rank);
+	}
+}
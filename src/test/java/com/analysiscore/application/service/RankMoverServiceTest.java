@@ -0,0 +1,82 @@
+package com.analysiscore.application.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.analysiscore.application.dto.RankingDTO;
+import com.analysiscore.domain.entity.RankingSnapshot;
+import com.analysiscore.domain.repository.RankingItemRepository;
+import com.analysiscore.domain.repository.RankingSnapshotRepository;
+import com.analysiscore.domain.repository.projection.RankingItemView;
+import com.analysiscore.model.BucketGranularity;
+import com.analysiscore.model.RankChangeType;
+import com.analysiscore.model.RankingCategory;
+import com.analysiscore.model.SnapshotStatus;
+import com.analysiscore.model.SourceType;
+import com.analysiscore.model.TimeBucket;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RankMoverServiceTest {
+	private static final ZoneOffset KST = ZoneOffset.ofHours(9);
+	private static final SourceType SOURCE = SourceType.register("OLIVEYOUNG_KR", 1);
+
+	private final RankingSnapshotRepository snapshotRepository = mock(RankingSnapshotRepository.class);
+	private final RankingItemRepository itemRepository = mock(RankingItemRepository.class);
+	private RankMoverService service;
+
+	@BeforeEach
+	void setUp() {
+		service = new RankMoverService(mock(JdbcTemplate.class), snapshotRepository, itemRepository,
+			new SimpleMeterRegistry());
+		when(itemRepository.findViewsBySnapshotId(1L)).thenReturn(List.of(item(1, 10), item(2, 20), item(3, 30)));
+		when(itemRepository.findViewsBySnapshotId(3L)).thenReturn(List.of(item(1, 20), item(2, 10), item(3, 40)));
+	}
+
+	@Test
+	void unchangedSnapshotDiffsAgainstItsBaseItems() {
+		snapshot(1, SnapshotStatus.SUCCESS, null);
+		snapshot(2, SnapshotStatus.UNCHANGED, 1L);
+		snapshot(3, SnapshotStatus.SUCCESS, null);
+
+		assertThat(service.diff(1, 2).map(RankingDTO.DiffResponse::changes)).isEqualTo(Optional.of(List.of()));
+		assertThat(service.diff(2, 3).map(RankingDTO.DiffResponse::changes)).isEqualTo(Optional.of(List.of(
+			new RankingDTO.ChangeResponse(20L, "brand-20", "product-20", RankChangeType.RISER, 2, 1, 1),
+			new RankingDTO.ChangeResponse(10L, "brand-10", "product-10", RankChangeType.FALLER, 1, 2, -1),
+			new RankingDTO.ChangeResponse(40L, "brand-40", "product-40", RankChangeType.NEW, null, 3, null),
+			new RankingDTO.ChangeResponse(30L, "brand-30", "product-30", RankChangeType.DROPPED, 3, null, null)
+		)));
+	}
+
+	@Test
+	void missingSnapshotHasNoDiff() {
+		snapshot(1, SnapshotStatus.SUCCESS, null);
+
+		assertThat(service.diff(1, 9)).isEmpty();
+	}
+
+	private void snapshot(long id, SnapshotStatus status, Long baseSnapshotId) {
+		OffsetDateTime capturedAt = OffsetDateTime.of(2026, 3, 10, 9, 5, 0, 0, KST).plusHours(id);
+		TimeBucket bucket = TimeBucket.of(capturedAt, KST, SOURCE, BucketGranularity.HOUR);
+		RankingSnapshot snapshot = RankingSnapshot.of(bucket, capturedAt, "https://example.test", status, null, 0);
+		ReflectionTestUtils.setField(snapshot, "id", id);
+		ReflectionTestUtils.setField(snapshot, "baseSnapshotId", baseSnapshotId);
+		when(snapshotRepository.findById(id)).thenReturn(Optional.of(snapshot));
+	}
+
+	private static RankingItemView item(int rank, long productId) {
+		return new RankingItemView(null, RankingCategory.ALL, rank, productId, "brand-" + productId,
+			"product-" + productId, 1_000, null, null);
+	}
+}
@@ -0,0 +1,106 @@
+package com.analysiscore.application.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.analysiscore.model.MoverWindow;
+import com.analysiscore.model.RankChangeType;
+
+class RankMoversTest {
+	private static final OffsetDateTime NOW = OffsetDateTime.of(2026, 3, 10, 12, 0, 0, 0, ZoneOffset.UTC);
+
+	@Test
+	void windowEndsNowAndSpansItsDuration() {
+		assertThat(RankMovers.window(MoverWindow.HOUR, NOW))
+			.isEqualTo(new RankMovers.Window(NOW.minusHours(1), NOW));
+		assertThat(RankMovers.window(MoverWindow.DAY, NOW))
+			.isEqualTo(new RankMovers.Window(NOW.minusDays(1), NOW));
+		assertThat(RankMovers.window(MoverWindow.WEEK, NOW))
+			.isEqualTo(new RankMovers.Window(NOW.minusDays(7), NOW));
+	}
+
+	@Test
+	void classifiesNetMovementOverTheWindow() {
+		RankMovers movers = new RankMovers();
+		movers.apply(1, RankChangeType.RISER, 10, 5);
+		movers.apply(1, RankChangeType.RISER, 5, 2);
+		movers.apply(2, RankChangeType.FALLER, 3, 8);
+		movers.apply(3, RankChangeType.NEW, null, 7);
+		movers.apply(4, RankChangeType.DROPPED, 9, null);
+
+		RankMovers.Groups groups = movers.groups();
+
+		assertThat(ids(groups.risers())).containsExactly(1L);
+		assertThat(groups.risers().get(0).rankDelta()).isEqualTo(8);
+		assertThat(ids(groups.fallers())).containsExactly(2L);
+		assertThat(groups.fallers().get(0).rankDelta()).isEqualTo(-5);
+		assertThat(ids(groups.newEntries())).containsExactly(3L);
+		assertThat(groups.newEntries().get(0).rankDelta()).isNull();
+		assertThat(ids(groups.dropOuts())).containsExactly(4L);
+		assertThat(groups.dropOuts().get(0).firstPreviousRank()).isEqualTo(9);
+	}
+
+	@Test
+	void enteringOrLeavingWithinTheWindowOutweighsLaterMoves() {
+		RankMovers movers = new RankMovers();
+		movers.apply(1, RankChangeType.NEW, null, 9);
+		movers.apply(1, RankChangeType.RISER, 9, 1);
+		movers.apply(2, RankChangeType.RISER, 6, 3);
+		movers.apply(2, RankChangeType.DROPPED, 3, null);
+
+		RankMovers.Groups groups = movers.groups();
+
+		assertThat(ids(groups.newEntries())).containsExactly(1L);
+		assertThat(groups.newEntries().get(0).lastRank()).isEqualTo(1);
+		assertThat(ids(groups.dropOuts())).containsExactly(2L);
+		assertThat(groups.dropOuts().get(0).firstPreviousRank()).isEqualTo(6);
+		assertThat(groups.risers()).isEmpty();
+	}
+
+	@Test
+	void skipsProductsThatEndWhereTheyStarted() {
+		RankMovers movers = new RankMovers();
+		movers.apply(1, RankChangeType.NEW, null, 4);
+		movers.apply(1, RankChangeType.DROPPED, 4, null);
+		movers.apply(2, RankChangeType.RISER, 5, 3);
+		movers.apply(2, RankChangeType.FALLER, 3, 5);
+		movers.apply(3, RankChangeType.DROPPED, 2, null);
+		movers.apply(3, RankChangeType.NEW, null, 2);
+
+		RankMovers.Groups groups = movers.groups();
+
+		assertThat(groups.risers()).isEmpty();
+		assertThat(groups.fallers()).isEmpty();
+		assertThat(groups.newEntries()).isEmpty();
+		assertThat(groups.dropOuts()).isEmpty();
+	}
+
+	@Test
+	void sortsEachGroupBestFirst() {
+		RankMovers movers = new RankMovers();
+		movers.apply(1, RankChangeType.RISER, 5, 4);
+		movers.apply(2, RankChangeType.RISER, 9, 1);
+		movers.apply(3, RankChangeType.FALLER, 1, 2);
+		movers.apply(4, RankChangeType.FALLER, 1, 9);
+		movers.apply(5, RankChangeType.NEW, null, 8);
+		movers.apply(6, RankChangeType.NEW, null, 3);
+		movers.apply(7, RankChangeType.DROPPED, 7, null);
+		movers.apply(8, RankChangeType.DROPPED, 2, null);
+
+		RankMovers.Groups groups = movers.groups();
+
+		assertThat(ids(groups.risers())).containsExactly(2L, 1L);
+		assertThat(ids(groups.fallers())).containsExactly(4L, 3L);
+		assertThat(ids(groups.newEntries())).containsExactly(6L, 5L);
+		assertThat(ids(groups.dropOuts())).containsExactly(8L, 7L);
+	}
+
+	private static List<Long> ids(List<RankMovers.NetChange> changes) {
+		return changes.stream().map(RankMovers.NetChange::productId).toList();
+	}
+}
@@ -0,0 +1,87 @@
+package com.analysiscore.application.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.analysiscore.model.ParsedRankingItem;
+
+class RankingContentHashTest {
+	private static final ParsedRankingItem FIRST = item(1, "BrandA", "ProductA", 1_500);
+	private static final ParsedRankingItem SECOND = item(2, "BrandB", "ProductB", 12_000);
+
+	@Test
+	void equalContentHashesEqual() {
+		String hash = RankingContentHash.of(List.of(FIRST, SECOND));
+
+		assertThat(RankingContentHash.of(List.of(item(1, "BrandA", "ProductA", 1_500), SECOND))).isEqualTo(hash);
+		assertThat(RankingContentHash.of(List.of(SECOND, FIRST))).isEqualTo(hash);
+	}
+
+	@Test
+	void urlsDoNotAffectTheHash() {
+		ParsedRankingItem tracked = new ParsedRankingItem(1, "BrandA", "ProductA", 1_500,
+			"/store/goods?goodsNo=A1&trackingCd=xyz", "/images/a.jpg");
+
+		assertThat(RankingContentHash.of(List.of(tracked, SECOND)))
+			.isEqualTo(RankingContentHash.of(List.of(FIRST, SECOND)));
+	}
+
+	@Test
+	void rankSwapChangesTheHash() {
+		List<ParsedRankingItem> swapped = List.of(
+			item(1, "BrandB", "ProductB", 12_000),
+			item(2, "BrandA", "ProductA", 1_500)
+		);
+
+		assertThat(RankingContentHash.of(swapped)).isNotEqualTo(RankingContentHash.of(List.of(FIRST, SECOND)));
+	}
+
+	@Test
+	void priceChangeChangesTheHash() {
+		List<ParsedRankingItem> discounted = List.of(FIRST, item(2, "BrandB", "ProductB", 11_000));
+
+		assertThat(RankingContentHash.of(discounted)).isNotEqualTo(RankingContentHash.of(List.of(FIRST, SECOND)));
+	}
+
+	@Test
+	void categoryChangeChangesTheHash() {
+		String skin = RankingContentHash.of(List.of(FIRST, SECOND.withCategory("SKIN")));
+
+		assertThat(RankingContentHash.of(List.of(FIRST, SECOND.withCategory("MAKEUP")))).isNotEqualTo(skin);
+		assertThat(RankingContentHash.of(List.of(FIRST, SECOND))).isNotEqualTo(skin);
+	}
+
+	@Test
+	void sameRankInAnotherCategoryIsNotCollapsed() {
+		String mainOnly = RankingContentHash.of(List.of(FIRST));
+
+		assertThat(RankingContentHash.of(List.of(FIRST, FIRST.withCategory("SKIN")))).isNotEqualTo(mainOnly);
+	}
+
+	@Test
+	void mainListKeepsTheHashItHadBeforeCategories() {
+		String legacy = sha256("1\u001FBrandA\u001FProductA\u001F1500\n2\u001FBrandB\u001FProductB\u001F12000\n");
+
+		assertThat(RankingContentHash.of(List.of(FIRST, SECOND))).isEqualTo(legacy);
+	}
+
+	private static ParsedRankingItem item(int rank, String brand, String product, long price) {
+		return new ParsedRankingItem(rank, brand, product, price, null, null);
+	}
+
+	private static String sha256(String value) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+}
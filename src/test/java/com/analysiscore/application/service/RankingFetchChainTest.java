@@ -0,0 +1,273 @@
+package com.analysiscore.application.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.analysiscore.application.parser.OliveYoungRankingParser;
+import com.analysiscore.config.OyRankProperties;
+import com.analysiscore.infrastructure.OliveYoungBrowserClient;
+import com.analysiscore.infrastructure.OliveYoungRankingClient;
+import com.analysiscore.model.BucketGranularity;
+import com.analysiscore.model.ExtractionMode;
+import com.analysiscore.model.FetchTier;
+import com.analysiscore.model.HtmlParserMode;
+import com.analysiscore.model.SourceConfig;
+import com.analysiscore.model.SourceResponse;
+import com.analysiscore.model.SourceType;
+import com.analysiscore.model.WaitStrategy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RankingFetchChainTest {
+	private static final SourceType SOURCE = SourceType.register("OLIVEYOUNG_KR", 1);
+	private static final int MIN_ITEMS = 3;
+
+	private final OyRankProperties properties = new OyRankProperties();
+	private FakeHttpClient httpClient;
+	private FakeBrowserClient browserClient;
+	private RankingFetchChain chain;
+
+	@BeforeEach
+	void setUp() {
+		properties.getFetch().setSkipAfterFailures(2);
+		properties.getFetch().setProbeEvery(3);
+		properties.getCollector().setBrowserBudget(1);
+		properties.getCollector().setBrowserWaitMillis(0);
+		httpClient = new FakeHttpClient(properties);
+		browserClient = new FakeBrowserClient(properties);
+		chain = new RankingFetchChain(properties, httpClient, browserClient, new OliveYoungRankingParser(),
+			new SimpleMeterRegistry());
+	}
+
+	@Test
+	void stopsAtTheFirstTierWithEnoughItems() {
+		httpClient.answer = () -> items(MIN_ITEMS);
+
+		RankingFetchChain.FetchResult result = chain.fetch(config(FetchTier.HTTP, FetchTier.BROWSER));
+
+		assertThat(result.tier()).isEqualTo(FetchTier.HTTP);
+		assertThat(result.items()).hasSize(MIN_ITEMS);
+		assertThat(browserClient.calls).isEqualTo(0);
+	}
+
+	@Test
+	void escalatesWhenATierReturnsFewerThanMinItems() {
+		httpClient.answer = () -> items(MIN_ITEMS - 1);
+		browserClient.answer = () -> items(MIN_ITEMS);
+
+		RankingFetchChain.FetchResult result = chain.fetch(config(FetchTier.HTTP, FetchTier.BROWSER));
+
+		assertThat(result.tier()).isEqualTo(FetchTier.BROWSER);
+		assertThat(httpClient.calls).isEqualTo(1);
+	}
+
+	@Test
+	void returnsTheLastShortResultWhenNoTierHasEnoughItems() {
+		httpClient.answer = () -> items(2);
+		browserClient.answer = () -> items(1);
+
+		RankingFetchChain.FetchResult result = chain.fetch(config(FetchTier.HTTP, FetchTier.BROWSER));
+
+		assertThat(result.tier()).isEqualTo(FetchTier.BROWSER);
+		assertThat(result.items()).hasSize(1);
+	}
+
+	@Test
+	void escalatesOnErrorAndRethrowsTheLastTiersError() {
+		httpClient.answer = () -> {
+			throw new IllegalStateException("connection reset");
+		};
+		browserClient.answer = () -> items(MIN_ITEMS);
+		assertThat(chain.fetch(config(FetchTier.HTTP, FetchTier.BROWSER)).tier()).isEqualTo(FetchTier.BROWSER);
+
+		browserClient.answer = () -> {
+			throw new IllegalArgumentException("render failed");
+		};
+		assertThatThrownBy(() -> chain.fetch(config(FetchTier.HTTP, FetchTier.BROWSER)))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("render failed");
+	}
+
+	@Test
+	void skipsAFailingTierAndReprobesItEveryProbeEveryRuns() {
+		httpClient.answer = () -> items(1);
+		browserClient.answer = () -> items(MIN_ITEMS);
+		SourceConfig config = config(FetchTier.HTTP, FetchTier.BROWSER);
+
+		int[] httpCallsAfterRun = new int[10];
+		for (int run = 0; run < httpCallsAfterRun.length; run++) {
+			chain.fetch(config);
+			httpCallsAfterRun[run] = httpClient.calls;
+		}
+
+		// Two failures to start skipping, then three skipped runs before each re-probe.
+		assertThat(httpCallsAfterRun).containsExactly(1, 2, 2, 2, 2, 3, 3, 3, 3, 4);
+		assertThat(browserClient.calls).isEqualTo(10);
+	}
+
+	@Test
+	void successfulReprobeStopsSkipping() {
+		httpClient.answer = () -> items(1);
+		browserClient.answer = () -> items(MIN_ITEMS);
+		SourceConfig config = config(FetchTier.HTTP, FetchTier.BROWSER);
+		for (int run = 0; run < 5; run++) {
+			chain.fetch(config);
+		}
+		assertThat(httpClient.calls).isEqualTo(2);
+
+		httpClient.answer = () -> items(MIN_ITEMS);
+		assertThat(chain.fetch(config).tier()).isEqualTo(FetchTier.HTTP);
+		httpClient.answer = () -> items(1);
+		chain.fetch(config);
+		chain.fetch(config);
+
+		assertThat(httpClient.calls).isEqualTo(5);
+	}
+
+	@Test
+	void neverSkipsTheLastTier() {
+		httpClient.answer = () -> {
+			throw new IllegalStateException("connection reset");
+		};
+		SourceConfig config = config(FetchTier.HTTP);
+
+		for (int run = 0; run < 6; run++) {
+			assertThatThrownBy(() -> chain.fetch(config)).isInstanceOf(IllegalStateException.class);
+		}
+
+		assertThat(httpClient.calls).isEqualTo(6);
+	}
+
+	@Test
+	void browserBudgetExhaustionIsNotCountedAgainstTheTier() throws InterruptedException {
+		httpClient.answer = () -> items(MIN_ITEMS);
+		SourceConfig config = config(FetchTier.BROWSER, FetchTier.HTTP);
+		CountDownLatch rendering = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		browserClient.answer = () -> {
+			rendering.countDown();
+			await(release);
+			return items(MIN_ITEMS);
+		};
+		Thread holder = Thread.ofVirtual().start(() -> chain.fetch(config));
+		assertThat(rendering.await(5, TimeUnit.SECONDS)).isTrue();
+
+		for (int run = 0; run < 4; run++) {
+			assertThat(chain.fetch(config).tier()).isEqualTo(FetchTier.HTTP);
+		}
+		httpClient.answer = () -> items(1);
+		assertThatThrownBy(() -> chain.fetch(config(FetchTier.HTTP, FetchTier.BROWSER)))
+			.isInstanceOf(RankingFetchChain.BrowserBudgetExhaustedException.class);
+		release.countDown();
+		holder.join(5_000);
+
+		browserClient.answer = () -> items(MIN_ITEMS);
+		assertThat(chain.fetch(config).tier()).isEqualTo(FetchTier.BROWSER);
+		assertThat(browserClient.calls).isEqualTo(2);
+	}
+
+	@Test
+	void browserAccessDeniedIsRethrownWithoutTryingLaterTiers() {
+		browserClient.answer = () -> {
+			throw new OliveYoungBrowserClient.AccessDeniedException("blocked", "url", 403, null, null, null);
+		};
+		httpClient.answer = () -> items(MIN_ITEMS);
+
+		assertThatThrownBy(() -> chain.fetch(config(FetchTier.BROWSER, FetchTier.HTTP)))
+			.isInstanceOf(OliveYoungBrowserClient.AccessDeniedException.class);
+		assertThat(httpClient.calls).isEqualTo(0);
+	}
+
+	@Test
+	void probeRethrowsAccessDeniedWithoutLaunchingABrowser() {
+		httpClient.answer = () -> {
+			throw new OliveYoungRankingClient.HttpStatusException(403);
+		};
+		browserClient.answer = () -> items(MIN_ITEMS);
+
+		assertThatThrownBy(() -> chain.probe(config(FetchTier.BROWSER)))
+			.isInstanceOf(OliveYoungRankingClient.HttpStatusException.class);
+		assertThatThrownBy(() -> chain.probe(config(FetchTier.HTTP, FetchTier.BROWSER)))
+			.isInstanceOf(OliveYoungRankingClient.HttpStatusException.class);
+		assertThat(browserClient.calls).isEqualTo(0);
+	}
+
+	@Test
+	void probeFallsThroughToTheRemainingTiersOnOtherFailures() {
+		httpClient.answer = () -> {
+			throw new OliveYoungRankingClient.HttpStatusException(500);
+		};
+		browserClient.answer = () -> items(MIN_ITEMS);
+
+		assertThat(chain.probe(config(FetchTier.HTTP, FetchTier.BROWSER)).tier()).isEqualTo(FetchTier.BROWSER);
+
+		httpClient.answer = () -> items(MIN_ITEMS);
+		assertThat(chain.probe(config(FetchTier.HTTP, FetchTier.BROWSER)).tier()).isEqualTo(FetchTier.HTTP);
+		assertThat(chain.probe(config(FetchTier.BROWSER)).tier()).isEqualTo(FetchTier.BROWSER);
+		assertThat(browserClient.calls).isEqualTo(2);
+	}
+
+	private static SourceConfig config(FetchTier... tiers) {
+		return new SourceConfig(SOURCE, "https://example.test", "/best", ZoneOffset.ofHours(9),
+			ExtractionMode.IN_PAGE, WaitStrategy.NETWORKIDLE, MIN_ITEMS, null, List.of(tiers),
+			HtmlParserMode.JSOUP, BucketGranularity.HOUR, List.of(), 0);
+	}
+
+	private static SourceResponse items(int count) {
+		StringBuilder body = new StringBuilder("{\"list\": [");
+		for (int i = 1; i <= count; i++) {
+			body.append(i > 1 ? ", " : "")
+				.append("{\"brandName\": \"brand-").append(i)
+				.append("\", \"productName\": \"product-").append(i)
+				.append("\", \"price\": ").append(i * 1_000).append('}');
+		}
+		return new SourceResponse("application/json", body.append("]}").toString(), "https://example.test/best");
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static final class FakeHttpClient extends OliveYoungRankingClient {
+		private volatile Supplier<SourceResponse> answer;
+		private int calls;
+
+		private FakeHttpClient(OyRankProperties properties) {
+			super(properties);
+		}
+
+		@Override
+		public SourceResponse fetch(SourceConfig sourceConfig) {
+			calls++;
+			return answer.get();
+		}
+	}
+
+	private static final class FakeBrowserClient extends OliveYoungBrowserClient {
+		private volatile Supplier<SourceResponse> answer;
+		private volatile int calls;
+
+		private FakeBrowserClient(OyRankProperties properties) {
+			super(properties, null, null, new SimpleMeterRegistry());
+		}
+
+		@Override
+		public SourceResponse fetchRendered(SourceConfig sourceConfig) {
+			calls++;
+			return answer.get();
+		}
+	}
+}
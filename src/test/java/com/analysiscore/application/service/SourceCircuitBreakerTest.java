@@ -0,0 +1,212 @@
+package com.analysiscore.application.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.analysiscore.application.service.SourceCircuitBreaker.FailureKind;
+import com.analysiscore.application.service.SourceCircuitBreaker.Permit;
+import com.analysiscore.application.service.SourceCircuitBreaker.State;
+import com.analysiscore.config.OyRankProperties;
+import com.analysiscore.infrastructure.OliveYoungRankingClient;
+import com.analysiscore.model.SourceType;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class SourceCircuitBreakerTest {
+	private static final SourceType SOURCE = SourceType.register("OLIVEYOUNG_KR", 1);
+	private static final long COOLDOWN_MILLIS = 1_000;
+	private static final long MAX_COOLDOWN_MILLIS = 4_000;
+
+	private final OyRankProperties properties = new OyRankProperties();
+	private final MutableClock clock = new MutableClock(Instant.parse("2026-03-10T01:00:00Z"));
+	private SourceCircuitBreaker breaker;
+
+	@BeforeEach
+	void setUp() {
+		OyRankProperties.BreakerProperties breakerProperties = properties.getBreaker();
+		breakerProperties.setBlockedThreshold(1);
+		breakerProperties.setTimeoutThreshold(3);
+		breakerProperties.setErrorThreshold(3);
+		breakerProperties.setCooldownMillis(COOLDOWN_MILLIS);
+		breakerProperties.setMaxCooldownMillis(MAX_COOLDOWN_MILLIS);
+		breaker = new SourceCircuitBreaker(properties, new SimpleMeterRegistry(), clock);
+	}
+
+	@Test
+	void opensWhenAKindReachesItsThreshold() {
+		fail(FailureKind.TIMEOUT, 2);
+		assertThat(breaker.tryAcquire(SOURCE)).isEqualTo(Permit.ALLOWED);
+
+		fail(FailureKind.TIMEOUT, 1);
+
+		assertThat(breaker.tryAcquire(SOURCE)).isEqualTo(Permit.DENIED);
+		SourceCircuitBreaker.Snapshot snapshot = snapshot();
+		assertThat(snapshot.state()).isEqualTo(State.OPEN);
+		assertThat(snapshot.opens()).isEqualTo(1);
+		assertThat(snapshot.openUntil()).isEqualTo(clock.instant().plusMillis(COOLDOWN_MILLIS));
+	}
+
+	@Test
+	void blockedOpensOnTheFirstFailure() {
+		fail(FailureKind.BLOCKED, 1);
+
+		assertThat(snapshot().state()).isEqualTo(State.OPEN);
+		assertThat(snapshot().lastFailure()).isEqualTo(FailureKind.BLOCKED);
+	}
+
+	@Test
+	void failureOfAnotherKindStartsTheCountOver() {
+		fail(FailureKind.TIMEOUT, 2);
+		fail(FailureKind.ERROR, 2);
+		fail(FailureKind.TIMEOUT, 2);
+
+		assertThat(snapshot().state()).isEqualTo(State.CLOSED);
+		assertThat(snapshot().consecutiveFailures()).isEqualTo(Map.of(FailureKind.TIMEOUT, 2));
+
+		fail(FailureKind.TIMEOUT, 1);
+
+		assertThat(snapshot().state()).isEqualTo(State.OPEN);
+	}
+
+	@Test
+	void successStartsTheCountOver() {
+		fail(FailureKind.ERROR, 2);
+		breaker.onSuccess(SOURCE);
+		fail(FailureKind.ERROR, 2);
+
+		assertThat(snapshot().state()).isEqualTo(State.CLOSED);
+		assertThat(snapshot().consecutiveFailures()).isEqualTo(Map.of(FailureKind.ERROR, 2));
+	}
+
+	@Test
+	void grantsOneProbeAfterTheCooldown() {
+		fail(FailureKind.BLOCKED, 1);
+
+		clock.advance(Duration.ofMillis(COOLDOWN_MILLIS - 1));
+		assertThat(breaker.tryAcquire(SOURCE)).isEqualTo(Permit.DENIED);
+		clock.advance(Duration.ofMillis(1));
+		assertThat(breaker.tryAcquire(SOURCE)).isEqualTo(Permit.PROBE);
+		assertThat(breaker.tryAcquire(SOURCE)).isEqualTo(Permit.DENIED);
+		assertThat(snapshot().state()).isEqualTo(State.HALF_OPEN);
+	}
+
+	@Test
+	void failedProbesDoubleTheCooldownUpToTheMaximum() {
+		fail(FailureKind.BLOCKED, 1);
+
+		long[] cooldowns = {COOLDOWN_MILLIS, 2_000, 4_000, MAX_COOLDOWN_MILLIS};
+		for (int i = 0; i < cooldowns.length; i++) {
+			assertThat(snapshot().openUntil()).as("open %d", i + 1)
+				.isEqualTo(clock.instant().plusMillis(cooldowns[i]));
+			clock.advance(Duration.ofMillis(cooldowns[i]));
+			assertThat(breaker.tryAcquire(SOURCE)).isEqualTo(Permit.PROBE);
+			breaker.onFailure(SOURCE, FailureKind.ERROR);
+		}
+
+		assertThat(snapshot().state()).isEqualTo(State.OPEN);
+		assertThat(snapshot().opens()).isEqualTo(5);
+		assertThat(snapshot().openUntil()).isEqualTo(clock.instant().plusMillis(MAX_COOLDOWN_MILLIS));
+	}
+
+	@Test
+	void successfulProbeClosesAndResetsTheCooldown() {
+		fail(FailureKind.BLOCKED, 1);
+		clock.advance(Duration.ofMillis(COOLDOWN_MILLIS));
+		assertThat(breaker.tryAcquire(SOURCE)).isEqualTo(Permit.PROBE);
+		breaker.onFailure(SOURCE, FailureKind.BLOCKED);
+		clock.advance(Duration.ofMillis(2 * COOLDOWN_MILLIS));
+		assertThat(breaker.tryAcquire(SOURCE)).isEqualTo(Permit.PROBE);
+
+		breaker.onSuccess(SOURCE);
+
+		assertThat(breaker.tryAcquire(SOURCE)).isEqualTo(Permit.ALLOWED);
+		assertThat(snapshot().state()).isEqualTo(State.CLOSED);
+		assertThat(snapshot().opens()).isEqualTo(0);
+		assertThat(snapshot().openUntil()).isNull();
+		fail(FailureKind.BLOCKED, 1);
+		assertThat(snapshot().openUntil()).isEqualTo(clock.instant().plusMillis(COOLDOWN_MILLIS));
+	}
+
+	@Test
+	void inconclusiveProbeLetsTheNextCollectionProbe() {
+		fail(FailureKind.BLOCKED, 1);
+		clock.advance(Duration.ofMillis(COOLDOWN_MILLIS));
+		assertThat(breaker.tryAcquire(SOURCE)).isEqualTo(Permit.PROBE);
+
+		breaker.onInconclusive(SOURCE);
+
+		assertThat(snapshot().state()).isEqualTo(State.HALF_OPEN);
+		assertThat(breaker.tryAcquire(SOURCE)).isEqualTo(Permit.PROBE);
+		assertThat(breaker.tryAcquire(SOURCE)).isEqualTo(Permit.DENIED);
+	}
+
+	@Test
+	void disabledBreakerAlwaysAllows() {
+		properties.getBreaker().setEnabled(false);
+
+		fail(FailureKind.BLOCKED, 3);
+
+		assertThat(breaker.tryAcquire(SOURCE)).isEqualTo(Permit.ALLOWED);
+		assertThat(breaker.snapshots()).isEmpty();
+	}
+
+	@Test
+	void classifiesFailuresByCause() {
+		assertThat(SourceCircuitBreaker.classify(new CompletionException(
+			new OliveYoungRankingClient.HttpStatusException(403)))).isEqualTo(FailureKind.BLOCKED);
+		assertThat(SourceCircuitBreaker.classify(new OliveYoungRankingClient.HttpStatusException(500)))
+			.isEqualTo(FailureKind.ERROR);
+		assertThat(SourceCircuitBreaker.classify(new IllegalStateException(new TimeoutException())))
+			.isEqualTo(FailureKind.TIMEOUT);
+		assertThat(SourceCircuitBreaker.classify(new IllegalArgumentException("bad body")))
+			.isEqualTo(FailureKind.ERROR);
+	}
+
+	private void fail(FailureKind kind, int times) {
+		for (int i = 0; i < times; i++) {
+			breaker.onFailure(SOURCE, kind);
+		}
+	}
+
+	private SourceCircuitBreaker.Snapshot snapshot() {
+		return breaker.snapshots().get(SOURCE);
+	}
+
+	private static final class MutableClock extends Clock {
+		private Instant now;
+
+		private MutableClock(Instant now) {
+			this.now = now;
+		}
+
+		private void advance(Duration duration) {
+			now = now.plus(duration);
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Instant instant() {
+			return now;
+		}
+	}
+}
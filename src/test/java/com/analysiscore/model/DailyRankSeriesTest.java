@@ -0,0 +1,129 @@
+package com.analysiscore.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+class DailyRankSeriesTest {
+
+    @Test
+    void roundTripsAllHours() {
+        DailyRankSeries series = new DailyRankSeries();
+        for (int hour = 0; hour < DailyRankSeries.HOURS; hour++) {
+            series.put(hour, 1 + (hour * 7) % 100, 10_000 + hour * 990L);
+        }
+
+        DailyRankSeries decoded = DailyRankSeries.decode(series.encode());
+
+        for (int hour = 0; hour < DailyRankSeries.HOURS; hour++) {
+            assertThat(decoded.has(hour)).isTrue();
+            assertThat(decoded.rank(hour)).isEqualTo(1 + (hour * 7) % 100);
+            assertThat(decoded.price(hour)).isEqualTo(10_000 + hour * 990L);
+        }
+    }
+
+    @Test
+    void roundTripsSparseHours() {
+        DailyRankSeries series = new DailyRankSeries();
+        series.put(0, 5, 12_000);
+        series.put(7, 1, 9_900);
+        series.put(23, 100, 12_000);
+
+        DailyRankSeries decoded = DailyRankSeries.decode(series.encode());
+
+        for (int hour = 0; hour < DailyRankSeries.HOURS; hour++) {
+            assertThat(decoded.has(hour)).as("hour %d", hour).isEqualTo(hour == 0 || hour == 7 || hour == 23);
+        }
+        assertThat(decoded.rank(0)).isEqualTo(5);
+        assertThat(decoded.price(0)).isEqualTo(12_000L);
+        assertThat(decoded.rank(7)).isEqualTo(1);
+        assertThat(decoded.price(7)).isEqualTo(9_900L);
+        assertThat(decoded.rank(23)).isEqualTo(100);
+        assertThat(decoded.price(23)).isEqualTo(12_000L);
+    }
+
+    @Test
+    void roundTripsExtremeValues() {
+        DailyRankSeries series = new DailyRankSeries();
+        series.put(0, Integer.MAX_VALUE, Long.MAX_VALUE);
+        series.put(1, 1, 0);
+        series.put(2, Integer.MAX_VALUE, Long.MAX_VALUE);
+        series.put(3, 0, 1);
+
+        DailyRankSeries decoded = DailyRankSeries.decode(series.encode());
+
+        assertThat(decoded.rank(0)).isEqualTo(Integer.MAX_VALUE);
+        assertThat(decoded.price(0)).isEqualTo(Long.MAX_VALUE);
+        assertThat(decoded.rank(1)).isEqualTo(1);
+        assertThat(decoded.price(1)).isEqualTo(0L);
+        assertThat(decoded.rank(2)).isEqualTo(Integer.MAX_VALUE);
+        assertThat(decoded.price(2)).isEqualTo(Long.MAX_VALUE);
+        assertThat(decoded.rank(3)).isEqualTo(0);
+        assertThat(decoded.price(3)).isEqualTo(1L);
+    }
+
+    @Test
+    void stableProductStaysSmall() {
+        DailyRankSeries series = new DailyRankSeries();
+        for (int hour = 0; hour < DailyRankSeries.HOURS; hour++) {
+            series.put(hour, 3, 25_000);
+        }
+
+        // Header plus the first hour's full values; every later hour is two zero deltas.
+        assertThat(series.encode().length).isLessThanOrEqualTo(5 + 4 + 2 * 23);
+    }
+
+    @Test
+    void overwritingAnHourReplacesItsValues() {
+        DailyRankSeries series = new DailyRankSeries();
+        series.put(9, 4, 1_000);
+        series.put(9, 2, 900);
+
+        DailyRankSeries decoded = DailyRankSeries.decode(series.encode());
+
+        assertThat(decoded.rank(9)).isEqualTo(2);
+        assertThat(decoded.price(9)).isEqualTo(900L);
+    }
+
+    @Test
+    void emptyAndNullDecodeToAnEmptySeries() {
+        assertThat(DailyRankSeries.decode(null).isEmpty()).isTrue();
+        assertThat(DailyRankSeries.decode(new byte[0]).isEmpty()).isTrue();
+        assertThat(DailyRankSeries.decode(new DailyRankSeries().encode()).isEmpty()).isTrue();
+    }
+
+    @Test
+    void truncatedBlobIsRejected() {
+        DailyRankSeries series = new DailyRankSeries();
+        series.put(0, Integer.MAX_VALUE, Long.MAX_VALUE);
+        series.put(12, 1, 1);
+        byte[] encoded = series.encode();
+
+        for (int length = 1; length < encoded.length; length++) {
+            byte[] truncated = Arrays.copyOf(encoded, length);
+            assertThatThrownBy(() -> DailyRankSeries.decode(truncated))
+                .as("length %d", length)
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    void unknownVersionIsRejected() {
+        byte[] encoded = new DailyRankSeries().encode();
+        encoded[0] = 2;
+
+        assertThatThrownBy(() -> DailyRankSeries.decode(encoded))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("version");
+    }
+
+    @Test
+    void rejectsHoursOutsideTheDay() {
+        DailyRankSeries series = new DailyRankSeries();
+
+        assertThatThrownBy(() -> series.put(24, 1, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> series.put(-1, 1, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,129 @@
+package com.analysiscore.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.Test;
+
+class TimeBucketTest {
+    private static final ZoneOffset KST = ZoneOffset.ofHours(9);
+    private static final ZoneOffset IST = ZoneOffset.ofHoursMinutes(5, 30);
+    private static final ZoneOffset NST = ZoneOffset.ofHoursMinutes(-3, -30);
+    private static final SourceType SOURCE = SourceType.register("OLIVEYOUNG_KR", 1);
+    private static final SourceType LAST_ID = SourceType.register("TIME_BUCKET_TEST", SourceType.MAX_ID);
+
+    @Test
+    void keyRoundTripsStartAndSource() {
+        for (SourceType source : new SourceType[] {SOURCE, LAST_ID}) {
+            TimeBucket bucket = TimeBucket.of(at(2026, 3, 10, 10, 17, KST), KST, source, BucketGranularity.HOUR);
+
+            assertThat(TimeBucket.startEpochMinuteOf(bucket.getKey()))
+                .isEqualTo(bucket.getStartAt().toEpochSecond() / 60);
+            assertThat(TimeBucket.sourceOf(bucket.getKey())).isEqualTo(source);
+            assertThat(TimeBucket.keyOf(source, TimeBucket.startEpochMinuteOf(bucket.getKey())))
+                .isEqualTo(bucket.getKey());
+        }
+    }
+
+    @Test
+    void keysSortByTimeAcrossSources() {
+        long minute = at(2026, 3, 10, 10, 0, KST).toEpochSecond() / 60;
+
+        assertThat(TimeBucket.keyOf(SOURCE, minute)).isLessThan(TimeBucket.keyOf(LAST_ID, minute));
+        assertThat(TimeBucket.keyOf(LAST_ID, minute)).isLessThan(TimeBucket.keyOf(SOURCE, minute + 1));
+        for (BucketGranularity granularity : BucketGranularity.values()) {
+            TimeBucket first = TimeBucket.of(at(2026, 3, 10, 23, 55, KST), KST, SOURCE, granularity);
+            TimeBucket next = TimeBucket.of(first.getEndAt(), KST, SOURCE, granularity);
+            assertThat(next.getKey()).as("%s", granularity).isGreaterThan(first.getKey());
+            assertThat(next.getStartAt()).isEqualTo(first.getEndAt());
+        }
+    }
+
+    @Test
+    void rejectsSourceIdsOutsideTheKeyByte() {
+        assertThatThrownBy(() -> SourceType.register("TOO_HIGH", SourceType.MAX_ID + 1))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("1..255");
+        assertThatThrownBy(() -> SourceType.register("TOO_LOW", 0))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TimeBucket.sourceOf(TimeBucket.keyOf(SOURCE, 1) & ~0xFFL))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void alignsHoursInTheSourceOffset() {
+        assertStart(BucketGranularity.HOUR, IST, at(2026, 3, 10, 10, 0, IST), at(2026, 3, 10, 10, 0, IST));
+        assertStart(BucketGranularity.HOUR, IST, at(2026, 3, 10, 10, 59, IST).plusSeconds(59),
+            at(2026, 3, 10, 10, 0, IST));
+        assertStart(BucketGranularity.HOUR, IST, at(2026, 3, 10, 11, 0, IST), at(2026, 3, 10, 11, 0, IST));
+        // 05:00 UTC is 10:30 in the source offset: the bucket starts at 04:30 UTC, not on the UTC hour.
+        assertStart(BucketGranularity.HOUR, IST, at(2026, 3, 10, 5, 0, ZoneOffset.UTC), at(2026, 3, 10, 10, 0, IST));
+    }
+
+    @Test
+    void alignsDaysToTheSourceMidnight() {
+        assertStart(BucketGranularity.DAY, KST, at(2026, 3, 10, 23, 59, KST).plusSeconds(59),
+            at(2026, 3, 10, 0, 0, KST));
+        assertStart(BucketGranularity.DAY, KST, at(2026, 3, 11, 0, 0, KST), at(2026, 3, 11, 0, 0, KST));
+        // 15:00 UTC on the 10th is already the 11th in the source offset.
+        assertStart(BucketGranularity.DAY, KST, at(2026, 3, 10, 15, 0, ZoneOffset.UTC), at(2026, 3, 11, 0, 0, KST));
+        assertStart(BucketGranularity.DAY, KST, at(2026, 3, 10, 14, 59, ZoneOffset.UTC), at(2026, 3, 10, 0, 0, KST));
+    }
+
+    @Test
+    void alignsTenMinutesInANegativeOffset() {
+        assertStart(BucketGranularity.TEN_MINUTES, NST, at(2026, 3, 10, 12, 9, NST).plusSeconds(59),
+            at(2026, 3, 10, 12, 0, NST));
+        assertStart(BucketGranularity.TEN_MINUTES, NST, at(2026, 3, 10, 12, 10, NST), at(2026, 3, 10, 12, 10, NST));
+        assertStart(BucketGranularity.TEN_MINUTES, NST, at(2026, 3, 10, 0, 0, NST).minusSeconds(1),
+            at(2026, 3, 9, 23, 50, NST));
+    }
+
+    @Test
+    void sameInstantInAnotherOffsetIsAnotherBucket() {
+        OffsetDateTime capturedAt = at(2026, 3, 10, 20, 0, ZoneOffset.UTC);
+
+        TimeBucket kst = TimeBucket.of(capturedAt, KST, SOURCE, BucketGranularity.DAY);
+        TimeBucket utc = TimeBucket.of(capturedAt, ZoneOffset.UTC, SOURCE, BucketGranularity.DAY);
+
+        assertThat(kst.getStartAt()).isEqualTo(at(2026, 3, 11, 0, 0, KST));
+        assertThat(utc.getStartAt()).isEqualTo(at(2026, 3, 10, 0, 0, ZoneOffset.UTC));
+        assertThat(kst.getKey()).isNotEqualTo(utc.getKey());
+    }
+
+    @Test
+    void displayKeyUsesTheSourceOffset() {
+        assertThat(TimeBucket.of(at(2026, 3, 10, 10, 45, IST), IST, SOURCE, BucketGranularity.HOUR).getDisplayKey())
+            .isEqualTo("OLIVEYOUNG_KR|2026031010+0530");
+        assertThat(TimeBucket.of(at(2026, 3, 10, 12, 15, NST), NST, SOURCE, BucketGranularity.TEN_MINUTES)
+            .getDisplayKey()).isEqualTo("OLIVEYOUNG_KR|202603101210-0330");
+        assertThat(TimeBucket.of(at(2026, 3, 10, 12, 15, KST), KST, SOURCE, BucketGranularity.DAY).getDisplayKey())
+            .isEqualTo("OLIVEYOUNG_KR|20260310+0900");
+    }
+
+    @Test
+    void resolvesGranularityCodes() {
+        assertThat(BucketGranularity.fromCode("10m")).isEqualTo(BucketGranularity.TEN_MINUTES);
+        assertThat(BucketGranularity.fromCode("1H")).isEqualTo(BucketGranularity.HOUR);
+        assertThat(BucketGranularity.fromCode("1d")).isEqualTo(BucketGranularity.DAY);
+        assertThatThrownBy(() -> BucketGranularity.fromCode("1w"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("1w");
+    }
+
+    private static void assertStart(BucketGranularity granularity,
+                                    ZoneOffset offset,
+                                    OffsetDateTime capturedAt,
+                                    OffsetDateTime expectedStart) {
+        TimeBucket bucket = TimeBucket.of(capturedAt, offset, SOURCE, granularity);
+        assertThat(bucket.getStartAt()).as("%s %s", granularity, capturedAt).isEqualTo(expectedStart);
+        assertThat(bucket.getStartAt().getOffset()).isEqualTo(offset);
+        assertThat(bucket.getEndAt()).isEqualTo(expectedStart.plusMinutes(granularity.getMinutes()));
+    }
+
+    private static OffsetDateTime at(int year, int month, int day, int hour, int minute, ZoneOffset offset) {
+        return OffsetDateTime.of(year, month, day, hour, minute, 0, 0, offset);
+    }
+}